@@ -1,23 +1,20 @@
 package com.decoded.cauldron.api;
 
-import com.decoded.cauldron.api.annotation.HttpEndpoint;
 import com.decoded.cauldron.api.network.http.CauldronHeaderNames;
 import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
 import com.decoded.cauldron.api.network.http.HttpMethod;
 import com.decoded.cauldron.api.network.http.HttpResource;
 import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
 import com.decoded.cauldron.server.http.InvocationContext;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Method;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import org.apache.commons.codec.Charsets;
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
@@ -52,6 +49,8 @@ public class CauldronApi {
     Map<HttpMethod, CauldronHttpMethod> epMethodMap = new HashMap<>();
     epMethodMap.put(HttpMethod.POST, CauldronHttpMethod.CREATE);
     epMethodMap.put(HttpMethod.GET, CauldronHttpMethod.GET);
+    // HEAD runs the GET endpoint, the body is dropped when the response is written
+    epMethodMap.put(HttpMethod.HEAD, CauldronHttpMethod.GET);
     epMethodMap.put(HttpMethod.PUT, CauldronHttpMethod.UPDATE);
     epMethodMap.put(HttpMethod.DELETE, CauldronHttpMethod.DELETE);
     epMethodMap.put(HttpMethod.PATCH, CauldronHttpMethod.PARTIAL_UPDATE);
@@ -91,18 +90,40 @@ public class CauldronApi {
    * @return a {@link CauldronHttpMethod}
    */
   public static CauldronHttpMethod getRequestEndpointMethod() {
+    return getRequestEndpointMethod(InvocationContext.getRequestContext());
+  }
+
+  /**
+   * Returns the {@link CauldronHttpMethod} for a request.
+   *
+   * @param requestContext the request context
+   *
+   * @return a {@link CauldronHttpMethod}
+   */
+  public static CauldronHttpMethod getRequestEndpointMethod(CauldronHttpRequestContext requestContext) {
+    return getRequestEndpointMethod(requestContext.getRequestHeader(CauldronHeaderNames.CAULDRON_HTTP_METHOD), requestContext.getRequestMethod());
+  }
+
+  /**
+   * Returns the {@link CauldronHttpMethod} for a request, from the value of its {@link CauldronHeaderNames#CAULDRON_HTTP_METHOD} header,
+   * for servers which look the header up themselves.
+   *
+   * @param headerMethod  the value of the header, or null if the request has none
+   * @param requestMethod the {@link HttpMethod} of the request
+   *
+   * @return a {@link CauldronHttpMethod}
+   */
+  public static CauldronHttpMethod getRequestEndpointMethod(String headerMethod, HttpMethod requestMethod) {
     CauldronHttpMethod endpointMethod;
-    Set<String> h = InvocationContext.getRequestContext().getRequestHeaders(CauldronHeaderNames.CAULDRON_HTTP_METHOD);
 
-    if (!h.isEmpty()) {
-      String headerMethod = h.iterator().next();
+    if (headerMethod != null) {
       endpointMethod = CauldronHttpMethod.valueOf(headerMethod);
     } else {
-      endpointMethod = CauldronApi.getDefaultEndpointHttpMethod(InvocationContext.getRequestContext().getRequestMethod());
+      endpointMethod = CauldronApi.getDefaultEndpointHttpMethod(requestMethod);
     }
 
     if (endpointMethod == null) {
-      LOG.warn("Endpoint Method not found for " + InvocationContext.getRequestContext().getRequestMethod());
+      LOG.warn("Endpoint Method not found for " + requestMethod);
     }
 
     return endpointMethod;
@@ -117,18 +138,7 @@ public class CauldronApi {
    * @return a {@link String} array.
    */
   public static String[] loadAllowedMethodsForResource(HttpResource resource) {
-    Method[] declaredResourceMethods = resource.getClass().getDeclaredMethods();
-    Set<HttpMethod> allowedMethods = new HashSet<>();
-    for (Method m : declaredResourceMethods) {
-      if (m.isAnnotationPresent(HttpEndpoint.class)) {
-        HttpEndpoint annotation = m.getAnnotation(HttpEndpoint.class);
-        allowedMethods.add(CauldronApi.getHttpMethod(annotation.method()));
-      }
-    }
-    if (allowedMethods.isEmpty()) {
-      LOG.warn("There were no available HttpMethods allowed for the resource: " + resource.getClass());
-    }
-    return allowedMethods.stream().map(HttpMethod::name).toArray(String[]::new);
+    return resource.getAllowedMethods().stream().map(HttpMethod::name).toArray(String[]::new);
   }
 
   /**
@@ -0,0 +1,17 @@
+package com.decoded.cauldron.api.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Declares that a formal parameter receives the request body as a stream of chunks, as they arrive from the client, instead of the body
+ * being buffered in memory before the endpoint runs. The parameter is either an {@link org.reactivestreams.Publisher} of
+ * {@link java.nio.ByteBuffer}, or an {@link java.io.InputStream}.
+ *
+ * <p>Reading from the connection is paused while the endpoint does not request more chunks, so a slow consumer holds back the client rather
+ * than buffering the upload. Endpoints which take an {@link java.io.InputStream} block while they read, and never run on the event loop.
+ * A streamed body is not limited by the maximum content length, and cannot be combined with {@link BodyParam} parameters.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BodyStream {
+}
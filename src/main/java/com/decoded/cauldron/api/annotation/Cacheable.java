@@ -0,0 +1,43 @@
+package com.decoded.cauldron.api.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the encoded responses of a GET, GET_ALL or BATCH_GET endpoint. Responses are keyed on the request path, the query parameters (in any
+ * order) and the negotiated response mime type, and a cached response is written without invoking the endpoint or encoding the result again.
+ *
+ * <p>Only successful responses are cached, and cookies set by the endpoint are never replayed. Write endpoints invalidate the cache through
+ * {@link com.decoded.cauldron.api.network.http.HttpResource#invalidateResponseCache()}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cacheable {
+  /**
+   * How long a response is cached for, after it was written to the cache.
+   *
+   * @return the time to live, in {@link #unit()}
+   */
+  long ttl() default 60;
+
+  /**
+   * The unit of the time to live.
+   *
+   * @return a TimeUnit
+   */
+  TimeUnit unit() default TimeUnit.SECONDS;
+
+  /**
+   * The maximum number of cached responses. Ignored when {@link #maxBytes()} is set.
+   *
+   * @return a long
+   */
+  long maxEntries() default 1000;
+
+  /**
+   * The maximum size of the cached responses in bytes, or 0 to bound the cache by {@link #maxEntries()} instead.
+   *
+   * @return a long
+   */
+  long maxBytes() default 0;
+}
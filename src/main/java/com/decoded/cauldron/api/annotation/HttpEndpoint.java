@@ -1,6 +1,7 @@
 package com.decoded.cauldron.api.annotation;
 
 import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
+import com.decoded.cauldron.api.network.http.DispatchMode;
 import com.decoded.cauldron.api.network.http.MimeType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -23,4 +24,11 @@ public @interface HttpEndpoint {
    * @return a MimeType
    */
   MimeType responseMimeType() default MimeType.APPLICATION_JSON;
+
+  /**
+   * Where the endpoint runs. Defaults to the server's configured dispatch mode.
+   *
+   * @return a DispatchMode
+   */
+  DispatchMode dispatch() default DispatchMode.DEFAULT;
 }
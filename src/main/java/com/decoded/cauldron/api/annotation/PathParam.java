@@ -0,0 +1,27 @@
+package com.decoded.cauldron.api.annotation;
+
+import com.decoded.cauldron.api.network.http.validators.InputValidator;
+import com.decoded.cauldron.api.network.http.validators.NoopInputValidator;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Declares that input for a formal parameter declaration is to be supplied by a path variable of the resource route during invocation of a
+ * Resources endpoint, e.g. <code>id</code> for a resource exposed with <code>@NetResource(route = "/candy/{id}")</code>.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PathParam {
+  /**
+   * The Path Variable Name.
+   *
+   * @return a String
+   */
+  String name();
+
+  /**
+   * The validator used to validate the parameter value.
+   *
+   * @return a Class which is an instance of {@link InputValidator}
+   */
+  Class<? extends InputValidator> validator() default NoopInputValidator.class;
+}
@@ -10,12 +10,15 @@ import com.typesafe.config.ConfigException;
 import com.typesafe.config.ConfigMemorySize;
 import com.typesafe.config.ConfigObject;
 import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +49,8 @@ public class CauldronTypeSafeConfig<T> {
       return setFieldValue(field, inst, config.getObject(path));
     } else if (outputType == ConfigValue.class) {
       return setFieldValue(field, inst, config.getValue(path));
+    } else if (outputType.isEnum()) {
+      return setFieldValue(field, inst, config.getEnum(outputType, path));
     } else if (outputType == List.class) {
       List<?> objectList = config.getAnyRefList(path);
 
@@ -94,9 +99,10 @@ public class CauldronTypeSafeConfig<T> {
     if (outputType == Boolean.class || outputType == boolean.class) {
       setFieldValue(field, inst, config.getBoolean(path));
     } else if (outputType == Integer.class || outputType == int.class) {
-      setFieldValue(field, inst, config.getInt(path));
+      // sizes may be written with a unit, like 64KiB
+      setFieldValue(field, inst, isString(config, path) ? Math.toIntExact(config.getBytes(path)) : config.getInt(path));
     } else if (outputType == Long.class || outputType == long.class) {
-      setFieldValue(field, inst, config.getLong(path));
+      setFieldValue(field, inst, isString(config, path) ? config.getBytes(path) : config.getLong(path));
     } else if (outputType == Float.class || outputType == float.class) {
       setFieldValue(field, inst, (float) config.getDouble(path));
     } else if (outputType == Double.class || outputType == double.class) {
@@ -104,9 +110,13 @@ public class CauldronTypeSafeConfig<T> {
     }
   }
 
+  private static boolean isString(Config config, String path) {
+    return config.getValue(path).valueType() == ConfigValueType.STRING;
+  }
+
   /**
    * Converts a HOCON {@link Config} into type Type T. where T has identical field names / types to the config, or where a {@literal @}{@link
-   * CfgKey} mapping exists.
+   * CfgKey} mapping exists. Non public fields are only bound when they are annotated with {@literal @}{@link CfgKey}.
    *
    * @param config a Config
    *
@@ -114,7 +124,9 @@ public class CauldronTypeSafeConfig<T> {
    */
   public Optional<T> convert(Config config) {
     return newInstance(typeClass).map(inst -> {
-      final Field[] fields = typeClass.getFields();
+      final Field[] fields = Stream.concat(Arrays.stream(typeClass.getFields()), Arrays.stream(typeClass.getDeclaredFields())
+          .filter(field -> !Modifier.isPublic(field.getModifiers()) && field.isAnnotationPresent(CfgKey.class))
+          .peek(field -> field.setAccessible(true))).toArray(Field[]::new);
 
       if (fields.length == 0) {
         LOG.warn("No public configuration fields were supplied for class; " + typeClass.getName());
@@ -127,16 +139,17 @@ public class CauldronTypeSafeConfig<T> {
         LOG.debug("outputField: " + field.getName() + " to key: " + configPathKey + ", for type: " + outputType.getCanonicalName());
 
         Config opConfig = null;
+        String opPath;
         if (!configPathKey.isEmpty()) {
           int lastIdx = configPathKey.lastIndexOf(ConfigScope.PATH_SEPARATOR);
           if (lastIdx > -1) {
-            String pathPrefix = configPathKey.substring(0, lastIdx - 1);
+            String pathPrefix = configPathKey.substring(0, lastIdx);
             try {
               opConfig = config.getConfig(pathPrefix);
             } catch (Exception ex) {
-              LOG.warn("Config " + pathPrefix + " is not present");
+              LOG.debug("Config " + pathPrefix + " is not present");
             }
-            opPath = configPathKey.substring(lastIdx);
+            opPath = configPathKey.substring(lastIdx + 1);
           } else {
             opConfig = config;
             opPath = configPathKey;
@@ -144,7 +157,7 @@ public class CauldronTypeSafeConfig<T> {
 
           LOG.debug("SourcePath: " + configPathKey + ", Operational Path: " + opPath);
 
-          if (opConfig != null && opConfig.hasPath(configPathKey)) {
+          if (opConfig != null && opConfig.hasPath(opPath)) {
             // if the model is expecting a primitive, try to extract a primitive from config
             if (outputType.isPrimitive()) {
               setPrimitiveValue(outputType, field, inst, opConfig, opPath);
@@ -152,7 +165,8 @@ public class CauldronTypeSafeConfig<T> {
               setNonPrimitiveValue(outputType, field, inst, opConfig, opPath);
             }
           } else {
-            LOG.warn("operationConfig: " + configPathKey + " doesn't exist, skipping!");
+            // the field keeps its default
+            LOG.debug("operationConfig: " + configPathKey + " doesn't exist, skipping!");
           }
         }
 
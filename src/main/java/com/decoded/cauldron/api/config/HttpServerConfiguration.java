@@ -1,8 +1,445 @@
 package com.decoded.cauldron.api.config;
 
+import com.decoded.cauldron.api.network.TcpProtocol;
+import com.decoded.cauldron.api.network.Transport;
+import com.decoded.cauldron.api.network.codec.CodecRegistry;
+import com.decoded.cauldron.api.network.http.DispatchMode;
+import com.decoded.cauldron.api.network.http.ResponseDigest;
+import com.typesafe.config.Config;
+import java.time.Duration;
+
 /**
- * Configures the main server module.
+ * Configures the main server module. Every setting except the codec registry can be bound from HOCON with {@link #fromConfig(Config)}, under
+ * the path given by its {@link CfgKey}.
  */
 public class HttpServerConfiguration {
-  // TODO - configuration
-}
\ No newline at end of file
+  /**
+   * The path of the server configuration in the application config.
+   */
+  public static final String CONFIG_PATH = "cauldron.http";
+
+  @CfgKey(path = "responseDigest")
+  private ResponseDigest responseDigest = ResponseDigest.NONE;
+  @CfgKey(path = "dispatchMode")
+  private DispatchMode dispatchMode = DispatchMode.EVENT_LOOP;
+  @CfgKey(path = "endpointExecutorThreads")
+  private int endpointExecutorThreads = 64;
+  @CfgKey(path = "endpointExecutorQueueSize")
+  private int endpointExecutorQueueSize = 10000;
+  @CfgKey(path = "jacksonAfterburner")
+  private boolean jacksonAfterburner = false;
+  private CodecRegistry codecRegistry;
+  @CfgKey(path = "protocol")
+  private TcpProtocol protocol = TcpProtocol.HTTP_2;
+  @CfgKey(path = "idleTimeout")
+  private Duration idleTimeout = Duration.ofSeconds(20);
+  @CfgKey(path = "transport.type")
+  private Transport transport = Transport.AUTO;
+  @CfgKey(path = "transport.bossThreads")
+  private int bossThreads = 1;
+  @CfgKey(path = "transport.ioThreads")
+  private int ioThreads = 0;
+  @CfgKey(path = "transport.reusePort")
+  private boolean reusePort = false;
+  @CfgKey(path = "socket.backlog")
+  private int backlog = 1024;
+  @CfgKey(path = "socket.tcpNoDelay")
+  private boolean tcpNoDelay = true;
+  @CfgKey(path = "socket.receiveBufferSize")
+  private int receiveBufferSize = 0;
+  @CfgKey(path = "socket.sendBufferSize")
+  private int sendBufferSize = 0;
+  @CfgKey(path = "allocator.pooled")
+  private boolean pooledAllocator = true;
+  @CfgKey(path = "allocator.preferDirect")
+  private boolean preferDirectBuffers = true;
+  @CfgKey(path = "writeBufferWaterMark.low")
+  private int writeBufferLowWaterMark = 32 * 1024;
+  @CfgKey(path = "writeBufferWaterMark.high")
+  private int writeBufferHighWaterMark = 64 * 1024;
+  @CfgKey(path = "http1.maxInitialLineLength")
+  private int http1MaxInitialLineLength = 4096;
+  @CfgKey(path = "http1.maxHeaderSize")
+  private int http1MaxHeaderSize = 8192;
+  @CfgKey(path = "http1.maxContentLength")
+  private int http1MaxContentLength = 20000000;
+  @CfgKey(path = "http2.maxContentLength")
+  private int http2MaxContentLength = 20000000;
+
+  /**
+   * Binds a configuration from HOCON, like the <code>cauldron.http</code> block of the application config. Settings which are not present
+   * keep their defaults.
+   *
+   * @param config the {@link Config} holding the server settings
+   *
+   * @return the {@link HttpServerConfiguration}
+   */
+  public static HttpServerConfiguration fromConfig(Config config) {
+    HttpServerConfiguration configuration = new CauldronTypeSafeConfig<>(HttpServerConfiguration.class).convert(config).get();
+    // DEFAULT is not a server wide mode
+    return configuration.setDispatchMode(configuration.getDispatchMode());
+  }
+
+  /**
+   * The digest added to responses with a body. Defaults to {@link ResponseDigest#NONE}.
+   *
+   * @return the {@link ResponseDigest}
+   */
+  public ResponseDigest getResponseDigest() {
+    return responseDigest;
+  }
+
+  public HttpServerConfiguration setResponseDigest(final ResponseDigest responseDigest) {
+    this.responseDigest = responseDigest;
+    return this;
+  }
+
+  /**
+   * Where endpoints run unless they choose otherwise on {@link com.decoded.cauldron.api.annotation.HttpEndpoint}. Defaults to
+   * {@link DispatchMode#EVENT_LOOP}.
+   *
+   * @return the {@link DispatchMode}
+   */
+  public DispatchMode getDispatchMode() {
+    return dispatchMode;
+  }
+
+  /**
+   * Sets the server wide dispatch mode.
+   *
+   * @param dispatchMode the {@link DispatchMode}, {@link DispatchMode#DEFAULT} is treated as {@link DispatchMode#EVENT_LOOP}
+   *
+   * @return this configuration
+   */
+  public HttpServerConfiguration setDispatchMode(final DispatchMode dispatchMode) {
+    this.dispatchMode = dispatchMode == DispatchMode.DEFAULT ? DispatchMode.EVENT_LOOP : dispatchMode;
+    return this;
+  }
+
+  public int getEndpointExecutorThreads() {
+    return endpointExecutorThreads;
+  }
+
+  public HttpServerConfiguration setEndpointExecutorThreads(final int endpointExecutorThreads) {
+    this.endpointExecutorThreads = endpointExecutorThreads;
+    return this;
+  }
+
+  /**
+   * The number of requests which may wait for an endpoint executor thread. Requests beyond that are answered with a 503.
+   *
+   * @return the queue size
+   */
+  public int getEndpointExecutorQueueSize() {
+    return endpointExecutorQueueSize;
+  }
+
+  public HttpServerConfiguration setEndpointExecutorQueueSize(final int endpointExecutorQueueSize) {
+    this.endpointExecutorQueueSize = endpointExecutorQueueSize;
+    return this;
+  }
+
+  /**
+   * Whether JSON responses are serialized with the Jackson Afterburner module, which generates bytecode for property access instead of
+   * using reflection. Defaults to false.
+   *
+   * @return true if enabled
+   */
+  public boolean isJacksonAfterburner() {
+    return jacksonAfterburner;
+  }
+
+  public HttpServerConfiguration setJacksonAfterburner(final boolean jacksonAfterburner) {
+    this.jacksonAfterburner = jacksonAfterburner;
+    return this;
+  }
+
+  /**
+   * The codecs which encode responses. Defaults to null, for {@link CodecRegistry#withDefaults(boolean)}.
+   *
+   * @return the {@link CodecRegistry}, or null for the defaults
+   */
+  public CodecRegistry getCodecRegistry() {
+    return codecRegistry;
+  }
+
+  /**
+   * Sets the codecs which encode responses, e.g. the defaults with an additional codec registered. The registry must not be changed once the
+   * server has started.
+   *
+   * @param codecRegistry the {@link CodecRegistry}
+   *
+   * @return this configuration
+   */
+  public HttpServerConfiguration setCodecRegistry(final CodecRegistry codecRegistry) {
+    this.codecRegistry = codecRegistry;
+    return this;
+  }
+
+  /**
+   * The socket transport. Defaults to {@link Transport#AUTO}, which uses native epoll when it is available.
+   *
+   * @return the {@link Transport}
+   */
+  public Transport getTransport() {
+    return transport;
+  }
+
+  public HttpServerConfiguration setTransport(final Transport transport) {
+    this.transport = transport;
+    return this;
+  }
+
+  /**
+   * The number of event loops serving connections. Defaults to 0, for twice the number of cores.
+   *
+   * @return the number of io threads
+   */
+  public int getIoThreads() {
+    return ioThreads;
+  }
+
+  public HttpServerConfiguration setIoThreads(final int ioThreads) {
+    this.ioThreads = ioThreads;
+    return this;
+  }
+
+  /**
+   * Whether every event loop binds its own listening socket with SO_REUSEPORT, so the kernel spreads accepts across them instead of funneling
+   * them through a single acceptor thread. Only supported by the epoll transport, the server logs a warning and binds once otherwise.
+   * Defaults to false.
+   *
+   * @return true if enabled
+   */
+  public boolean isReusePort() {
+    return reusePort;
+  }
+
+  public HttpServerConfiguration setReusePort(final boolean reusePort) {
+    this.reusePort = reusePort;
+    return this;
+  }
+
+  /**
+   * The wire protocol of connections without TLS. Defaults to {@link TcpProtocol#HTTP_2}, which serves http/1.1, h2c upgrades and prior
+   * knowledge h2c on the same port.
+   *
+   * @return the {@link TcpProtocol}
+   */
+  public TcpProtocol getProtocol() {
+    return protocol;
+  }
+
+  public HttpServerConfiguration setProtocol(final TcpProtocol protocol) {
+    this.protocol = protocol;
+    return this;
+  }
+
+  /**
+   * How long a connection may be idle before it is closed, for connections negotiated with TLS. Defaults to 20 seconds, zero disables it.
+   *
+   * @return the idle timeout
+   */
+  public Duration getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  public HttpServerConfiguration setIdleTimeout(final Duration idleTimeout) {
+    this.idleTimeout = idleTimeout;
+    return this;
+  }
+
+  /**
+   * The number of event loops accepting connections. Defaults to 1, and is not used when {@link #isReusePort()} is in effect.
+   *
+   * @return the number of boss threads
+   */
+  public int getBossThreads() {
+    return bossThreads;
+  }
+
+  public HttpServerConfiguration setBossThreads(final int bossThreads) {
+    this.bossThreads = bossThreads;
+    return this;
+  }
+
+  /**
+   * The SO_BACKLOG of the listening socket: how many accepted connections the kernel queues for the acceptor. Defaults to 1024.
+   *
+   * @return the backlog
+   */
+  public int getBacklog() {
+    return backlog;
+  }
+
+  public HttpServerConfiguration setBacklog(final int backlog) {
+    this.backlog = backlog;
+    return this;
+  }
+
+  /**
+   * Whether TCP_NODELAY is set on connections, so small responses are not held back by Nagle's algorithm. Defaults to true.
+   *
+   * @return true if enabled
+   */
+  public boolean isTcpNoDelay() {
+    return tcpNoDelay;
+  }
+
+  public HttpServerConfiguration setTcpNoDelay(final boolean tcpNoDelay) {
+    this.tcpNoDelay = tcpNoDelay;
+    return this;
+  }
+
+  /**
+   * The SO_RCVBUF of connections in bytes. Defaults to 0, which keeps the operating system default.
+   *
+   * @return the receive buffer size
+   */
+  public int getReceiveBufferSize() {
+    return receiveBufferSize;
+  }
+
+  public HttpServerConfiguration setReceiveBufferSize(final int receiveBufferSize) {
+    this.receiveBufferSize = receiveBufferSize;
+    return this;
+  }
+
+  /**
+   * The SO_SNDBUF of connections in bytes. Defaults to 0, which keeps the operating system default.
+   *
+   * @return the send buffer size
+   */
+  public int getSendBufferSize() {
+    return sendBufferSize;
+  }
+
+  public HttpServerConfiguration setSendBufferSize(final int sendBufferSize) {
+    this.sendBufferSize = sendBufferSize;
+    return this;
+  }
+
+  /**
+   * Whether connections allocate their buffers from a pooled allocator rather than allocating a new buffer every time. Defaults to true.
+   *
+   * @return true if pooled
+   */
+  public boolean isPooledAllocator() {
+    return pooledAllocator;
+  }
+
+  public HttpServerConfiguration setPooledAllocator(final boolean pooledAllocator) {
+    this.pooledAllocator = pooledAllocator;
+    return this;
+  }
+
+  /**
+   * Whether the allocator prefers direct buffers, which are written to sockets without an extra copy. Defaults to true.
+   *
+   * @return true if direct buffers are preferred
+   */
+  public boolean isPreferDirectBuffers() {
+    return preferDirectBuffers;
+  }
+
+  public HttpServerConfiguration setPreferDirectBuffers(final boolean preferDirectBuffers) {
+    this.preferDirectBuffers = preferDirectBuffers;
+    return this;
+  }
+
+  /**
+   * The number of pending outbound bytes below which a connection becomes writable again. Defaults to 32 KiB.
+   *
+   * @return the low water mark in bytes
+   */
+  public int getWriteBufferLowWaterMark() {
+    return writeBufferLowWaterMark;
+  }
+
+  public HttpServerConfiguration setWriteBufferLowWaterMark(final int writeBufferLowWaterMark) {
+    this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+    return this;
+  }
+
+  /**
+   * The number of pending outbound bytes above which a connection stops being writable. Defaults to 64 KiB.
+   *
+   * @return the high water mark in bytes
+   */
+  public int getWriteBufferHighWaterMark() {
+    return writeBufferHighWaterMark;
+  }
+
+  public HttpServerConfiguration setWriteBufferHighWaterMark(final int writeBufferHighWaterMark) {
+    this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+    return this;
+  }
+
+  /**
+   * The longest http/1.1 request line accepted, in bytes. Defaults to 4096.
+   *
+   * @return the maximum initial line length
+   */
+  public int getHttp1MaxInitialLineLength() {
+    return http1MaxInitialLineLength;
+  }
+
+  public HttpServerConfiguration setHttp1MaxInitialLineLength(final int http1MaxInitialLineLength) {
+    this.http1MaxInitialLineLength = http1MaxInitialLineLength;
+    return this;
+  }
+
+  /**
+   * The largest http/1.1 header block accepted, in bytes. Defaults to 8192.
+   *
+   * @return the maximum header size
+   */
+  public int getHttp1MaxHeaderSize() {
+    return http1MaxHeaderSize;
+  }
+
+  public HttpServerConfiguration setHttp1MaxHeaderSize(final int http1MaxHeaderSize) {
+    this.http1MaxHeaderSize = http1MaxHeaderSize;
+    return this;
+  }
+
+  /**
+   * The largest aggregated http/1.1 request body, in bytes. Defaults to 20000000.
+   *
+   * @return the maximum content length
+   */
+  public int getHttp1MaxContentLength() {
+    return http1MaxContentLength;
+  }
+
+  public HttpServerConfiguration setHttp1MaxContentLength(final int http1MaxContentLength) {
+    this.http1MaxContentLength = http1MaxContentLength;
+    return this;
+  }
+
+  /**
+   * The largest aggregated http/2 stream body, in bytes. Defaults to 20000000.
+   *
+   * @return the maximum content length
+   */
+  public int getHttp2MaxContentLength() {
+    return http2MaxContentLength;
+  }
+
+  public HttpServerConfiguration setHttp2MaxContentLength(final int http2MaxContentLength) {
+    this.http2MaxContentLength = http2MaxContentLength;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "HttpServerConfiguration{responseDigest=" + responseDigest + ", dispatchMode=" + dispatchMode + ", endpointExecutorThreads="
+        + endpointExecutorThreads + ", endpointExecutorQueueSize=" + endpointExecutorQueueSize + ", jacksonAfterburner=" + jacksonAfterburner
+        + ", protocol=" + protocol + ", idleTimeout=" + idleTimeout + ", transport=" + transport + ", bossThreads=" + bossThreads + ", ioThreads="
+        + ioThreads + ", reusePort=" + reusePort + ", backlog=" + backlog + ", tcpNoDelay=" + tcpNoDelay + ", receiveBufferSize="
+        + receiveBufferSize + ", sendBufferSize=" + sendBufferSize + ", pooledAllocator=" + pooledAllocator + ", preferDirectBuffers="
+        + preferDirectBuffers + ", writeBufferLowWaterMark=" + writeBufferLowWaterMark + ", writeBufferHighWaterMark=" + writeBufferHighWaterMark
+        + ", http1MaxInitialLineLength=" + http1MaxInitialLineLength + ", http1MaxHeaderSize=" + http1MaxHeaderSize + ", http1MaxContentLength="
+        + http1MaxContentLength + ", http2MaxContentLength=" + http2MaxContentLength + "}";
+  }
+}
@@ -1,13 +1,190 @@
 package com.decoded.cauldron.api.network;
 
+import com.decoded.cauldron.api.network.codec.SequenceEncoder;
 import com.decoded.cauldron.api.network.codec.ServerCodec;
-import com.decoded.javautil.json.JacksonUtil;
+import com.decoded.cauldron.api.network.codec.StreamingServerCodec;
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.google.common.reflect.TypeToken;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * JSON codec, or the codec of another Jackson format (Smile, CBOR) given a mapper for it. Streaming encodes go through {@link ObjectWriter}s
+ * which are resolved once per declared result type (or runtime class) and cached, so serializers are not looked up again for every response.
+ */
+public class JacksonCodec implements ServerCodec<String>, StreamingServerCodec {
+  private final ObjectMapper objectMapper;
+  // the writer for declared types which cannot be serialized statically, the runtime class decides
+  private final ObjectWriter dynamicWriter;
+  private final ConcurrentMap<Type, ObjectWriter> declaredTypeWriters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Class<?>, ObjectWriter> classWriters = new ConcurrentHashMap<>();
 
-public class JacksonCodec implements ServerCodec<String> {
+  public JacksonCodec() {
+    this(newObjectMapper(false));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param objectMapper the shared, configured {@link ObjectMapper}
+   */
+  public JacksonCodec(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    this.dynamicWriter = objectMapper.writer();
+  }
+
+  /**
+   * Creates the object mapper used for JSON responses.
+   *
+   * @param afterburner true to register the Afterburner module, which replaces reflective property access with generated bytecode
+   *
+   * @return an {@link ObjectMapper}
+   */
+  public static ObjectMapper newObjectMapper(boolean afterburner) {
+    return newObjectMapper(new JsonFactory(), afterburner);
+  }
+
+  /**
+   * Creates the object mapper used for responses in the format of the factory, e.g. a <code>SmileFactory</code> for Smile.
+   *
+   * @param jsonFactory the {@link JsonFactory} of the format
+   * @param afterburner true to register the Afterburner module, which replaces reflective property access with generated bytecode
+   *
+   * @return an {@link ObjectMapper}
+   */
+  public static ObjectMapper newObjectMapper(JsonFactory jsonFactory, boolean afterburner) {
+    // the output belongs to the caller, who may keep writing to it
+    ObjectMapper objectMapper = new ObjectMapper(jsonFactory).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    if (afterburner) {
+      objectMapper.registerModule(new AfterburnerModule());
+    }
+    return objectMapper;
+  }
+
+  public ObjectMapper getObjectMapper() {
+    return objectMapper;
+  }
 
   @Override
   public String encode(final Object source) {
-    return JacksonUtil.serialize(source);
+    if (objectMapper.getFactory().canHandleBinaryNatively()) {
+      throw new CauldronServerException("The " + objectMapper.getFactory().getFormatName() + " format cannot be encoded as a String");
+    }
+    try {
+      return writerForClass(source.getClass()).writeValueAsString(source);
+    } catch (JsonProcessingException ex) {
+      throw new CauldronServerException("Could not encode " + source.getClass().getName(), ex);
+    }
+  }
+
+  @Override
+  public void encode(final Object source, final OutputStream output) throws IOException {
+    writerForClass(source.getClass()).writeValue(output, source);
+  }
+
+  @Override
+  public void prepare(final Type resultType) {
+    writerForDeclaredType(resultType);
+  }
+
+  @Override
+  public void encode(final Object source, final Type resultType, final OutputStream output) throws IOException {
+    ObjectWriter writer = writerForDeclaredType(resultType);
+    if (writer == dynamicWriter) {
+      writer = writerForClass(source.getClass());
+    }
+    writer.writeValue(output, source);
+  }
+
+  @Override
+  public SequenceEncoder openSequence(final Type elementType, final boolean delimited, final OutputStream output) throws IOException {
+    if (!delimited) {
+      return new JacksonSequenceEncoder(writerForDeclaredType(elementType).writeValues(output).init(true), null);
+    }
+    // values are separated by newlines, and the last one is terminated by one too
+    return new JacksonSequenceEncoder(writerForDeclaredType(elementType).withRootValueSeparator("\n").writeValues(output), output);
+  }
+
+  private ObjectWriter writerForClass(Class<?> type) {
+    return classWriters.computeIfAbsent(type, objectMapper::writerFor);
+  }
+
+  private ObjectWriter writerForDeclaredType(Type type) {
+    return declaredTypeWriters.computeIfAbsent(type, t -> isStaticallyTyped(t) ? objectMapper.writerFor(objectMapper.constructType(t))
+        : dynamicWriter);
+  }
+
+  /**
+   * A writer for a declared type serializes values, and the elements of containers, as the declared types. That is only safe when no runtime
+   * value can be a subclass with more properties, so every class involved must be final.
+   */
+  private static boolean isStaticallyTyped(Type type) {
+    TypeToken<?> token = TypeToken.of(type);
+    Class<?> rawType = token.getRawType();
+    if (rawType.isArray()) {
+      return isStaticallyTyped(token.getComponentType().getType());
+    }
+
+    if (Collection.class.isAssignableFrom(rawType) || Map.class.isAssignableFrom(rawType)) {
+      if (!(type instanceof ParameterizedType)) {
+        return false;
+      }
+      for (Type typeArgument : ((ParameterizedType) type).getActualTypeArguments()) {
+        if (!isStaticallyTyped(typeArgument)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    return rawType.isPrimitive() || (rawType != Object.class && Modifier.isFinal(rawType.getModifiers()));
+  }
+
+  /**
+   * Adapts a Jackson {@link SequenceWriter}, which resolves the serializers of runtime classes itself when the element type is not static.
+   */
+  private static final class JacksonSequenceEncoder implements SequenceEncoder {
+    private final SequenceWriter sequenceWriter;
+    // the output of newline delimited values, which are terminated by a newline once the sequence ends
+    private final OutputStream delimitedOutput;
+    private boolean empty = true;
+
+    private JacksonSequenceEncoder(SequenceWriter sequenceWriter, OutputStream delimitedOutput) {
+      this.sequenceWriter = sequenceWriter;
+      this.delimitedOutput = delimitedOutput;
+    }
+
+    @Override
+    public void write(final Object value) throws IOException {
+      sequenceWriter.write(value);
+      empty = false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      sequenceWriter.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      sequenceWriter.close();
+      if (delimitedOutput != null && !empty) {
+        delimitedOutput.write('\n');
+      }
+    }
   }
 }
@@ -0,0 +1,19 @@
+package com.decoded.cauldron.api.network;
+
+/**
+ * The socket transport the server runs on.
+ */
+public enum Transport {
+  /**
+   * The native epoll transport when it is available (Linux, with the native library on the classpath), NIO otherwise.
+   */
+  AUTO,
+  /**
+   * The native epoll transport, falling back to NIO with a warning when it is not available.
+   */
+  EPOLL,
+  /**
+   * The portable java NIO transport.
+   */
+  NIO
+}
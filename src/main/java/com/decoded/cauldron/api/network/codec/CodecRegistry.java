@@ -0,0 +1,224 @@
+package com.decoded.cauldron.api.network.codec;
+
+import com.decoded.cauldron.api.network.JacksonCodec;
+import com.decoded.cauldron.api.network.http.MimeType;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.lang.reflect.Type;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The codecs which encode responses, by {@link MimeType}, and the negotiation of the response type from the client's Accept header.
+ *
+ * <p>Codecs registered as object codecs (JSON, Smile, CBOR by default) encode the same object model, so any of them can stand in for an
+ * endpoint's declared mime type when the client prefers it. Other codecs (like plain text) are only used for endpoints which declare them.
+ */
+public class CodecRegistry {
+  private static final String WILDCARD = "*";
+
+  private final Map<MimeType, StreamingServerCodec> codecs = new EnumMap<>(MimeType.class);
+  private final Set<MimeType> objectCodecTypes = EnumSet.noneOf(MimeType.class);
+
+  /**
+   * Creates a registry with the built in codecs: JSON, Smile and CBOR as object codecs, and plain text.
+   *
+   * @param afterburner true to register the Jackson Afterburner module on the object codecs
+   *
+   * @return a {@link CodecRegistry}
+   */
+  public static CodecRegistry withDefaults(boolean afterburner) {
+    return new CodecRegistry()
+        .registerObjectCodec(MimeType.APPLICATION_JSON, new JacksonCodec(JacksonCodec.newObjectMapper(afterburner)))
+        .registerObjectCodec(MimeType.APPLICATION_SMILE, new JacksonCodec(JacksonCodec.newObjectMapper(new SmileFactory(), afterburner)))
+        .registerObjectCodec(MimeType.APPLICATION_CBOR, new JacksonCodec(JacksonCodec.newObjectMapper(new CBORFactory(), afterburner)))
+        .register(MimeType.TEXT_PLAIN, new TextCodec());
+  }
+
+  /**
+   * Registers the codec for endpoints which declare the mime type, replacing any codec registered for it.
+   *
+   * @param mimeType the {@link MimeType}
+   * @param codec    the {@link StreamingServerCodec}
+   *
+   * @return this registry
+   */
+  public CodecRegistry register(MimeType mimeType, StreamingServerCodec codec) {
+    codecs.put(mimeType, codec);
+    objectCodecTypes.remove(mimeType);
+    return this;
+  }
+
+  /**
+   * Registers a codec of the object model, which the client may choose through its Accept header in place of another object codec.
+   *
+   * @param mimeType the {@link MimeType}
+   * @param codec    the {@link StreamingServerCodec}
+   *
+   * @return this registry
+   */
+  public CodecRegistry registerObjectCodec(MimeType mimeType, StreamingServerCodec codec) {
+    register(mimeType, codec);
+    objectCodecTypes.add(mimeType);
+    return this;
+  }
+
+  /**
+   * Returns the codec for the mime type.
+   *
+   * @param mimeType the {@link MimeType}
+   *
+   * @return the {@link StreamingServerCodec}, or null if none is registered
+   */
+  public StreamingServerCodec get(MimeType mimeType) {
+    return codecs.get(mimeType);
+  }
+
+  /**
+   * Returns true if the response type of endpoints declaring the mime type depends on the Accept header.
+   *
+   * @param mimeType the declared {@link MimeType}
+   *
+   * @return true if negotiable
+   */
+  public boolean isNegotiable(MimeType mimeType) {
+    return objectCodecTypes.contains(mimeType) && objectCodecTypes.size() > 1;
+  }
+
+  /**
+   * Prepares every codec for an endpoint result type.
+   *
+   * @param mimeType   the declared {@link MimeType} of the endpoint
+   * @param resultType the declared result type of the endpoint
+   */
+  public void prepare(MimeType mimeType, Type resultType) {
+    if (objectCodecTypes.contains(mimeType)) {
+      objectCodecTypes.forEach(objectCodecType -> codecs.get(objectCodecType).prepare(resultType));
+    } else if (codecs.containsKey(mimeType)) {
+      codecs.get(mimeType).prepare(resultType);
+    }
+  }
+
+  /**
+   * Chooses the response mime type for an endpoint. The declared type is kept unless the client gives an object codec a higher quality than
+   * the declared type in its Accept header. A declared type the client doesn't accept is also kept when no object codec is acceptable, since
+   * the endpoint has no other way to answer.
+   *
+   * @param accept   the Accept header value, may be null
+   * @param declared the {@link MimeType} the endpoint declared
+   *
+   * @return the {@link MimeType} to respond with
+   */
+  public MimeType negotiate(String accept, MimeType declared) {
+    if (accept == null || accept.isEmpty() || !isNegotiable(declared)) {
+      return declared;
+    }
+
+    MimeType best = declared;
+    float bestQuality = quality(accept, declared);
+    for (MimeType candidate : objectCodecTypes) {
+      float quality = quality(accept, candidate);
+      if (quality > bestQuality) {
+        best = candidate;
+        bestQuality = quality;
+      }
+    }
+
+    return best;
+  }
+
+  /**
+   * Returns true if a sequence result negotiated as JSON should be written as newline delimited JSON, which the client prefers over a JSON
+   * array through its Accept header.
+   *
+   * @param accept   the Accept header value, may be null
+   * @param mimeType the negotiated {@link MimeType}
+   *
+   * @return true to write the sequence as <code>application/x-ndjson</code>
+   */
+  public boolean isDelimitedSequence(String accept, MimeType mimeType) {
+    return mimeType == MimeType.APPLICATION_JSON && accept != null && !accept.isEmpty()
+        && quality(accept, MimeType.APPLICATION_NDJSON) > quality(accept, MimeType.APPLICATION_JSON);
+  }
+
+  /**
+   * The quality the Accept header gives the mime type, from its most specific matching media range. 0 if the mime type is not acceptable.
+   */
+  static float quality(String accept, MimeType mimeType) {
+    String mediaType = mimeType.getMediaType();
+    int slash = mediaType.indexOf('/');
+    int bestSpecificity = -1;
+    float quality = 0;
+
+    int rangeStart = 0;
+    while (rangeStart < accept.length()) {
+      int rangeEnd = accept.indexOf(',', rangeStart);
+      if (rangeEnd < 0) {
+        rangeEnd = accept.length();
+      }
+
+      int parametersStart = accept.indexOf(';', rangeStart);
+      if (parametersStart < 0 || parametersStart > rangeEnd) {
+        parametersStart = rangeEnd;
+      }
+
+      String range = accept.substring(rangeStart, parametersStart).trim();
+      int specificity = specificity(range, mediaType, slash);
+      if (specificity > bestSpecificity) {
+        bestSpecificity = specificity;
+        quality = qualityParameter(accept, parametersStart, rangeEnd);
+      }
+
+      rangeStart = rangeEnd + 1;
+    }
+
+    return quality;
+  }
+
+  /**
+   * How specifically the media range matches the media type: 2 for an exact match, 1 for <code>type/*</code>, 0 for <code>*&#47;*</code>, and
+   * -1 if it doesn't match.
+   */
+  private static int specificity(String range, String mediaType, int slash) {
+    if (range.equalsIgnoreCase(mediaType)) {
+      return 2;
+    }
+
+    int rangeSlash = range.indexOf('/');
+    if (rangeSlash < 0 || !range.startsWith(WILDCARD, rangeSlash + 1)) {
+      return -1;
+    }
+
+    if (rangeSlash == 1 && range.startsWith(WILDCARD)) {
+      return 0;
+    }
+
+    return rangeSlash == slash && range.regionMatches(true, 0, mediaType, 0, slash) ? 1 : -1;
+  }
+
+  private static float qualityParameter(String accept, int parametersStart, int rangeEnd) {
+    int parameterStart = parametersStart;
+    while (parameterStart < rangeEnd) {
+      int parameterEnd = accept.indexOf(';', parameterStart + 1);
+      if (parameterEnd < 0 || parameterEnd > rangeEnd) {
+        parameterEnd = rangeEnd;
+      }
+
+      String parameter = accept.substring(parameterStart + 1, parameterEnd).trim();
+      if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q') && parameter.charAt(1) == '=') {
+        try {
+          return Float.parseFloat(parameter.substring(2));
+        } catch (NumberFormatException ex) {
+          // a malformed quality counts as the default
+          return 1;
+        }
+      }
+
+      parameterStart = parameterEnd;
+    }
+
+    return 1;
+  }
+}
@@ -0,0 +1,34 @@
+package com.decoded.cauldron.api.network.codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Encodes a sequence of values one at a time, so a sequence result is written as it is produced instead of being collected first. Values are
+ * buffered by the encoder until it is flushed or closed.
+ */
+public interface SequenceEncoder extends Closeable {
+  /**
+   * Encodes the next value of the sequence.
+   *
+   * @param value the value
+   *
+   * @throws IOException if the value cannot be encoded or written
+   */
+  void write(Object value) throws IOException;
+
+  /**
+   * Writes the values encoded so far to the output.
+   *
+   * @throws IOException if the output cannot be written
+   */
+  void flush() throws IOException;
+
+  /**
+   * Ends the sequence, e.g. closes the array the values were written into, and flushes it. The output is not closed.
+   *
+   * @throws IOException if the output cannot be written
+   */
+  @Override
+  void close() throws IOException;
+}
@@ -0,0 +1,59 @@
+package com.decoded.cauldron.api.network.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * A Server Codec which writes the encoded form straight to an output stream, so the server can encode into its own (pooled) buffers rather
+ * than copying an intermediate String or byte array.
+ */
+public interface StreamingServerCodec {
+  /**
+   * Encodes the source to the output. Implementations must not close the output.
+   *
+   * @param source the object to encode
+   * @param output the output the encoded bytes are written to
+   *
+   * @throws IOException if the source cannot be encoded or written
+   */
+  void encode(Object source, OutputStream output) throws IOException;
+
+  /**
+   * Encodes the source to the output, given the type the endpoint declared for it. Codecs which can specialize on the declared type do so,
+   * the default ignores it.
+   *
+   * @param source     the object to encode
+   * @param resultType the declared type of the source
+   * @param output     the output the encoded bytes are written to
+   *
+   * @throws IOException if the source cannot be encoded or written
+   */
+  default void encode(Object source, Type resultType, OutputStream output) throws IOException {
+    encode(source, output);
+  }
+
+  /**
+   * Prepares the codec for results of the declared type, called once per endpoint when the server starts.
+   *
+   * @param resultType the declared result type of an endpoint
+   */
+  default void prepare(Type resultType) {
+  }
+
+  /**
+   * Opens an encoder for a sequence of values written one at a time, as an array or, when delimited, as newline delimited values. Codecs which
+   * cannot encode a sequence incrementally return null.
+   *
+   * @param elementType the declared type of the values
+   * @param delimited   true to write newline delimited values rather than an array
+   * @param output      the output the encoded bytes are written to
+   *
+   * @return the {@link SequenceEncoder}, or null if sequences are not supported
+   *
+   * @throws IOException if the start of the sequence cannot be written
+   */
+  default SequenceEncoder openSequence(Type elementType, boolean delimited, OutputStream output) throws IOException {
+    return null;
+  }
+}
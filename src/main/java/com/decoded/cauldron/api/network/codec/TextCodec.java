@@ -0,0 +1,26 @@
+package com.decoded.cauldron.api.network.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes the <code>toString()</code> of the source as UTF-8 text.
+ */
+public class TextCodec implements ServerCodec<String>, StreamingServerCodec {
+
+  @Override
+  public String encode(final Object source) {
+    return source.toString();
+  }
+
+  @Override
+  public void encode(final Object source, final OutputStream output) throws IOException {
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    writer.write(source.toString());
+    // flush without closing, the output belongs to the caller
+    writer.flush();
+  }
+}
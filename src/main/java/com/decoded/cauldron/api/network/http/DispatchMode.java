@@ -0,0 +1,25 @@
+package com.decoded.cauldron.api.network.http;
+
+/**
+ * Where an endpoint runs: binding, invocation and response encoding.
+ */
+public enum DispatchMode {
+  /**
+   * Use the server's configured dispatch mode. Only meaningful on {@link com.decoded.cauldron.api.annotation.HttpEndpoint}.
+   */
+  DEFAULT,
+  /**
+   * Run on the I/O thread which read the request. Cheapest for endpoints which never block, but a slow endpoint stalls every connection sharing
+   * that thread.
+   */
+  EVENT_LOOP,
+  /**
+   * Run on the server's bounded endpoint executor. The response is written back on the connection's I/O thread.
+   */
+  EXECUTOR,
+  /**
+   * Run on a new virtual thread per request, so endpoints can block cheaply. Needs Java 21 or later, older versions fall back to
+   * {@link #EXECUTOR}. The response is written back on the connection's I/O thread.
+   */
+  VIRTUAL_THREAD
+}
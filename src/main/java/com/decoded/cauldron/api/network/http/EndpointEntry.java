@@ -1,15 +1,72 @@
 package com.decoded.cauldron.api.network.http;
 
+import com.decoded.cauldron.api.annotation.Cacheable;
+import com.decoded.cauldron.api.annotation.HttpEndpoint;
+import com.decoded.cauldron.api.network.codec.CodecRegistry;
+import com.decoded.cauldron.api.network.http.binding.BodyStreamParameterBinder;
+import com.decoded.cauldron.api.network.http.binding.ParameterBinder;
+import com.decoded.cauldron.api.network.http.binding.ParameterBinders;
+import com.decoded.cauldron.api.network.http.validators.InputValidatorRegistry;
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+import com.google.common.reflect.TypeToken;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
 
-
+/**
+ * An endpoint exposed by an {@link HttpResource}. The endpoint method is compiled into a {@link MethodHandle} invoker and a parameter binding
+ * plan once, when the resource is built, so requests do not pay for reflective invocation or parameter introspection.
+ */
 public class EndpointEntry {
-  private Method method;
-  private MimeType responseMimeType;
+  private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+  // results of these types are written one element at a time
+  private static final Class<?>[] SEQUENCE_TYPES = {Stream.class, Iterator.class, Publisher.class};
+
+  private final Method method;
+  private final MimeType responseMimeType;
+  private final MethodHandle invoker;
+  private final ParameterBinder[] parameterBinders;
+  private final DispatchMode dispatchMode;
+  private final Type resultType;
+  private final Type elementType;
+  private final Cacheable cacheable;
+  private final BodyStreamParameterBinder bodyStreamBinder;
+  private volatile ResponseCache responseCache;
 
+  /**
+   * Constructor.
+   *
+   * @param method   the endpoint method
+   * @param mimeType the response mime type
+   */
   public EndpointEntry(Method method, MimeType mimeType) {
     this.method = method;
     this.responseMimeType = mimeType;
+    this.invoker = compileInvoker(method);
+    this.parameterBinders = ParameterBinders.forMethod(method);
+    this.dispatchMode = method.isAnnotationPresent(HttpEndpoint.class) ? method.getAnnotation(HttpEndpoint.class).dispatch()
+        : DispatchMode.DEFAULT;
+    this.resultType = resultTypeOf(method);
+    this.elementType = elementTypeOf(resultType);
+    this.cacheable = method.getAnnotation(Cacheable.class);
+    this.bodyStreamBinder = (BodyStreamParameterBinder) Arrays.stream(parameterBinders)
+        .filter(BodyStreamParameterBinder.class::isInstance)
+        .findFirst()
+        .orElse(null);
+
+    if (dispatchMode == DispatchMode.EVENT_LOOP && isBlockingBodyStream()) {
+      throw new CauldronServerException("Endpoint " + method.getName() + " reads its body from a blocking InputStream, and cannot run on the "
+          + "event loop which delivers it");
+    }
   }
 
   public Method getMethod() {
@@ -19,4 +76,186 @@ public class EndpointEntry {
   public MimeType getResponseMimeType() {
     return responseMimeType;
   }
+
+  public DispatchMode getDispatchMode() {
+    return dispatchMode;
+  }
+
+  /**
+   * The declared type of the response entity: the generic return type of the endpoint, or the type a returned {@link CompletionStage} or
+   * {@link Mono} completes with.
+   *
+   * @return the result {@link Type}
+   */
+  public Type getResultType() {
+    return resultType;
+  }
+
+  /**
+   * The declared element type of a sequence result, a {@link Stream}, {@link Iterator} or {@link Publisher} which is written one element at a
+   * time.
+   *
+   * @return the element {@link Type}, or null if the result is not declared as a sequence
+   */
+  public Type getElementType() {
+    return elementType;
+  }
+
+  /**
+   * Returns true if the result is a sequence which is written one element at a time.
+   *
+   * @param result an endpoint result
+   *
+   * @return true if the result is a {@link Stream}, {@link Iterator} or {@link Publisher} other than a {@link Mono}
+   */
+  public static boolean isSequence(Object result) {
+    if (result instanceof Mono) {
+      // a single value, which is written like any other once it is emitted
+      return false;
+    }
+    for (Class<?> sequenceType : SEQUENCE_TYPES) {
+      if (sequenceType.isInstance(result)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns true if the endpoint takes a {@link com.decoded.cauldron.api.annotation.BodyStream}, so its request body is streamed rather than
+   * aggregated.
+   *
+   * @return true if the request body is streamed
+   */
+  public boolean isBodyStream() {
+    return bodyStreamBinder != null;
+  }
+
+  /**
+   * Returns true if the endpoint reads its streamed request body through a blocking {@link java.io.InputStream}.
+   *
+   * @return true if the body stream blocks its reader
+   */
+  public boolean isBlockingBodyStream() {
+    return bodyStreamBinder != null && bodyStreamBinder.isBlocking();
+  }
+
+  /**
+   * The response cache settings of the endpoint.
+   *
+   * @return the {@link Cacheable} annotation, or null if responses are not cached
+   */
+  public Cacheable getCacheable() {
+    return cacheable;
+  }
+
+  /**
+   * The response cache the server installed for a {@link Cacheable} endpoint.
+   *
+   * @return the {@link ResponseCache}, or null if there is none
+   */
+  public ResponseCache getResponseCache() {
+    return responseCache;
+  }
+
+  public void setResponseCache(ResponseCache responseCache) {
+    this.responseCache = responseCache;
+  }
+
+  /**
+   * Resolves the validators of the binding plan through the registry, so they are created once and shared across requests.
+   *
+   * @param registry the {@link InputValidatorRegistry}
+   */
+  public void resolveValidators(InputValidatorRegistry registry) {
+    for (ParameterBinder parameterBinder : parameterBinders) {
+      parameterBinder.resolveValidators(registry);
+    }
+  }
+
+  /**
+   * Resolves the codecs the binding plan reads request bodies with through the server's registry.
+   *
+   * @param codecRegistry the {@link CodecRegistry}
+   */
+  public void resolveCodecs(CodecRegistry codecRegistry) {
+    for (ParameterBinder parameterBinder : parameterBinders) {
+      parameterBinder.resolveCodecs(codecRegistry);
+    }
+  }
+
+  /**
+   * Binds the endpoint arguments for the current request using the precomputed binding plan.
+   *
+   * @param context the request context
+   *
+   * @return the arguments, one per formal parameter
+   */
+  public Object[] bindArguments(CauldronHttpRequestContext context) {
+    final Object[] args = new Object[parameterBinders.length];
+    for (int idx = 0; idx < parameterBinders.length; idx++) {
+      args[idx] = parameterBinders[idx].bind(context);
+    }
+    return args;
+  }
+
+  /**
+   * Invokes the endpoint on the resource. Exceptions thrown by the endpoint are not wrapped.
+   *
+   * @param resource the resource instance which declares the endpoint
+   * @param args     the endpoint arguments, one per formal parameter
+   *
+   * @return the endpoint result, or null for void endpoints
+   *
+   * @throws Throwable anything thrown by the endpoint
+   */
+  public Object invoke(Object resource, Object[] args) throws Throwable {
+    return (Object) invoker.invokeExact(resource, args);
+  }
+
+  private static Type resultTypeOf(Method method) {
+    if (CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+      // also resolves subtypes, like CompletableFuture<List<Candy>> to List<Candy>
+      return TypeToken.of(method.getGenericReturnType()).resolveType(CompletionStage.class.getTypeParameters()[0]).getType();
+    }
+    if (Mono.class.isAssignableFrom(method.getReturnType())) {
+      return TypeToken.of(method.getGenericReturnType()).resolveType(Mono.class.getTypeParameters()[0]).getType();
+    }
+    return method.getGenericReturnType();
+  }
+
+  private static Type elementTypeOf(Type resultType) {
+    TypeToken<?> token = TypeToken.of(resultType);
+    for (Class<?> sequenceType : SEQUENCE_TYPES) {
+      if (sequenceType.isAssignableFrom(token.getRawType())) {
+        return token.resolveType(sequenceType.getTypeParameters()[0]).getType();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Adapts the endpoint method to the generic shape <code>(Object resource, Object[] args) -&gt; Object</code>.
+   *
+   * @param method the endpoint method
+   *
+   * @return a {@link MethodHandle}
+   */
+  private static MethodHandle compileInvoker(Method method) {
+    MethodHandle handle;
+    try {
+      handle = MethodHandles.publicLookup().unreflect(method);
+    } catch (IllegalAccessException ex) {
+      // the declaring class is not public, fall back to an accessible reflective handle
+      try {
+        method.setAccessible(true);
+        handle = MethodHandles.lookup().unreflect(method);
+      } catch (IllegalAccessException | SecurityException accessEx) {
+        throw new CauldronServerException("Cannot access endpoint method: " + method.getDeclaringClass().getName() + "::" + method.getName(),
+            accessEx);
+      }
+    }
+
+    return handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+  }
 }
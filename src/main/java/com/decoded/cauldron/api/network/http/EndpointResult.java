@@ -1,14 +1,30 @@
 package com.decoded.cauldron.api.network.http;
 
+import java.lang.reflect.Type;
+
 public class EndpointResult {
   private Object result;
   private MimeType preferredMimeType = MimeType.TEXT_PLAIN;
+  private Type resultType = Object.class;
 
   public EndpointResult(Object result, MimeType mimeType) {
     this.result = result;
     this.preferredMimeType = mimeType;
   }
 
+  /**
+   * Constructor.
+   *
+   * @param result     the result
+   * @param mimeType   the preferred response mime type
+   * @param resultType the declared type of the result, or of the value it completes with if the result is a
+   *                   {@link java.util.concurrent.CompletionStage}
+   */
+  public EndpointResult(Object result, MimeType mimeType, Type resultType) {
+    this(result, mimeType);
+    this.resultType = resultType;
+  }
+
   public Object getResult() {
     return result;
   }
@@ -16,4 +32,8 @@ public class EndpointResult {
   public MimeType getPreferredMimeType() {
     return preferredMimeType;
   }
+
+  public Type getResultType() {
+    return resultType;
+  }
 }
@@ -1,11 +1,20 @@
 package com.decoded.cauldron.api.network.http;
 
+import com.decoded.cauldron.api.CauldronApi;
+import com.decoded.cauldron.api.annotation.Cacheable;
 import com.decoded.cauldron.api.annotation.HttpEndpoint;
 import com.decoded.cauldron.api.network.AbstractNetworkResource;
+import com.decoded.cauldron.api.network.http.validators.InputValidatorRegistry;
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.google.inject.Inject;
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,7 +25,14 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class HttpResource extends AbstractNetworkResource {
   private static final Logger LOG = LoggerFactory.getLogger(HttpResource.class);
-  private Map<CauldronHttpMethod, EndpointEntry> httpEndpointEntrypointByHttpMethod = new HashMap<>();
+  private static final int ENDPOINT_SLOT_COUNT = CauldronHttpMethod.values().length;
+  private static final Set<CauldronHttpMethod> CACHEABLE_METHODS = EnumSet.of(CauldronHttpMethod.GET, CauldronHttpMethod.GET_ALL,
+      CauldronHttpMethod.BATCH_GET);
+
+  // indexed by CauldronHttpMethod ordinal
+  private final EndpointEntry[] endpointEntries = new EndpointEntry[ENDPOINT_SLOT_COUNT];
+  private final Set<HttpMethod> allowedMethods;
+  private final String allowHeaderValue;
 
   /**
    * Constructor.
@@ -28,11 +44,81 @@ public abstract class HttpResource extends AbstractNetworkResource {
 
     Arrays.stream(allMethods).forEach(classMethod -> {
       if (classMethod.isAnnotationPresent(HttpEndpoint.class)) {
-        CauldronHttpMethod httpMethod = classMethod.getAnnotation(HttpEndpoint.class).method();
+        HttpEndpoint httpEndpoint = classMethod.getAnnotation(HttpEndpoint.class);
+        CauldronHttpMethod httpMethod = httpEndpoint.method();
         LOG.info("Mapping Method " + classMethod.getName() + " -> to HttpMethod: " + httpMethod);
-        httpEndpointEntrypointByHttpMethod.put(httpMethod, new EndpointEntry(classMethod, MimeType.APPLICATION_JSON));
+        if (classMethod.isAnnotationPresent(Cacheable.class) && !CACHEABLE_METHODS.contains(httpMethod)) {
+          throw new CauldronServerException("Only " + CACHEABLE_METHODS + " endpoints can be @Cacheable: " + thisClass.getName() + "::"
+              + classMethod.getName());
+        }
+        endpointEntries[httpMethod.ordinal()] = new EndpointEntry(classMethod, httpEndpoint.responseMimeType());
       }
     });
+
+    this.allowedMethods = Collections.unmodifiableSet(buildAllowedMethods(endpointEntries));
+    this.allowHeaderValue = allowedMethods.stream().map(HttpMethod::name).collect(Collectors.joining(", "));
+  }
+
+  /**
+   * The http methods served by this resource's endpoints. HEAD is allowed when GET is, and OPTIONS is always allowed since the server answers
+   * it for every resource.
+   *
+   * @return an unmodifiable {@link Set} of {@link HttpMethod}
+   */
+  public Set<HttpMethod> getAllowedMethods() {
+    return allowedMethods;
+  }
+
+  /**
+   * The value of the Allow header for this resource, computed once when the resource is built.
+   *
+   * @return the Allow header value
+   */
+  public String getAllowHeaderValue() {
+    return allowHeaderValue;
+  }
+
+  private Set<HttpMethod> buildAllowedMethods(EndpointEntry[] entries) {
+    Set<HttpMethod> methods = EnumSet.noneOf(HttpMethod.class);
+    for (EndpointEntry entry : entries) {
+      if (entry != null) {
+        methods.add(CauldronApi.getHttpMethod(entry.getMethod().getAnnotation(HttpEndpoint.class).method()));
+      }
+    }
+
+    if (methods.isEmpty()) {
+      LOG.warn("There were no available HttpMethods allowed for the resource: " + getClass());
+    }
+
+    if (methods.contains(HttpMethod.GET)) {
+      methods.add(HttpMethod.HEAD);
+    }
+    methods.add(HttpMethod.OPTIONS);
+    return methods;
+  }
+
+  /**
+   * Resolves the input validators of every endpoint through the registry. The injector calls this once the resource is constructed, so
+   * validators can be injected and are shared across requests.
+   *
+   * @param inputValidatorRegistry the {@link InputValidatorRegistry}
+   */
+  @Inject
+  public void setInputValidatorRegistry(InputValidatorRegistry inputValidatorRegistry) {
+    for (EndpointEntry entry : endpointEntries) {
+      if (entry != null) {
+        entry.resolveValidators(inputValidatorRegistry);
+      }
+    }
+  }
+
+  /**
+   * Returns every endpoint of this resource.
+   *
+   * @return a {@link List} of {@link EndpointEntry}
+   */
+  public List<EndpointEntry> getEndpointEntries() {
+    return Arrays.stream(endpointEntries).filter(Objects::nonNull).collect(Collectors.toList());
   }
 
   /**
@@ -43,11 +129,38 @@ public abstract class HttpResource extends AbstractNetworkResource {
    * @return EndpointEntry
    */
   public EndpointEntry getEndpointEntry(CauldronHttpMethod httpMethod) {
-    if (httpEndpointEntrypointByHttpMethod.containsKey(httpMethod)) {
-      return httpEndpointEntrypointByHttpMethod.get(httpMethod);
+    if (httpMethod != null) {
+      EndpointEntry entry = endpointEntries[httpMethod.ordinal()];
+      if (entry != null) {
+        return entry;
+      }
     }
 
     LOG.error("No mapping for HttpMethod: " + httpMethod);
     return null;
   }
+
+  /**
+   * Returns the response cache of a {@link Cacheable} endpoint, for its hit and miss counts.
+   *
+   * @param httpMethod a {@link CauldronHttpMethod}
+   *
+   * @return the {@link ResponseCache}, or null if the endpoint does not cache responses
+   */
+  public ResponseCache getResponseCache(CauldronHttpMethod httpMethod) {
+    EndpointEntry entry = httpMethod != null ? endpointEntries[httpMethod.ordinal()] : null;
+    return entry != null ? entry.getResponseCache() : null;
+  }
+
+  /**
+   * Drops the cached responses of every {@link Cacheable} endpoint of this resource. Write endpoints call this once they changed what the read
+   * endpoints return.
+   */
+  public void invalidateResponseCache() {
+    for (EndpointEntry entry : endpointEntries) {
+      if (entry != null && entry.getResponseCache() != null) {
+        entry.getResponseCache().invalidateAll();
+      }
+    }
+  }
 }
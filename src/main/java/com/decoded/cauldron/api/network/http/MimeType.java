@@ -2,9 +2,12 @@ package com.decoded.cauldron.api.network.http;
 
 public enum MimeType {
   APPLICATION_JSON("application/json"),
+  APPLICATION_NDJSON("application/x-ndjson"),
   MULTIPART_FORM_DATA("multipart/form-data"),
   TEXT_PLAIN("text/plain"),
-  APPLICATION_JAVASCRIPT("application/javascript");
+  APPLICATION_JAVASCRIPT("application/javascript"),
+  APPLICATION_SMILE("application/x-jackson-smile"),
+  APPLICATION_CBOR("application/cbor");
 
   private String mediaType;
 
@@ -16,6 +19,22 @@ public enum MimeType {
     return mediaType;
   }
 
+  /**
+   * Looks up the mime type of a media type, ignoring case.
+   *
+   * @param mediaType the media type, without parameters, e.g. <code>application/json</code>
+   *
+   * @return the {@link MimeType}, or null if it is not one of these
+   */
+  public static MimeType fromMediaType(String mediaType) {
+    for (MimeType mimeType : values()) {
+      if (mimeType.mediaType.equalsIgnoreCase(mediaType)) {
+        return mimeType;
+      }
+    }
+    return null;
+  }
+
   @Override
   public String toString() {
     return mediaType;
@@ -0,0 +1,41 @@
+package com.decoded.cauldron.api.network.http;
+
+import com.decoded.cauldron.api.annotation.Cacheable;
+
+/**
+ * The response cache of a {@link Cacheable} endpoint, installed by the server.
+ */
+public interface ResponseCache {
+  /**
+   * Drops every cached response of the endpoint.
+   */
+  void invalidateAll();
+
+  /**
+   * The number of requests answered from the cache.
+   *
+   * @return a long
+   */
+  long getHitCount();
+
+  /**
+   * The number of requests which invoked the endpoint since no response was cached.
+   *
+   * @return a long
+   */
+  long getMissCount();
+
+  /**
+   * The number of responses dropped because they expired or the cache was full.
+   *
+   * @return a long
+   */
+  long getEvictionCount();
+
+  /**
+   * The approximate number of cached responses.
+   *
+   * @return a long
+   */
+  long getSize();
+}
@@ -0,0 +1,77 @@
+package com.decoded.cauldron.api.network.http;
+
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.google.common.hash.Hashing;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Digests a response can carry, computed over the encoded response bytes.
+ */
+public enum ResponseDigest {
+  /**
+   * No digest header.
+   */
+  NONE(null) {
+    @Override
+    public String compute(ByteBuffer content) {
+      return null;
+    }
+  },
+  /**
+   * A base64 MD5 of the content, in the Content-MD5 header.
+   *
+   * @see <a href=https://tools.ietf.org/html/rfc1864>RFC 1864</a>
+   */
+  CONTENT_MD5(HeaderNames.CONTENT_MD5) {
+    @Override
+    public String compute(ByteBuffer content) {
+      MessageDigest digest;
+      try {
+        digest = MessageDigest.getInstance("MD5");
+      } catch (NoSuchAlgorithmException ex) {
+        throw new CauldronServerException("Error computing the MD5 value for the response", ex);
+      }
+      digest.update(content);
+      return new String(Base64.getEncoder().encode(digest.digest()), StandardCharsets.US_ASCII);
+    }
+  },
+  /**
+   * A strong ETag from a 128 bit murmur3 hash of the content. Much cheaper than MD5, and only meant to detect changes, not tampering.
+   *
+   * @see <a href=https://tools.ietf.org/html/rfc7232#section-2.3>RFC 7232, Section 2.3</a>
+   */
+  ETAG(HeaderNames.ETAG) {
+    @Override
+    public String compute(ByteBuffer content) {
+      return '"' + Hashing.murmur3_128().newHasher().putBytes(content).hash().toString() + '"';
+    }
+  };
+
+  private final String headerName;
+
+  ResponseDigest(String headerName) {
+    this.headerName = headerName;
+  }
+
+  /**
+   * The response header which carries the digest.
+   *
+   * @return the header name, or null for {@link #NONE}
+   */
+  public String getHeaderName() {
+    return headerName;
+  }
+
+  /**
+   * Computes the digest header value. The buffer is read from its position to its limit, and its position is not preserved.
+   *
+   * @param content the encoded response content
+   *
+   * @return the header value, or null for {@link #NONE}
+   */
+  public abstract String compute(ByteBuffer content);
+}
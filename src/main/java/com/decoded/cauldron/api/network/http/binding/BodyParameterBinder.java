@@ -0,0 +1,56 @@
+package com.decoded.cauldron.api.network.http.binding;
+
+import com.decoded.cauldron.api.network.http.HttpMethod;
+import com.decoded.cauldron.api.network.http.validators.InputValidator;
+import com.decoded.cauldron.server.exception.CauldronHttpException;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+import com.decoded.cauldron.server.http.Status;
+import java.lang.reflect.Method;
+
+/**
+ * Binds a {@link com.decoded.cauldron.api.annotation.BodyParam} parameter. Body parameters can only be pulled from requests with a request
+ * body entity (e.g. post, put, patch requests).
+ */
+public class BodyParameterBinder extends RequestParameterBinder {
+
+  /**
+   * Constructor.
+   *
+   * @param endpointMethod the endpoint method
+   * @param expectedName   the body parameter name
+   * @param optional       true if the parameter may be omitted
+   * @param multiValued    true if all values of the parameter are bound as a List
+   * @param converter      the converter for the parameter type
+   * @param validatorClass the validator class, or null if the input is not validated
+   */
+  public BodyParameterBinder(Method endpointMethod,
+                             String expectedName,
+                             boolean optional,
+                             boolean multiValued,
+                             ParameterConverter converter,
+                             Class<? extends InputValidator> validatorClass) {
+    super(endpointMethod, expectedName, optional, multiValued, converter, validatorClass);
+  }
+
+  @Override
+  public Object bind(CauldronHttpRequestContext context) {
+    HttpMethod requestMethod = context.getRequestMethod();
+    if (requestMethod != HttpMethod.POST && requestMethod != HttpMethod.PUT && requestMethod != HttpMethod.PATCH) {
+      // this is incorrect
+      throw new CauldronHttpException(Status.INTERNAL_SERVER_ERROR_500,
+          "You cannot expect Body Parameters from a request without a body entity or encoded body parameters.");
+    }
+
+    return super.bind(context);
+  }
+
+  @Override
+  protected Object lookup(CauldronHttpRequestContext context, String name, boolean multiValued) {
+    return multiValued ? context.getBodyParameters(name) : context.getBodyParameter(name);
+  }
+
+  @Override
+  protected String describe() {
+    return "Multipart Parameter";
+  }
+}
@@ -0,0 +1,50 @@
+package com.decoded.cauldron.api.network.http.binding;
+
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import org.reactivestreams.Publisher;
+
+/**
+ * Binds a {@link com.decoded.cauldron.api.annotation.BodyStream} parameter to the streamed request body, either as the {@link Publisher} of
+ * its chunks or as a blocking {@link InputStream} reading them.
+ */
+public class BodyStreamParameterBinder implements ParameterBinder {
+  private final Method endpointMethod;
+  private final boolean blocking;
+
+  /**
+   * Constructor.
+   *
+   * @param endpointMethod the endpoint method
+   * @param parameterType  the parameter type, a {@link Publisher} or an {@link InputStream}
+   */
+  public BodyStreamParameterBinder(Method endpointMethod, Class<?> parameterType) {
+    if (parameterType != Publisher.class && parameterType != InputStream.class) {
+      throw new CauldronServerException("Body stream parameter of " + endpointMethod.getName() + " must be a Publisher<ByteBuffer> or an "
+          + "InputStream, not " + parameterType.getName());
+    }
+    this.endpointMethod = endpointMethod;
+    this.blocking = parameterType == InputStream.class;
+  }
+
+  /**
+   * Returns true if the body is read through a blocking {@link InputStream}.
+   *
+   * @return true if blocking
+   */
+  public boolean isBlocking() {
+    return blocking;
+  }
+
+  @Override
+  public Object bind(CauldronHttpRequestContext context) {
+    Publisher<ByteBuffer> body = context.getRequestBodyStream();
+    if (body == null) {
+      throw new CauldronServerException("The request body of " + endpointMethod.getName() + " is not streamed");
+    }
+    return blocking ? new PublisherInputStream(body) : body;
+  }
+}
@@ -0,0 +1,93 @@
+package com.decoded.cauldron.api.network.http.binding;
+
+import com.decoded.cauldron.api.network.JacksonCodec;
+import com.decoded.cauldron.api.network.codec.CodecRegistry;
+import com.decoded.cauldron.api.network.codec.StreamingServerCodec;
+import com.decoded.cauldron.api.network.http.HeaderNames;
+import com.decoded.cauldron.api.network.http.MimeType;
+import com.decoded.cauldron.api.network.http.validators.InputValidator;
+import com.decoded.cauldron.server.exception.CauldronHttpException;
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+import com.decoded.cauldron.server.http.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * Binds a {@link com.decoded.cauldron.api.annotation.BodyParam} parameter of an object type (anything the string converters don't handle) to
+ * the whole <code>application/json</code> request body. The body is read straight from the request content with an {@link ObjectReader}
+ * resolved once for the parameter type, from the JSON codec of the server's {@link CodecRegistry} so requests are read with the same
+ * configuration responses are written with.
+ */
+public class JsonBodyParameterBinder extends BodyParameterBinder {
+  private static final String JSON_MIME_TYPE = MimeType.APPLICATION_JSON.toString();
+
+  private final Type parameterType;
+  private volatile ObjectReader reader;
+
+  /**
+   * Constructor.
+   *
+   * @param endpointMethod the endpoint method
+   * @param expectedName   the body parameter name
+   * @param optional       true if the body may be omitted
+   * @param parameterType  the generic parameter type
+   * @param validatorClass the validator class, or null if the input is not validated
+   */
+  public JsonBodyParameterBinder(Method endpointMethod,
+                                 String expectedName,
+                                 boolean optional,
+                                 Type parameterType,
+                                 Class<? extends InputValidator> validatorClass) {
+    super(endpointMethod, expectedName, optional, false, input -> input, validatorClass);
+    this.parameterType = parameterType;
+  }
+
+  @Override
+  public void resolveCodecs(CodecRegistry codecRegistry) {
+    StreamingServerCodec codec = codecRegistry.get(MimeType.APPLICATION_JSON);
+    if (!(codec instanceof JacksonCodec)) {
+      throw new CauldronServerException(describe() + " " + getExpectedName() + " is read with a " + JacksonCodec.class.getSimpleName()
+          + ", none is registered for " + JSON_MIME_TYPE);
+    }
+
+    ObjectMapper objectMapper = ((JacksonCodec) codec).getObjectMapper();
+    reader = objectMapper.readerFor(objectMapper.constructType(parameterType));
+  }
+
+  @Override
+  protected Object lookup(CauldronHttpRequestContext context, String name, boolean multiValued) {
+    // a missing body is a missing parameter, whatever the content type claims
+    InputStream body = context.getRequestBody();
+    if (body == null) {
+      return null;
+    }
+
+    String contentType = context.getRequestHeader(HeaderNames.CONTENT_TYPE);
+    if (contentType == null || !contentType.regionMatches(true, 0, JSON_MIME_TYPE, 0, JSON_MIME_TYPE.length())) {
+      throw new CauldronHttpException(Status.UNSUPPORTED_MEDIA_TYPE_415, describe() + " " + name + " requires a " + JSON_MIME_TYPE + " body");
+    }
+
+    if (reader == null) {
+      throw new CauldronServerException(describe() + " " + name + " has no codec, the endpoint was never prepared by a server");
+    }
+
+    try {
+      return reader.readValue(body);
+    } catch (JsonProcessingException ex) {
+      throw new CauldronHttpException(Status.BAD_REQUEST_400, describe() + " " + name + " could not be read: " + ex.getOriginalMessage(), ex);
+    } catch (IOException ex) {
+      throw new CauldronServerException("Error reading the request body", ex);
+    }
+  }
+
+  @Override
+  protected String describe() {
+    return "Json Body Parameter";
+  }
+}
@@ -0,0 +1,36 @@
+package com.decoded.cauldron.api.network.http.binding;
+
+import com.decoded.cauldron.api.network.codec.CodecRegistry;
+import com.decoded.cauldron.api.network.http.validators.InputValidatorRegistry;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+
+/**
+ * Produces the argument for one formal parameter of an endpoint from the current request. Binders are resolved once per endpoint, when the
+ * resource is built, so binding an argument does not need any reflection.
+ */
+public interface ParameterBinder {
+  /**
+   * Binds the argument value for the current request.
+   *
+   * @param context the request context
+   *
+   * @return the argument value, which may be null
+   */
+  Object bind(CauldronHttpRequestContext context);
+
+  /**
+   * Resolves any validator this binder uses through the registry.
+   *
+   * @param registry the {@link InputValidatorRegistry}
+   */
+  default void resolveValidators(InputValidatorRegistry registry) {
+  }
+
+  /**
+   * Resolves any codec this binder reads the request with through the server's registry.
+   *
+   * @param codecRegistry the {@link CodecRegistry}
+   */
+  default void resolveCodecs(CodecRegistry codecRegistry) {
+  }
+}
@@ -0,0 +1,93 @@
+package com.decoded.cauldron.api.network.http.binding;
+
+import com.decoded.cauldron.api.annotation.BodyParam;
+import com.decoded.cauldron.api.annotation.BodyStream;
+import com.decoded.cauldron.api.annotation.PathParam;
+import com.decoded.cauldron.api.annotation.QueryParam;
+import com.decoded.cauldron.api.network.http.validators.InputValidator;
+import com.decoded.cauldron.api.network.http.validators.NoopInputValidator;
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.List;
+
+/**
+ * Builds the binding plan for an endpoint method: one {@link ParameterBinder} per formal parameter.
+ */
+public class ParameterBinders {
+  private static final ParameterBinder UNBOUND = context -> null;
+  private static final ParameterBinder REQUEST_CONTEXT = context -> context;
+
+  private ParameterBinders() {
+
+  }
+
+  /**
+   * Builds the binders for every parameter of the endpoint method, in declaration order.
+   *
+   * @param endpointMethod the endpoint method
+   *
+   * @return an array of {@link ParameterBinder}
+   */
+  public static ParameterBinder[] forMethod(Method endpointMethod) {
+    final Parameter[] parameters = endpointMethod.getParameters();
+    final ParameterBinder[] binders = new ParameterBinder[parameters.length];
+
+    int bodyStreams = 0;
+    boolean bodyParams = false;
+    for (int idx = 0; idx < parameters.length; idx++) {
+      binders[idx] = forParameter(endpointMethod, parameters[idx]);
+      bodyStreams += binders[idx] instanceof BodyStreamParameterBinder ? 1 : 0;
+      bodyParams |= binders[idx] instanceof BodyParameterBinder;
+    }
+
+    // a streamed body is never buffered, so there is nothing to read body parameters from
+    if (bodyStreams > 1 || (bodyStreams == 1 && bodyParams)) {
+      throw new CauldronServerException("Endpoint " + endpointMethod.getName() + " can only take a single body stream, and no body parameters");
+    }
+
+    return binders;
+  }
+
+  private static ParameterBinder forParameter(Method endpointMethod, Parameter parameter) {
+    final boolean multiValued = parameter.getType() == List.class;
+
+    if (parameter.isAnnotationPresent(BodyStream.class)) {
+      return new BodyStreamParameterBinder(endpointMethod, parameter.getType());
+    } else if (parameter.isAnnotationPresent(BodyParam.class)) {
+      BodyParam bodyParam = parameter.getAnnotation(BodyParam.class);
+      if (!ParameterConverters.isSupported(parameter.getType(), parameter.getParameterizedType())) {
+        // an object, read from a json body rather than a form field
+        return new JsonBodyParameterBinder(endpointMethod, bodyParam.name(), bodyParam.optional(), parameter.getParameterizedType(),
+            validatorFor(bodyParam.validator()));
+      }
+      return new BodyParameterBinder(endpointMethod, bodyParam.name(), bodyParam.optional(), multiValued, converterFor(parameter),
+          validatorFor(bodyParam.validator()));
+    } else if (parameter.isAnnotationPresent(QueryParam.class)) {
+      QueryParam queryParam = parameter.getAnnotation(QueryParam.class);
+      return new QueryParameterBinder(endpointMethod, queryParam.name(), queryParam.optional(), multiValued, converterFor(parameter),
+          validatorFor(queryParam.validator()));
+    } else if (parameter.isAnnotationPresent(PathParam.class)) {
+      PathParam pathParam = parameter.getAnnotation(PathParam.class);
+      if (multiValued) {
+        throw new CauldronServerException("Path parameter " + pathParam.name() + " of " + endpointMethod.getName() + " cannot be a List");
+      }
+      return new PathParameterBinder(endpointMethod, pathParam.name(), converterFor(parameter), validatorFor(pathParam.validator()));
+    } else if (CauldronHttpRequestContext.class.isAssignableFrom(parameter.getType())) {
+      // the request context itself, so endpoints don't need the thread bound lookup
+      return REQUEST_CONTEXT;
+    }
+
+    return UNBOUND;
+  }
+
+  private static ParameterConverter converterFor(Parameter parameter) {
+    return ParameterConverters.forType(parameter.getType(), parameter.getParameterizedType());
+  }
+
+  private static Class<? extends InputValidator> validatorFor(Class<? extends InputValidator> validatorClass) {
+    // the noop validator accepts everything, skip it entirely.
+    return validatorClass == NoopInputValidator.class ? null : validatorClass;
+  }
+}
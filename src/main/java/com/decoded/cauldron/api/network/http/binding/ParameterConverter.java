@@ -0,0 +1,8 @@
+package com.decoded.cauldron.api.network.http.binding;
+
+/**
+ * Converts raw request input (a String, or a List of Strings) into the type expected by an endpoint parameter.
+ */
+public interface ParameterConverter {
+  Object convert(Object input);
+}
@@ -0,0 +1,102 @@
+package com.decoded.cauldron.api.network.http.binding;
+
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves the {@link ParameterConverter} for an endpoint parameter type.
+ */
+public class ParameterConverters {
+  private static final ParameterConverter IDENTITY = input -> input;
+
+  private ParameterConverters() {
+
+  }
+
+  /**
+   * Returns the converter for a parameter type. Fails with a {@link CauldronServerException} if the type is not supported.
+   *
+   * @param paramType   the raw parameter type
+   * @param genericType the generic parameter type, required for List parameters
+   *
+   * @return a {@link ParameterConverter}
+   */
+  public static ParameterConverter forType(Class<?> paramType, Type genericType) {
+    if (paramType == String.class) {
+      return IDENTITY;
+    } else if (paramType == Boolean.class || paramType == boolean.class) {
+      return input -> Boolean.parseBoolean((String) input);
+    } else if (paramType == Short.class || paramType == short.class) {
+      return input -> Short.parseShort((String) input);
+    } else if (paramType == Long.class || paramType == long.class) {
+      return input -> Long.parseLong((String) input);
+    } else if (paramType == Double.class || paramType == double.class) {
+      return input -> Double.parseDouble((String) input);
+    } else if (paramType == Integer.class || paramType == int.class) {
+      return input -> Integer.parseInt((String) input);
+    } else if (paramType == Float.class || paramType == float.class) {
+      return input -> Float.parseFloat((String) input);
+    } else if (paramType == BigDecimal.class) {
+      return input -> BigDecimal.valueOf(Double.parseDouble((String) input));
+    } else if (paramType == BigInteger.class) {
+      return input -> BigInteger.valueOf(Long.parseLong((String) input));
+    } else if (paramType == List.class) {
+      return forList(genericType);
+    } else {
+      throw new CauldronServerException("Parameter input value type: " + paramType + " was not supported");
+    }
+  }
+
+  /**
+   * Returns true if parameters of the type can be converted from request strings, either a supported scalar type or a List of one.
+   *
+   * @param paramType   the raw parameter type
+   * @param genericType the generic parameter type
+   *
+   * @return true if {@link #forType(Class, Type)} supports the type
+   */
+  public static boolean isSupported(Class<?> paramType, Type genericType) {
+    if (paramType == List.class) {
+      if (!(genericType instanceof ParameterizedType)) {
+        // forType reports the missing element type
+        return true;
+      }
+      Type elementType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+      return elementType instanceof Class && isScalar((Class<?>) elementType);
+    }
+    return isScalar(paramType);
+  }
+
+  private static boolean isScalar(Class<?> paramType) {
+    return paramType == String.class || paramType == BigDecimal.class || paramType == BigInteger.class || paramType.isPrimitive()
+        || paramType == Boolean.class || paramType == Short.class || paramType == Long.class || paramType == Double.class
+        || paramType == Integer.class || paramType == Float.class;
+  }
+
+  private static ParameterConverter forList(Type genericType) {
+    if (!(genericType instanceof ParameterizedType)) {
+      throw new CauldronServerException("Expected the parameterized type to be present for List type inputs");
+    }
+
+    Type elementType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+    if (!(elementType instanceof Class)) {
+      throw new CauldronServerException("List element type: " + elementType + " was not supported");
+    }
+
+    final ParameterConverter elementConverter = forType((Class<?>) elementType, null);
+
+    return input -> {
+      List<?> inputValues = (List<?>) input;
+      List<Object> results = new ArrayList<>(inputValues.size());
+      for (Object inputValue : inputValues) {
+        results.add(elementConverter.convert(inputValue));
+      }
+      return results;
+    };
+  }
+}
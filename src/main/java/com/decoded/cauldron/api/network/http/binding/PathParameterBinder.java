@@ -0,0 +1,36 @@
+package com.decoded.cauldron.api.network.http.binding;
+
+import com.decoded.cauldron.api.network.http.validators.InputValidator;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+import java.lang.reflect.Method;
+
+/**
+ * Binds a {@link com.decoded.cauldron.api.annotation.PathParam} parameter from the variables captured when the request was routed.
+ */
+public class PathParameterBinder extends RequestParameterBinder {
+
+  /**
+   * Constructor.
+   *
+   * @param endpointMethod the endpoint method
+   * @param expectedName   the path variable name
+   * @param converter      the converter for the parameter type
+   * @param validatorClass the validator class, or null if the input is not validated
+   */
+  public PathParameterBinder(Method endpointMethod,
+                             String expectedName,
+                             ParameterConverter converter,
+                             Class<? extends InputValidator> validatorClass) {
+    super(endpointMethod, expectedName, false, false, converter, validatorClass);
+  }
+
+  @Override
+  protected Object lookup(CauldronHttpRequestContext context, String name, boolean multiValued) {
+    return context.getPathParameter(name);
+  }
+
+  @Override
+  protected String describe() {
+    return "Path Parameter";
+  }
+}
@@ -0,0 +1,126 @@
+package com.decoded.cauldron.api.network.http.binding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * A blocking {@link InputStream} over a {@link Publisher} of chunks. The next chunk is only requested once the current one has been read,
+ * so at most one chunk waits in memory, and closing the stream before the end cancels the subscription.
+ */
+/*package-private*/ class PublisherInputStream extends InputStream implements Subscriber<ByteBuffer> {
+  private static final Object COMPLETE = new Object();
+
+  private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+  private volatile Subscription subscription;
+  private ByteBuffer current;
+  private boolean done;
+
+  /**
+   * Constructor.
+   *
+   * @param publisher the {@link Publisher} of chunks, which is subscribed to right away
+   */
+  PublisherInputStream(Publisher<ByteBuffer> publisher) {
+    publisher.subscribe(this);
+  }
+
+  @Override
+  public void onSubscribe(Subscription subscription) {
+    this.subscription = subscription;
+    subscription.request(1);
+  }
+
+  @Override
+  public void onNext(ByteBuffer chunk) {
+    signals.add(chunk);
+  }
+
+  @Override
+  public void onError(Throwable error) {
+    signals.add(error);
+  }
+
+  @Override
+  public void onComplete() {
+    signals.add(COMPLETE);
+  }
+
+  @Override
+  public int read() throws IOException {
+    ByteBuffer buffer = nextBuffer();
+    return buffer != null ? buffer.get() & 0xFF : -1;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+
+    ByteBuffer buffer = nextBuffer();
+    if (buffer == null) {
+      return -1;
+    }
+
+    int count = Math.min(length, buffer.remaining());
+    buffer.get(bytes, offset, count);
+    return count;
+  }
+
+  @Override
+  public int available() {
+    return current != null ? current.remaining() : 0;
+  }
+
+  @Override
+  public void close() {
+    if (!done) {
+      done = true;
+      current = null;
+      Subscription activeSubscription = subscription;
+      if (activeSubscription != null) {
+        activeSubscription.cancel();
+      }
+    }
+  }
+
+  private ByteBuffer nextBuffer() throws IOException {
+    while (current == null || !current.hasRemaining()) {
+      if (done) {
+        return null;
+      }
+      if (current != null) {
+        // the chunk is used up, only now is the next one requested
+        current = null;
+        subscription.request(1);
+      }
+
+      Object signal = take();
+      if (signal == COMPLETE) {
+        done = true;
+        return null;
+      } else if (signal instanceof Throwable) {
+        done = true;
+        throw new IOException("The request body could not be read", (Throwable) signal);
+      }
+      current = (ByteBuffer) signal;
+    }
+    return current;
+  }
+
+  private Object take() throws InterruptedIOException {
+    try {
+      return signals.take();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the request body");
+    }
+  }
+}
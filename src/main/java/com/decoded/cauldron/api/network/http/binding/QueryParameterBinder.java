@@ -0,0 +1,40 @@
+package com.decoded.cauldron.api.network.http.binding;
+
+import com.decoded.cauldron.api.network.http.validators.InputValidator;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+import java.lang.reflect.Method;
+
+/**
+ * Binds a {@link com.decoded.cauldron.api.annotation.QueryParam} parameter. Query parameters can be pulled from any request type.
+ */
+public class QueryParameterBinder extends RequestParameterBinder {
+
+  /**
+   * Constructor.
+   *
+   * @param endpointMethod the endpoint method
+   * @param expectedName   the query parameter name
+   * @param optional       true if the parameter may be omitted
+   * @param multiValued    true if all values of the parameter are bound as a List
+   * @param converter      the converter for the parameter type
+   * @param validatorClass the validator class, or null if the input is not validated
+   */
+  public QueryParameterBinder(Method endpointMethod,
+                              String expectedName,
+                              boolean optional,
+                              boolean multiValued,
+                              ParameterConverter converter,
+                              Class<? extends InputValidator> validatorClass) {
+    super(endpointMethod, expectedName, optional, multiValued, converter, validatorClass);
+  }
+
+  @Override
+  protected Object lookup(CauldronHttpRequestContext context, String name, boolean multiValued) {
+    return multiValued ? context.getQueryParameters(name) : context.getQueryParameter(name);
+  }
+
+  @Override
+  protected String describe() {
+    return "Parameter";
+  }
+}
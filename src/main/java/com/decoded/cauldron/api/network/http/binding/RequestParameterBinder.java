@@ -0,0 +1,127 @@
+package com.decoded.cauldron.api.network.http.binding;
+
+import com.decoded.cauldron.api.network.http.validators.InputValidator;
+import com.decoded.cauldron.api.network.http.validators.InputValidatorRegistry;
+import com.decoded.cauldron.server.exception.CauldronHttpException;
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+import com.decoded.cauldron.server.http.Status;
+import java.lang.reflect.Method;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base binder for parameters supplied by name from the request (query or body parameters). The expected name, optionality, converter and
+ * validator are all resolved up front.
+ */
+public abstract class RequestParameterBinder implements ParameterBinder {
+  private static final Logger LOG = LoggerFactory.getLogger(RequestParameterBinder.class);
+
+  private final Method endpointMethod;
+  private final String expectedName;
+  private final boolean optional;
+  private final boolean multiValued;
+  private final ParameterConverter converter;
+  private final Class<? extends InputValidator> validatorClass;
+  private volatile InputValidator<Object> validator;
+
+  /**
+   * Constructor.
+   *
+   * @param endpointMethod the endpoint method (used for error reporting)
+   * @param expectedName   the name of the request parameter
+   * @param optional       true if the parameter may be omitted
+   * @param multiValued    true if all values of the parameter are bound as a List
+   * @param converter      the converter for the parameter type
+   * @param validatorClass the validator class, or null if the input is not validated
+   */
+  protected RequestParameterBinder(Method endpointMethod,
+                                   String expectedName,
+                                   boolean optional,
+                                   boolean multiValued,
+                                   ParameterConverter converter,
+                                   Class<? extends InputValidator> validatorClass) {
+    this.endpointMethod = endpointMethod;
+    this.expectedName = expectedName;
+    this.optional = optional;
+    this.multiValued = multiValued;
+    this.converter = converter;
+    this.validatorClass = validatorClass;
+  }
+
+  public String getExpectedName() {
+    return expectedName;
+  }
+
+  public boolean isOptional() {
+    return optional;
+  }
+
+  @Override
+  public void resolveValidators(InputValidatorRegistry registry) {
+    if (validatorClass != null) {
+      validator = registry.getValidator(validatorClass);
+    }
+  }
+
+  /**
+   * Looks up the raw value of the parameter in the request.
+   *
+   * @param context     the request context
+   * @param name        the parameter name
+   * @param multiValued true to return every value as a List, false for the first value
+   *
+   * @return the raw value, or null if it is absent
+   */
+  protected abstract Object lookup(CauldronHttpRequestContext context, String name, boolean multiValued);
+
+  /**
+   * Describes the parameter source in error messages.
+   *
+   * @return a String, e.g. "Parameter"
+   */
+  protected abstract String describe();
+
+  @Override
+  public Object bind(CauldronHttpRequestContext context) {
+    final Object rawValue = lookup(context, expectedName, multiValued);
+
+    if (rawValue == null) {
+      if (!optional) {
+        throw new CauldronHttpException(Status.BAD_REQUEST_400,
+            describe() + " " + expectedName + " was not provided, and is not Optional according to method definition " + endpointMethod.getName()
+                + " in " + endpointMethod.getDeclaringClass().getCanonicalName());
+      }
+
+      return null;
+    }
+
+    Object input = converter.convert(rawValue);
+    if (validatorClass != null) {
+      validate(input);
+    }
+
+    return input;
+  }
+
+  private void validate(Object input) {
+    InputValidator<Object> inputValidator = validator;
+    if (inputValidator == null) {
+      // the resource was not built by the injector, fall back to reflectively created validators
+      resolveValidators(InputValidatorRegistry.getDefault());
+      inputValidator = validator;
+    }
+
+    boolean valid;
+    try {
+      valid = inputValidator.validate(input);
+    } catch (ClassCastException ex) {
+      LOG.error("The validator type is not correct for your parameter type: ", ex);
+      throw new CauldronServerException("Invalid validator for input type: ", ex);
+    }
+
+    if (!valid) {
+      throw new CauldronServerException("Invalid input " + input + " supplied");
+    }
+  }
+}
@@ -1,5 +1,12 @@
 package com.decoded.cauldron.api.network.http.validators;
 
+/**
+ * Validates endpoint parameter input. Validators are created once by the {@link InputValidatorRegistry} and shared across requests (and
+ * threads), so implementations must be stateless or thread-safe. Validators which keep state between calls must be annotated with {@link
+ * StatefulValidator} to get a fresh instance for each validation.
+ *
+ * @param <T> the parameter type
+ */
 public interface InputValidator<T> {
   boolean validate(T value);
 }
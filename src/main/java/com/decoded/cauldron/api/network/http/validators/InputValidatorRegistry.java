@@ -0,0 +1,93 @@
+package com.decoded.cauldron.api.network.http.validators;
+
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates {@link InputValidator} instances once and reuses them across requests. When the registry is created by the server injector,
+ * validators are obtained from the injector so they may have dependencies of their own; otherwise they must have a public default
+ * constructor.
+ */
+@Singleton
+public class InputValidatorRegistry {
+  private static final Logger LOG = LoggerFactory.getLogger(InputValidatorRegistry.class);
+  private static final InputValidatorRegistry DEFAULT = new InputValidatorRegistry();
+
+  private final ConcurrentMap<Class<? extends InputValidator>, InputValidator<Object>> validators = new ConcurrentHashMap<>();
+  private final Injector injector;
+
+  /**
+   * Constructor for a registry which creates validators reflectively.
+   */
+  public InputValidatorRegistry() {
+    this(null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param injector the injector used to create validators, or null to create them reflectively.
+   */
+  @Inject
+  public InputValidatorRegistry(Injector injector) {
+    this.injector = injector;
+  }
+
+  /**
+   * The registry used for resources which were not created by an injector.
+   *
+   * @return the default {@link InputValidatorRegistry}
+   */
+  public static InputValidatorRegistry getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Returns the shared validator for the class, creating it on first use. Fails with a {@link CauldronServerException} if the validator cannot
+   * be created.
+   *
+   * @param validatorClass the validator class
+   *
+   * @return an {@link InputValidator}
+   */
+  public InputValidator<Object> getValidator(Class<? extends InputValidator> validatorClass) {
+    return validators.computeIfAbsent(validatorClass, this::createSharedValidator);
+  }
+
+  @SuppressWarnings("unchecked")
+  private InputValidator<Object> createSharedValidator(Class<? extends InputValidator> validatorClass) {
+    if (validatorClass.isAnnotationPresent(StatefulValidator.class)) {
+      LOG.info("Validator " + validatorClass.getName() + " is stateful, it will be created for every validation");
+      if (injector != null) {
+        final Provider<? extends InputValidator> provider = injector.getProvider(validatorClass);
+        return value -> provider.get().validate(value);
+      }
+
+      return value -> createValidator(validatorClass).validate(value);
+    }
+
+    return createValidator(validatorClass);
+  }
+
+  @SuppressWarnings("unchecked")
+  private InputValidator<Object> createValidator(Class<? extends InputValidator> validatorClass) {
+    if (injector != null) {
+      return injector.getInstance(validatorClass);
+    }
+
+    try {
+      // try to create a vanilla instance of the class (It must have a public default constructor).
+      return validatorClass.newInstance();
+    } catch (InstantiationException | IllegalAccessException ex) {
+      LOG.error("Could not create validator " + validatorClass.getName());
+      throw new CauldronServerException("Could not create validator " + validatorClass.getName(), ex);
+    }
+  }
+}
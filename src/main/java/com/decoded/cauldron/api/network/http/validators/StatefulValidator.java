@@ -0,0 +1,15 @@
+package com.decoded.cauldron.api.network.http.validators;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@link InputValidator} which is not safe to share across requests. The {@link InputValidatorRegistry} will create a new instance
+ * of the validator for every validation instead of reusing one.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface StatefulValidator {
+}
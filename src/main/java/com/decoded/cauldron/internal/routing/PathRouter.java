@@ -0,0 +1,250 @@
+package com.decoded.cauldron.internal.routing;
+
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.decoded.cauldron.server.http.PathParameters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled radix-trie router which maps request paths to values (resources). Routes are templates such as <code>/candy</code> or
+ * <code>/candy/{id}/wrappers</code>, where a <code>{name}</code> segment matches any single, non-empty path segment.
+ *
+ * <p>Static text is matched before path variables, so <code>/candy/all</code> wins over <code>/candy/{id}</code>. Lookups walk the path once
+ * (backtracking only across variable segments) and do not allocate; path variables are recorded as offsets into the URI.
+ *
+ * <p>A router is immutable once built and safe to share across threads.
+ *
+ * @param <T> the routed value type
+ */
+public class PathRouter<T> {
+  private static final char SEPARATOR = '/';
+  private static final char VARIABLE_START = '{';
+  private static final char VARIABLE_END = '}';
+
+  private final Node<T> root;
+  private final int routeCount;
+
+  private PathRouter(Node<T> root, int routeCount) {
+    this.root = root;
+    this.routeCount = routeCount;
+  }
+
+  /**
+   * Compiles a router from a map of route templates to values.
+   *
+   * @param routes the routes
+   * @param <T>    the routed value type
+   *
+   * @return a {@link PathRouter}
+   */
+  public static <T> PathRouter<T> compile(Map<String, ? extends T> routes) {
+    Node<T> root = new Node<>("");
+    routes.forEach((template, value) -> insert(root, template, value));
+    return new PathRouter<>(root, routes.size());
+  }
+
+  public int getRouteCount() {
+    return routeCount;
+  }
+
+  /**
+   * Routes the path component of a request URI (everything before the query string).
+   *
+   * @param uri            the request URI
+   * @param pathParameters receives the path variables of the matched route
+   *
+   * @return the routed value, or null if no route matches
+   */
+  public T route(String uri, PathParameters pathParameters) {
+    int end = uri.indexOf('?');
+    if (end < 0) {
+      end = uri.length();
+    }
+    int fragment = uri.indexOf('#');
+    if (fragment > -1 && fragment < end) {
+      end = fragment;
+    }
+
+    // "/candy/" routes like "/candy"
+    if (end > 1 && uri.charAt(end - 1) == SEPARATOR) {
+      end--;
+    }
+
+    pathParameters.reset(uri);
+    Node<T> match = match(root, uri, 0, end, 0, pathParameters);
+    if (match == null) {
+      return null;
+    }
+
+    pathParameters.complete(match.variableNames);
+    return match.value;
+  }
+
+  private static <T> Node<T> match(Node<T> node, String path, int idx, int end, int variable, PathParameters pathParameters) {
+    if (idx == end) {
+      return node.value != null ? node : null;
+    }
+
+    Node<T> child = node.staticChild(path.charAt(idx));
+    if (child != null) {
+      int labelLength = child.label.length();
+      if (idx + labelLength <= end && path.regionMatches(idx, child.label, 0, labelLength)) {
+        Node<T> match = match(child, path, idx + labelLength, end, variable, pathParameters);
+        if (match != null) {
+          return match;
+        }
+      }
+    }
+
+    if (node.variableChild != null) {
+      int segmentEnd = idx;
+      while (segmentEnd < end && path.charAt(segmentEnd) != SEPARATOR) {
+        segmentEnd++;
+      }
+
+      if (segmentEnd > idx) {
+        pathParameters.capture(variable, idx, segmentEnd);
+        return match(node.variableChild, path, segmentEnd, end, variable + 1, pathParameters);
+      }
+    }
+
+    return null;
+  }
+
+  private static <T> void insert(Node<T> root, String template, T value) {
+    String route = normalize(template);
+    List<String> variableNames = new ArrayList<>();
+    Node<T> node = root;
+    int idx = 0;
+
+    while (idx < route.length()) {
+      int variableStart = route.indexOf(VARIABLE_START, idx);
+      int staticEnd = variableStart < 0 ? route.length() : variableStart;
+
+      if (staticEnd > idx) {
+        node = insertStatic(node, route.substring(idx, staticEnd));
+      }
+
+      if (variableStart < 0) {
+        break;
+      }
+
+      int variableEnd = route.indexOf(VARIABLE_END, variableStart);
+      if (variableEnd < 0 || variableEnd == variableStart + 1 || (variableStart > 0 && route.charAt(variableStart - 1) != SEPARATOR)
+          || (variableEnd + 1 < route.length() && route.charAt(variableEnd + 1) != SEPARATOR)) {
+        throw new CauldronServerException("Invalid route template: " + template + ", path variables must be whole segments like /{name}");
+      }
+
+      variableNames.add(route.substring(variableStart + 1, variableEnd));
+      if (node.variableChild == null) {
+        node.variableChild = new Node<>("");
+      }
+      node = node.variableChild;
+      idx = variableEnd + 1;
+    }
+
+    if (node.value != null) {
+      throw new CauldronServerException("Duplicate route: " + template + " conflicts with " + node.template);
+    }
+
+    node.value = value;
+    node.template = template;
+    node.variableNames = variableNames.toArray(new String[0]);
+  }
+
+  private static <T> Node<T> insertStatic(Node<T> parent, String text) {
+    Node<T> node = parent;
+    String remaining = text;
+
+    while (!remaining.isEmpty()) {
+      Node<T> child = node.staticChild(remaining.charAt(0));
+      if (child == null) {
+        child = new Node<>(remaining);
+        node.addStaticChild(child);
+        return child;
+      }
+
+      int common = commonPrefixLength(child.label, remaining);
+      if (common < child.label.length()) {
+        child = node.splitStaticChild(child, common);
+      }
+
+      node = child;
+      remaining = remaining.substring(common);
+    }
+
+    return node;
+  }
+
+  private static int commonPrefixLength(String a, String b) {
+    int max = Math.min(a.length(), b.length());
+    int idx = 0;
+    while (idx < max && a.charAt(idx) == b.charAt(idx)) {
+      idx++;
+    }
+    return idx;
+  }
+
+  private static String normalize(String template) {
+    String route = template.startsWith("/") ? template : "/" + template;
+    return route.length() > 1 && route.endsWith("/") ? route.substring(0, route.length() - 1) : route;
+  }
+
+  /**
+   * A trie node. Static children are keyed by the first character of their label.
+   */
+  private static final class Node<T> {
+    private String label;
+    private char[] firstChars = new char[0];
+    private Node<T>[] staticChildren = newArray(0);
+    private Node<T> variableChild;
+
+    private T value;
+    private String template;
+    private String[] variableNames;
+
+    private Node(String label) {
+      this.label = label;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] newArray(int size) {
+      return (Node<T>[]) new Node[size];
+    }
+
+    private Node<T> staticChild(char firstChar) {
+      for (int idx = 0; idx < firstChars.length; idx++) {
+        if (firstChars[idx] == firstChar) {
+          return staticChildren[idx];
+        }
+      }
+      return null;
+    }
+
+    private void addStaticChild(Node<T> child) {
+      firstChars = Arrays.copyOf(firstChars, firstChars.length + 1);
+      staticChildren = Arrays.copyOf(staticChildren, staticChildren.length + 1);
+      firstChars[firstChars.length - 1] = child.label.charAt(0);
+      staticChildren[staticChildren.length - 1] = child;
+    }
+
+    /**
+     * Splits a static child so that its label becomes the first <code>length</code> characters, with the remainder moved to a new child.
+     */
+    private Node<T> splitStaticChild(Node<T> child, int length) {
+      Node<T> prefix = new Node<>(child.label.substring(0, length));
+      child.label = child.label.substring(length);
+      prefix.addStaticChild(child);
+
+      for (int idx = 0; idx < staticChildren.length; idx++) {
+        if (staticChildren[idx] == child) {
+          staticChildren[idx] = prefix;
+        }
+      }
+
+      return prefix;
+    }
+  }
+}
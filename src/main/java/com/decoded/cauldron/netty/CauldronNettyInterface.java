@@ -5,6 +5,7 @@ import com.decoded.cauldron.server.http.InvocationContext;
 import com.decoded.cauldron.server.http.Status;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import java.net.SocketAddress;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -89,6 +90,15 @@ public class CauldronNettyInterface {
     return cauldronStatusToNettyStatusMap.get(cauldronStatus);
   }
 
+  /**
+   * Returns every {@link HttpResponseStatus} a {@link Status} maps to.
+   *
+   * @return an unmodifiable {@link Collection} of {@link HttpResponseStatus}
+   */
+  public static Collection<HttpResponseStatus> getResponseStatuses() {
+    return cauldronStatusToNettyStatusMap.values();
+  }
+
   /**
    * Returns a local socket address.
    *
@@ -0,0 +1,59 @@
+package com.decoded.cauldron.netty;
+
+import com.decoded.cauldron.api.config.HttpServerConfiguration;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Factories for the executors which run endpoints off the Netty event loops.
+ */
+public class EndpointExecutors {
+  private static final Logger LOG = LoggerFactory.getLogger(EndpointExecutors.class);
+
+  private EndpointExecutors() {
+
+  }
+
+  /**
+   * Creates the bounded executor for endpoints dispatched to the endpoint executor. Threads are only started when endpoints use them, and time
+   * out when idle.
+   *
+   * @param httpServerConfiguration the {@link HttpServerConfiguration} which sizes the executor
+   *
+   * @return an {@link ExecutorService}
+   */
+  public static ExecutorService newBoundedExecutor(HttpServerConfiguration httpServerConfiguration) {
+    int threads = httpServerConfiguration.getEndpointExecutorThreads();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(httpServerConfiguration.getEndpointExecutorQueueSize()), new DefaultThreadFactory("cauldron-endpoint"));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Creates an executor which starts a new virtual thread per task. Virtual threads need Java 21 or later, the executor is looked up
+   * reflectively so the server still runs on older versions.
+   *
+   * @return an {@link ExecutorService}, or null if the running JVM has no virtual threads
+   */
+  public static ExecutorService newVirtualThreadExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (NoSuchMethodException ex) {
+      LOG.warn("Virtual threads are not available on Java " + System.getProperty("java.version"));
+    } catch (IllegalAccessException | InvocationTargetException ex) {
+      LOG.warn("Virtual threads could not be enabled", ex);
+    }
+
+    return null;
+  }
+}
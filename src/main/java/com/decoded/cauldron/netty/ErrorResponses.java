@@ -0,0 +1,53 @@
+package com.decoded.cauldron.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bodiless error responses, built once per status. Every request gets a retained duplicate, which shares the (empty) content of the canned
+ * response and has its own copy of the headers.
+ */
+public class ErrorResponses {
+  private static final Map<HttpResponseStatus, FullHttpResponse> cannedResponses;
+
+  static {
+    Map<HttpResponseStatus, FullHttpResponse> responses = new HashMap<>();
+    for (HttpResponseStatus status : CauldronNettyInterface.getResponseStatuses()) {
+      if (status.code() >= 400) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.EMPTY_BUFFER);
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, HttpHeaderValues.ZERO);
+        responses.put(status, response);
+      }
+    }
+    cannedResponses = Collections.unmodifiableMap(responses);
+  }
+
+  private ErrorResponses() {
+
+  }
+
+  /**
+   * Returns a new error response.
+   *
+   * @param status the response status
+   *
+   * @return a {@link FullHttpResponse}
+   */
+  public static FullHttpResponse of(HttpResponseStatus status) {
+    FullHttpResponse cannedResponse = cannedResponses.get(status);
+    if (cannedResponse == null) {
+      FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status);
+      response.headers().set(HttpHeaderNames.CONTENT_LENGTH, HttpHeaderValues.ZERO);
+      return response;
+    }
+    return cannedResponse.retainedDuplicate();
+  }
+}
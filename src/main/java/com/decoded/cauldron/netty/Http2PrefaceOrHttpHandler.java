@@ -1,5 +1,6 @@
 package com.decoded.cauldron.netty;
 
+import com.decoded.cauldron.api.config.HttpServerConfiguration;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -14,11 +15,11 @@ import java.util.List;
 
 /*package-private*/ class Http2PrefaceOrHttpHandler extends ByteToMessageDecoder {
   private static final int PRI = 0x50524920;
-  private final int maxContentLength;
+  private final HttpServerConfiguration configuration;
   private String name;
 
-  public Http2PrefaceOrHttpHandler(int maxContentLength) {
-    this.maxContentLength = maxContentLength;
+  public Http2PrefaceOrHttpHandler(HttpServerConfiguration configuration) {
+    this.configuration = configuration;
   }
 
   @Override
@@ -44,14 +45,14 @@ import java.util.List;
 
   private void h2cOrHttp1(final ChannelHandlerContext ctx) {
     ChannelPipeline p = ctx.pipeline();
-    HttpServerCodec http1codec = new HttpServerCodec();
+    HttpServerCodec http1codec = NettyHelpers.getNewHttpServerCodec(configuration);
 
     ChannelHandler channelHandler = new HttpServerUpgradeHandler(http1codec, protocol -> {
       if (!AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)) {
         return null;
       }
-      return new Http2ServerUpgradeCodec(NettyHelpers.getNewHttp2ConnectionHandler(maxContentLength));
-    }, maxContentLength);
+      return new Http2ServerUpgradeCodec(NettyHelpers.getNewHttp2ConnectionHandler(configuration.getHttp2MaxContentLength()));
+    }, configuration.getHttp1MaxContentLength());
 
     String baseName = name;
     baseName = addAfter(p, baseName, NettyHelpers.H1_CODEC, http1codec);
@@ -60,7 +61,8 @@ import java.util.List;
 
   private void h2c(final ChannelHandlerContext ctx) {
     final ChannelPipeline p = ctx.pipeline();
-    addAfter(p, name, NettyHelpers.H2_HANDLER, NettyHelpers.getNewHttp2ConnectionHandler(maxContentLength));
+    addAfter(p, name, NettyHelpers.H2_HANDLER,
+        NettyHelpers.getNewHttp2ConnectionHandler(configuration.getHttp2MaxContentLength()));
   }
 
 
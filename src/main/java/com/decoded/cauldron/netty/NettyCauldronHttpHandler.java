@@ -1,66 +1,112 @@
 package com.decoded.cauldron.netty;
 
-import com.decoded.cauldron.api.CauldronApi;
-import com.decoded.cauldron.api.network.JacksonCodec;
-import com.decoded.cauldron.api.network.codec.ServerCodec;
-import com.decoded.cauldron.api.network.http.CauldronHeaderNames;
+import com.decoded.cauldron.api.config.HttpServerConfiguration;
+import com.decoded.cauldron.api.network.codec.CodecRegistry;
+import com.decoded.cauldron.api.network.codec.StreamingServerCodec;
+import com.decoded.cauldron.api.network.http.DispatchMode;
+import com.decoded.cauldron.api.network.http.EndpointEntry;
 import com.decoded.cauldron.api.network.http.EndpointResult;
 import com.decoded.cauldron.api.network.http.HeaderNames;
 import com.decoded.cauldron.api.network.http.HttpMethod;
-import com.decoded.cauldron.api.network.http.HttpResource;
 import com.decoded.cauldron.api.network.http.MimeType;
+import com.decoded.cauldron.api.network.http.ResponseDigest;
 import com.decoded.cauldron.api.network.security.crypto.CryptographyService;
+import com.decoded.cauldron.internal.routing.PathRouter;
 import com.decoded.cauldron.internal.routing.RequestRouter;
+import com.decoded.cauldron.netty.cache.NettyResponseCache;
 import com.decoded.cauldron.netty.context.NettyHttpRequestContext;
+import com.decoded.cauldron.netty.context.NettyRequestBody;
 import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
 import com.decoded.cauldron.server.exception.CauldronHttpException;
 import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.decoded.cauldron.server.http.ConditionalRequests;
 import com.decoded.cauldron.server.http.InvocationContext;
 import com.decoded.cauldron.server.http.Status;
-import com.google.common.collect.ImmutableMap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
-import java.util.Calendar;
-import java.util.Collections;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
 import java.util.Map;
-import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ExecutionException;
-import org.apache.commons.codec.Charsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
 
 /**
  * The Resource Handler for a Netty based Implementation.
+ *
+ * <p>A connection is answered one request at a time. Responses must be written in the order of their requests, so a pipelined request waits,
+ * with reads from the channel paused, until the response before it is written, however the endpoint completes it.
  */
 public class NettyCauldronHttpHandler extends ChannelInboundHandlerAdapter {
 
   private static final Logger LOG = LoggerFactory.getLogger(NettyCauldronHttpHandler.class);
+  private static final CharSequence[] NOT_MODIFIED_HEADERS = {HttpHeaderNames.ETAG, HttpHeaderNames.LAST_MODIFIED, HttpHeaderNames.VARY,
+      HttpHeaderNames.CACHE_CONTROL, HttpHeaderNames.EXPIRES, HttpHeaderNames.ALLOW};
 
-  private static Map<MimeType, ServerCodec<String>> codecMap = ImmutableMap.of(MimeType.APPLICATION_JSON, new JacksonCodec(),
-      MimeType.TEXT_PLAIN, source -> source.toString());
-  private Map<String, ? super HttpResource> router;
+  private PathRouter<? extends NettyHttpNetworkResource> router;
   private CryptographyService cryptographyService;
+  private ResponseDigest responseDigest;
+  private DispatchMode dispatchMode;
+  private Map<DispatchMode, Executor> endpointExecutors;
+  private CodecRegistry codecRegistry;
+  private ResponseHeaders responseHeaders;
+  private NettyRequestBody requestBody;
+  // the result of the request being answered, there is at most one since requests are answered one at a time
+  private NettySequenceResponse sequenceResponse;
+  private MonoResultSubscriber monoResult;
+  // the requests, and their chunks, which arrived while a response is still being written
+  private final Queue<Object> pendingMessages = new ArrayDeque<>();
+  private boolean responding;
+  private boolean handlingPending;
+  private boolean readsPaused;
 
   /**
    * Constructor.
    *
-   * @param router                     the map of resources.
+   * @param cryptographyService        the cryptography service.
+   * @param router                     the router of resources.
+   * @param httpServerConfiguration    the server configuration.
+   * @param endpointExecutors          the executors for endpoints which are not run on the event loop, by {@link DispatchMode}.
+   * @param codecRegistry              the codecs which encode responses.
    */
-  public NettyCauldronHttpHandler(CryptographyService cryptographyService, Map<String, ? super NettyHttpNetworkResource> router) {
+  public NettyCauldronHttpHandler(CryptographyService cryptographyService,
+                                  PathRouter<? extends NettyHttpNetworkResource> router,
+                                  HttpServerConfiguration httpServerConfiguration,
+                                  Map<DispatchMode, Executor> endpointExecutors,
+                                  CodecRegistry codecRegistry) {
     this.cryptographyService = cryptographyService;
-    this.router = Collections.unmodifiableMap(router);
+    this.router = router;
+    this.responseDigest = httpServerConfiguration.getResponseDigest();
+    this.dispatchMode = httpServerConfiguration.getDispatchMode();
+    this.endpointExecutors = endpointExecutors;
+    this.codecRegistry = codecRegistry;
   }
 
   @Override
@@ -69,8 +115,7 @@ public class NettyCauldronHttpHandler extends ChannelInboundHandlerAdapter {
   }
 
   private NettyHttpRequestContext getNewHttpRequestContext(HttpRequest httpRequest, ChannelHandlerContext ctx) {
-    NettyHttpRequestContext context = InvocationContext.setRequestContext(
-        new NettyHttpRequestContext(ctx).setCryptographyService(cryptographyService).setRequest(httpRequest));
+    NettyHttpRequestContext context = new NettyHttpRequestContext(ctx).setCryptographyService(cryptographyService).setRequest(httpRequest);
     handle100ContinueExpectation(httpRequest, ctx);
     return context;
   }
@@ -84,41 +129,561 @@ public class NettyCauldronHttpHandler extends ChannelInboundHandlerAdapter {
 
   @Override
   public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+    if (!pendingMessages.isEmpty() || (responding && msg instanceof HttpRequest)) {
+      pendingMessages.add(msg);
+      pauseReads(ctx);
+      return;
+    }
+    handleMessage(ctx, msg);
+  }
+
+  private void handleMessage(ChannelHandlerContext ctx, Object msg) {
     if (msg instanceof HttpRequest) {
       HttpRequest httpRequest = (HttpRequest) msg;
+      responding = true;
 
       final NettyHttpRequestContext requestContext = getNewHttpRequestContext(httpRequest, ctx);
+      if (!(httpRequest instanceof FullHttpRequest)) {
+        // the aggregator let the request of a body stream endpoint through, the body follows in chunks
+        requestBody = new NettyRequestBody(ctx, true);
+        requestContext.setRequestBodyStream(requestBody);
+      }
+      try (InvocationContext.Scope scope = InvocationContext.bind(requestContext)) {
+        handleRequest(ctx, httpRequest, requestContext);
+      }
+    } else if (msg instanceof HttpContent) {
+      try {
+        if (requestBody != null) {
+          requestBody.onContent((HttpContent) msg);
+        }
+      } finally {
+        ReferenceCountUtil.release(msg);
+      }
 
-      FullHttpResponse response;
-      HttpResource resource = (HttpResource) router.get(requestContext.getRequestPath());
+      if (msg instanceof LastHttpContent) {
+        requestBody = null;
+      }
+    }
+  }
+
+  @Override
+  public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+    if (requestBody != null) {
+      requestBody.onError(new ClosedChannelException());
+      requestBody = null;
+    }
+    if (sequenceResponse != null) {
+      sequenceResponse.abort(new ClosedChannelException());
+    }
+    if (monoResult != null) {
+      monoResult.cancelRequest();
+    }
+    Object msg;
+    while ((msg = pendingMessages.poll()) != null) {
+      ReferenceCountUtil.release(msg);
+    }
+    super.channelInactive(ctx);
+  }
+
+  @Override
+  public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+    if (sequenceResponse != null) {
+      sequenceResponse.resume();
+    }
+    super.channelWritabilityChanged(ctx);
+  }
+
+  private void handleRequest(ChannelHandlerContext ctx, HttpRequest httpRequest, NettyHttpRequestContext requestContext) {
+    RoutedRequest routedRequest = getRoutedRequest(ctx, httpRequest, requestContext);
+    NettyHttpNetworkResource resource = routedRequest.getResource();
+
+    if (resource == null) {
+      completeRequest(ctx, httpRequest, requestContext, ErrorResponses.of(HttpResponseStatus.NOT_FOUND), false);
+    } else if (HttpMethod.OPTIONS.equals(requestContext.getRequestMethod())) {
+      // answered from the resource metadata, endpoints never see preflight requests
+      FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+      response.headers().set(HttpHeaderNames.ALLOW, resource.getAllowHeader());
+      completeRequest(ctx, httpRequest, requestContext, response, false);
+    } else if (routedRequest.isUnknownEndpointMethod()) {
+      LOG.warn("Unknown endpoint method " + requestContext.getRequestHeader(NettyHeaderNames.CAULDRON_HTTP_METHOD) + " for "
+          + httpRequest.uri());
+      completeRequest(ctx, httpRequest, requestContext, ErrorResponses.of(HttpResponseStatus.BAD_REQUEST), false);
+    } else {
+      EndpointEntry entry = routedRequest.getEntry();
+      if (entry != null && entry.isBodyStream() && httpRequest instanceof FullHttpRequest) {
+        // http2 streams and upgraded requests arrive aggregated, publish the body in one chunk
+        NettyRequestBody aggregatedBody = new NettyRequestBody(ctx, false);
+        aggregatedBody.onContent((FullHttpRequest) httpRequest);
+        requestContext.setRequestBodyStream(aggregatedBody);
+      }
+
+      FullHttpResponse cachedResponse = getCachedResponse(requestContext, entry);
+      if (cachedResponse != null) {
+        completeRequest(ctx, httpRequest, requestContext, cachedResponse, false);
+        return;
+      }
 
-      if (resource == null) {
-        response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_IMPLEMENTED);
+      Executor endpointExecutor = entry != null ? endpointExecutors.get(resolveDispatchMode(entry)) : null;
+      if (endpointExecutor != null) {
+        dispatchToExecutor(endpointExecutor, ctx, httpRequest, requestContext, resource, entry);
       } else {
+        invokeEndpoint(ctx, httpRequest, requestContext, resource, entry);
+      }
+    }
+  }
+
+  /**
+   * Takes the route the aggregator resolved for the request, if it routed this request, or routes it.
+   */
+  private RoutedRequest getRoutedRequest(ChannelHandlerContext ctx, HttpRequest httpRequest, NettyHttpRequestContext requestContext) {
+    RoutedRequest routedRequest = ctx.channel().attr(RoutedRequest.ATTRIBUTE).getAndSet(null);
+    if (routedRequest != null && routedRequest.isFor(httpRequest)) {
+      requestContext.setPathParameters(routedRequest.getPathParameters());
+      return routedRequest;
+    }
+    return RoutedRequest.route(router, httpRequest, requestContext);
+  }
+
+  private DispatchMode resolveDispatchMode(EndpointEntry entry) {
+    DispatchMode mode = entry.getDispatchMode() == DispatchMode.DEFAULT ? dispatchMode : entry.getDispatchMode();
+    // an InputStream body blocks its reader until the event loop delivers the next chunk
+    return mode == DispatchMode.EVENT_LOOP && entry.isBlockingBodyStream() ? DispatchMode.EXECUTOR : mode;
+  }
 
-        try {
-          // blocks on resource computations and downstream operations
-          EndpointResult endpointResult = RequestRouter.routeRequestToResource(resource);
-
-          checkThrowCustomStatus();
-
-          // builds a response given the result
-          response = buildResponseWithVendorResults(endpointResult.getResult(), endpointResult.getPreferredMimeType());
-          requestContext.setResponse(response);
-          requestContext.addResponseHeader(HeaderNames.ALLOW, String.join(", ", CauldronApi.loadAllowedMethodsForResource(resource)));
-          requestContext.addResponseHeader(HeaderNames.DATE, Calendar.getInstance().getTime().toString());
-          requestContext.addResponseHeader(HeaderNames.SERVER, "Cauldron Http Server - V 1.0");
-          requestContext.addResponseHeader(HeaderNames.HOST, CauldronNettyInterface.getLocalAddress().toString());
-        } catch (Exception ex) {
-          ex.printStackTrace();
-          // builds an error response if an exception is thrown
-          response = handleExecutionException(ex);
-          requestContext.setResponse(response);
+  /**
+   * Runs the endpoint on an endpoint executor, then hops back to the channel's event loop to write the response, since the channel pipeline
+   * is confined to it.
+   */
+  private void dispatchToExecutor(Executor endpointExecutor,
+                                  ChannelHandlerContext ctx,
+                                  HttpRequest httpRequest,
+                                  NettyHttpRequestContext requestContext,
+                                  NettyHttpNetworkResource resource,
+                                  EndpointEntry entry) {
+    try {
+      endpointExecutor.execute(() -> {
+        try (InvocationContext.Scope scope = InvocationContext.bind(requestContext)) {
+          invokeEndpoint(ctx, httpRequest, requestContext, resource, entry);
+        } catch (Throwable ex) {
+          FullHttpResponse response = handleExecutionException(ex);
+          ctx.executor().execute(() -> completeRequest(ctx, httpRequest, requestContext, response, true));
         }
+      });
+    } catch (RejectedExecutionException ex) {
+      LOG.warn("Endpoint executor is saturated, rejecting request for " + httpRequest.uri());
+      completeRequest(ctx, httpRequest, requestContext, ErrorResponses.of(HttpResponseStatus.SERVICE_UNAVAILABLE), false);
+    }
+  }
+
+  /**
+   * Binds and invokes the endpoint, then completes the request on the channel's event loop. Results which are a {@link CompletionStage} are
+   * not waited on, the response is encoded and written from the event loop once the stage completes, and a {@link Mono} is subscribed to
+   * from the event loop. Sequence results, including a {@link reactor.core.publisher.Flux}, are written from the event loop one element at
+   * a time.
+   */
+  private void invokeEndpoint(ChannelHandlerContext ctx,
+                              HttpRequest httpRequest,
+                              NettyHttpRequestContext requestContext,
+                              NettyHttpNetworkResource resource,
+                              EndpointEntry entry) {
+    FullHttpResponse response;
+    try {
+      checkAdditionalLatency(requestContext);
+
+      EndpointResult endpointResult = RequestRouter.routeRequestToEndpoint(resource, entry, requestContext);
+
+      checkThrowCustomStatus(requestContext);
+
+      if (endpointResult.getResult() instanceof CompletionStage) {
+        completeWhenDone(ctx, httpRequest, requestContext, resource, entry, (CompletionStage<?>) endpointResult.getResult(), endpointResult);
+        return;
       }
 
-      processConnection(httpRequest, response, ctx);
-      InvocationContext.clearRequestContext();
+      if (endpointResult.getResult() instanceof Mono) {
+        completeWhenEmitted(ctx, httpRequest, requestContext, resource, entry, (Mono<?>) endpointResult.getResult(), endpointResult);
+        return;
+      }
+
+      if (EndpointEntry.isSequence(endpointResult.getResult())) {
+        if (ctx.executor().inEventLoop()) {
+          completeWithSequence(ctx, httpRequest, requestContext, resource, entry, endpointResult.getResult(), endpointResult);
+        } else {
+          ctx.executor().execute(() -> {
+            try (InvocationContext.Scope scope = InvocationContext.bind(requestContext)) {
+              completeWithSequence(ctx, httpRequest, requestContext, resource, entry, endpointResult.getResult(), endpointResult);
+            }
+          });
+        }
+        return;
+      }
+
+      response = buildEndpointResponse(requestContext, resource, entry, endpointResult.getResult(), endpointResult);
+    } catch (Throwable ex) {
+      // an Error too, left to exceptionCaught it would close the channel without releasing the request or answering those queued behind it
+      response = buildErrorResponse(requestContext, ex);
+    }
+
+    if (ctx.executor().inEventLoop()) {
+      // still inside channelRead, channelReadComplete flushes
+      completeRequest(ctx, httpRequest, requestContext, response, false);
+    } else {
+      final FullHttpResponse completedResponse = response;
+      ctx.executor().execute(() -> completeRequest(ctx, httpRequest, requestContext, completedResponse, true));
+    }
+  }
+
+  /**
+   * Completes the request once an asynchronous endpoint result is ready. The request context travels with the callback, and is bound to the
+   * event loop while the response is built.
+   */
+  private void completeWhenDone(ChannelHandlerContext ctx,
+                                HttpRequest httpRequest,
+                                NettyHttpRequestContext requestContext,
+                                NettyHttpNetworkResource resource,
+                                EndpointEntry entry,
+                                CompletionStage<?> stage,
+                                EndpointResult endpointResult) {
+    stage.whenComplete((result, error) -> {
+      Runnable complete = () -> completeWithResult(ctx, httpRequest, requestContext, resource, entry, result,
+          error instanceof CompletionException && error.getCause() != null ? error.getCause() : error, endpointResult);
+
+      if (ctx.executor().inEventLoop()) {
+        complete.run();
+      } else {
+        ctx.executor().execute(complete);
+      }
+    });
+  }
+
+  /**
+   * Subscribes to a {@link Mono} result from the channel's event loop, and completes the request with the value it emits, or like a null
+   * result if it is empty. The subscription is cancelled if the channel closes before then.
+   */
+  private void completeWhenEmitted(ChannelHandlerContext ctx,
+                                   HttpRequest httpRequest,
+                                   NettyHttpRequestContext requestContext,
+                                   NettyHttpNetworkResource resource,
+                                   EndpointEntry entry,
+                                   Mono<?> mono,
+                                   EndpointResult endpointResult) {
+    Runnable subscribe = () -> {
+      if (!ctx.channel().isActive()) {
+        // the channel closed while the endpoint ran, there is nobody to emit the value to
+        requestContext.release();
+        ReferenceCountUtil.release(httpRequest);
+        return;
+      }
+      monoResult = new MonoResultSubscriber(ctx, httpRequest, requestContext, resource, entry, endpointResult);
+      mono.subscribe(monoResult);
+    };
+
+    if (ctx.executor().inEventLoop()) {
+      subscribe.run();
+    } else {
+      ctx.executor().execute(subscribe);
+    }
+  }
+
+  /**
+   * Completes the request with an asynchronous endpoint result, or its failure. Must run on the event loop.
+   */
+  private void completeWithResult(ChannelHandlerContext ctx,
+                                  HttpRequest httpRequest,
+                                  NettyHttpRequestContext requestContext,
+                                  NettyHttpNetworkResource resource,
+                                  EndpointEntry entry,
+                                  Object result,
+                                  Throwable error,
+                                  EndpointResult endpointResult) {
+    if (error == null && EndpointEntry.isSequence(result)) {
+      try (InvocationContext.Scope scope = InvocationContext.bind(requestContext)) {
+        completeWithSequence(ctx, httpRequest, requestContext, resource, entry, result, endpointResult);
+      }
+      return;
+    }
+
+    FullHttpResponse response;
+    try (InvocationContext.Scope scope = InvocationContext.bind(requestContext)) {
+      response = error == null ? buildEndpointResponse(requestContext, resource, entry, result, endpointResult)
+          : buildErrorResponse(requestContext, error);
+    } catch (Exception ex) {
+      response = buildErrorResponse(requestContext, ex);
+    }
+
+    completeRequest(ctx, httpRequest, requestContext, response, true);
+  }
+
+  /**
+   * Completes the request with a sequence result, which is written as a chunked response of its elements. Must run on the event loop.
+   */
+  private void completeWithSequence(ChannelHandlerContext ctx,
+                                    HttpRequest httpRequest,
+                                    NettyHttpRequestContext requestContext,
+                                    NettyHttpNetworkResource resource,
+                                    EndpointEntry entry,
+                                    Object sequence,
+                                    EndpointResult endpointResult) {
+    if (!ctx.channel().isActive()) {
+      // the channel closed while the endpoint ran, nobody will ever read the sequence
+      closeSequence(sequence);
+      requestContext.release();
+      ReferenceCountUtil.release(httpRequest);
+      return;
+    }
+
+    FullHttpResponse response;
+    try {
+      if (requestContext.getRequestMethod() != HttpMethod.HEAD && !(isConditionalRequest(requestContext) && requestContext.isNotModified())) {
+        writeSequence(ctx, httpRequest, requestContext, resource, entry, sequence, endpointResult);
+        return;
+      }
+
+      // neither a HEAD nor a 304 response carries the body, so the sequence is never produced
+      closeSequence(sequence);
+      response = buildEndpointResponse(requestContext, resource, entry, sequence, endpointResult);
+    } catch (Exception ex) {
+      closeSequence(sequence);
+      response = buildErrorResponse(requestContext, ex);
+    }
+
+    completeRequest(ctx, httpRequest, requestContext, response, true);
+  }
+
+  private void writeSequence(ChannelHandlerContext ctx,
+                             HttpRequest httpRequest,
+                             NettyHttpRequestContext requestContext,
+                             NettyHttpNetworkResource resource,
+                             EndpointEntry entry,
+                             Object sequence,
+                             EndpointResult endpointResult) throws IOException {
+    MimeType declaredMimeType = endpointResult.getPreferredMimeType();
+    String accept = requestContext.getRequestHeader(HttpHeaderNames.ACCEPT);
+    MimeType mimeType = codecRegistry.negotiate(accept, declaredMimeType);
+    boolean delimited = codecRegistry.isDelimitedSequence(accept, mimeType);
+    StreamingServerCodec codec = codecRegistry.get(mimeType);
+    if (codec == null) {
+      throw new CauldronServerException("Could not find a codec registered to MimeType: " + mimeType.toString());
+    }
+
+    HttpResponse head = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    requestContext.setResponse(head);
+    addDeclaredValidators(requestContext);
+    requestContext.addResponseHeader(HeaderNames.CONTENT_TYPE, (delimited ? MimeType.APPLICATION_NDJSON : mimeType).toString());
+    head.headers().set(HttpHeaderNames.ALLOW, resource.getAllowHeader());
+    if (codecRegistry.isNegotiable(declaredMimeType) || mimeType == MimeType.APPLICATION_JSON) {
+      // a JSON sequence may also be negotiated as newline delimited JSON
+      head.headers().set(HttpHeaderNames.VARY, HeaderNames.ACCEPT);
+    }
+    // an HTTP/1.0 client cannot read chunks, closing the connection ends its body instead
+    boolean chunked = !HttpVersion.HTTP_1_0.equals(httpRequest.protocolVersion());
+    if (chunked) {
+      HttpUtil.setTransferEncodingChunked(head, true);
+    } else {
+      // the content compressor chunks whatever it compresses, an explicit encoding keeps the body out of it
+      head.headers().set(HttpHeaderNames.CONTENT_ENCODING, HttpHeaderValues.IDENTITY);
+    }
+
+    boolean keepAlive = chunked && HttpUtil.isKeepAlive(httpRequest);
+    getResponseHeaders(ctx).applyTo(head.headers());
+    if (keepAlive) {
+      head.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+    }
+
+    Type elementType = entry.getElementType() != null ? entry.getElementType() : Object.class;
+    sequenceResponse = new NettySequenceResponse(ctx, head, keepAlive, codec, elementType, delimited,
+        (response, error) -> completeSequence(ctx, httpRequest, requestContext, response, error));
+    sequenceResponse.start(sequence);
+  }
+
+  /**
+   * Releases the request once its sequence response ends. A sequence which failed before any of it was written is answered with an error
+   * response instead.
+   */
+  private void completeSequence(ChannelHandlerContext ctx,
+                                HttpRequest httpRequest,
+                                NettyHttpRequestContext requestContext,
+                                NettySequenceResponse response,
+                                Throwable error) {
+    if (sequenceResponse == response) {
+      sequenceResponse = null;
+    }
+
+    if (error != null && !response.isHeadWritten()) {
+      completeRequest(ctx, httpRequest, requestContext, buildErrorResponse(requestContext, error), true);
+      return;
+    }
+
+    if (error != null && !(error instanceof ClosedChannelException)) {
+      LOG.error("Sequence result failed after its response was sent, closed the connection", error);
+    }
+    requestContext.release();
+    ReferenceCountUtil.release(httpRequest);
+    completeResponse(ctx);
+  }
+
+  private static void closeSequence(Object sequence) {
+    if (sequence instanceof Stream) {
+      ((Stream<?>) sequence).close();
+    }
+  }
+
+  private FullHttpResponse buildEndpointResponse(NettyHttpRequestContext requestContext,
+                                                 NettyHttpNetworkResource resource,
+                                                 EndpointEntry entry,
+                                                 Object result,
+                                                 EndpointResult endpointResult) {
+    FullHttpResponse response = buildResponseWithVendorResults(requestContext, result, endpointResult.getPreferredMimeType(),
+        endpointResult.getResultType());
+    requestContext.setResponse(response);
+    response.headers().set(HttpHeaderNames.ALLOW, resource.getAllowHeader());
+    return checkNotModified(requestContext, cacheResponse(requestContext, entry, response));
+  }
+
+  private boolean isConditionalRequest(NettyHttpRequestContext requestContext) {
+    HttpMethod requestMethod = requestContext.getRequestMethod();
+    return (requestMethod == HttpMethod.GET || requestMethod == HttpMethod.HEAD)
+        && (requestContext.hasRequestHeader(HttpHeaderNames.IF_NONE_MATCH) || requestContext.hasRequestHeader(HttpHeaderNames.IF_MODIFIED_SINCE));
+  }
+
+  /**
+   * Answers a conditional request with a bodiless 304 when its preconditions match the validators of the built response, which is released.
+   * The 304 is written before the pipeline ever sees, or compresses, the body.
+   */
+  private FullHttpResponse checkNotModified(NettyHttpRequestContext requestContext, FullHttpResponse response) {
+    if (!HttpResponseStatus.OK.equals(response.status()) || !isConditionalRequest(requestContext)) {
+      return response;
+    }
+
+    String lastModified = response.headers().get(HttpHeaderNames.LAST_MODIFIED);
+    if (!ConditionalRequests.isNotModified(requestContext.getRequestHeader(HttpHeaderNames.IF_NONE_MATCH),
+        requestContext.getRequestHeader(HttpHeaderNames.IF_MODIFIED_SINCE), response.headers().get(HttpHeaderNames.ETAG),
+        lastModified != null ? ConditionalRequests.parseHttpDate(lastModified) : -1)) {
+      return response;
+    }
+
+    // a 304 repeats the validators and caching headers of the 200 it stands for, but nothing describing the body
+    FullHttpResponse notModified = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_MODIFIED);
+    for (CharSequence headerName : NOT_MODIFIED_HEADERS) {
+      String value = response.headers().get(headerName);
+      if (value != null) {
+        notModified.headers().set(headerName, value);
+      }
+    }
+    response.release();
+    return notModified;
+  }
+
+  /**
+   * Returns the response cache to use for the request. GET and HEAD requests are answered from and written to the cache, a HEAD request is
+   * answered with the headers of the GET response it stands for.
+   */
+  private NettyResponseCache getResponseCache(NettyHttpRequestContext requestContext, EndpointEntry entry) {
+    HttpMethod requestMethod = requestContext.getRequestMethod();
+    if (entry == null || (requestMethod != HttpMethod.GET && requestMethod != HttpMethod.HEAD)
+        || !(entry.getResponseCache() instanceof NettyResponseCache)) {
+      return null;
+    }
+    return (NettyResponseCache) entry.getResponseCache();
+  }
+
+  private String getResponseCacheKey(NettyResponseCache responseCache, NettyHttpRequestContext requestContext, EndpointEntry entry) {
+    return responseCache.key(requestContext, codecRegistry.negotiate(requestContext.getRequestHeader(HttpHeaderNames.ACCEPT),
+        entry.getResponseMimeType()));
+  }
+
+  private FullHttpResponse getCachedResponse(NettyHttpRequestContext requestContext, EndpointEntry entry) {
+    NettyResponseCache responseCache = getResponseCache(requestContext, entry);
+    if (responseCache == null) {
+      return null;
+    }
+
+    FullHttpResponse response = responseCache.get(getResponseCacheKey(responseCache, requestContext, entry),
+        NettyResponseCache.acceptsGzip(requestContext.getRequestHeader(HttpHeaderNames.ACCEPT_ENCODING)));
+    if (response == null) {
+      return null;
+    }
+
+    return checkNotModified(requestContext, response);
+  }
+
+  private FullHttpResponse cacheResponse(NettyHttpRequestContext requestContext, EndpointEntry entry, FullHttpResponse response) {
+    NettyResponseCache responseCache = getResponseCache(requestContext, entry);
+    if (responseCache == null) {
+      return response;
+    }
+
+    return responseCache.put(getResponseCacheKey(responseCache, requestContext, entry), response,
+        NettyResponseCache.acceptsGzip(requestContext.getRequestHeader(HttpHeaderNames.ACCEPT_ENCODING)));
+  }
+
+  private FullHttpResponse buildErrorResponse(NettyHttpRequestContext requestContext, Throwable ex) {
+    FullHttpResponse response = handleExecutionException(ex);
+    requestContext.setResponse(response);
+    return response;
+  }
+
+  /**
+   * Writes the response and releases the request. Must run on the channel's event loop.
+   */
+  private void completeRequest(ChannelHandlerContext ctx,
+                               HttpRequest httpRequest,
+                               NettyHttpRequestContext requestContext,
+                               FullHttpResponse response,
+                               boolean flush) {
+    if (HttpMethod.HEAD == requestContext.getRequestMethod() && response.content().isReadable()) {
+      // built like the GET response, for the same validators and digest, but sent without its payload
+      FullHttpResponse headResponse = response.replace(Unpooled.EMPTY_BUFFER);
+      response.release();
+      response = headResponse;
+    }
+    processConnection(httpRequest, response, ctx, flush);
+    requestContext.release();
+    // the aggregated request (and its body) is ours to release once the response is written
+    ReferenceCountUtil.release(httpRequest);
+    completeResponse(ctx);
+  }
+
+  /**
+   * Handles the requests which waited for the response that was just written, until one of them is being answered in turn, and resumes
+   * reading once none are left. Must run on the channel's event loop.
+   */
+  private void completeResponse(ChannelHandlerContext ctx) {
+    responding = false;
+    if (handlingPending || pendingMessages.isEmpty()) {
+      // a request completed while the pending requests are handled, the loop below takes the next one
+      return;
+    }
+
+    handlingPending = true;
+    try {
+      while (!pendingMessages.isEmpty() && !(responding && pendingMessages.peek() instanceof HttpRequest)) {
+        handleMessage(ctx, pendingMessages.poll());
+      }
+    } finally {
+      handlingPending = false;
+    }
+
+    if (pendingMessages.isEmpty()) {
+      resumeReads(ctx);
+    }
+    // the pending requests are handled outside of channelRead, and miss the flush in channelReadComplete
+    ctx.flush();
+  }
+
+  private void pauseReads(ChannelHandlerContext ctx) {
+    readsPaused = true;
+    if (ctx.channel().config().isAutoRead()) {
+      ctx.channel().config().setAutoRead(false);
+    }
+  }
+
+  private void resumeReads(ChannelHandlerContext ctx) {
+    if (readsPaused) {
+      readsPaused = false;
+      // a body being streamed to its endpoint resumes reading itself once the endpoint catches up
+      if (requestBody == null || !requestBody.isPausingReads()) {
+        ctx.channel().config().setAutoRead(true);
+      }
     }
   }
 
@@ -126,47 +691,62 @@ public class NettyCauldronHttpHandler extends ChannelInboundHandlerAdapter {
     LOG.error("Execution Exception: " + ex.getClass() + " --> " + ex.getMessage());
     if (ex instanceof CauldronHttpException) {
       LOG.error("Cauldron Http Exception caught from user code", ex);
-      return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
-          CauldronNettyInterface.getResponseStatus(((CauldronHttpException) ex).getResponseStatus()));
+      return ErrorResponses.of(CauldronNettyInterface.getResponseStatus(((CauldronHttpException) ex).getResponseStatus()));
     } else {
       // wtf
       LOG.error("Internal exception: ", ex);
-      return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.INTERNAL_SERVER_ERROR);
+      return ErrorResponses.of(HttpResponseStatus.INTERNAL_SERVER_ERROR);
     }
   }
 
-  private void processConnection(HttpRequest httpRequest, FullHttpResponse response, ChannelHandlerContext ctx) {
+  private void processConnection(HttpRequest httpRequest, FullHttpResponse response, ChannelHandlerContext ctx, boolean flush) {
     boolean keepAlive = HttpUtil.isKeepAlive(httpRequest);
+    getResponseHeaders(ctx).applyTo(response.headers());
 
-    if (response.content().readableBytes() == 0) {
+    // a HEAD or 304 response omits Content-Length rather than claiming an empty entity
+    if (response.content().readableBytes() == 0 && !io.netty.handler.codec.http.HttpMethod.HEAD.equals(httpRequest.method())
+        && !HttpResponseStatus.NOT_MODIFIED.equals(response.status())) {
       if (!response.headers().contains(HeaderNames.CONTENT_LENGTH)) {
         response.headers().add(HeaderNames.CONTENT_LENGTH, "0");
       }
     }
 
-    checkAdditionalLatency();
+    // responses completed outside of channelRead miss the flush in channelReadComplete
     if (!keepAlive) {
-      ctx.write(response).addListener(ChannelFutureListener.CLOSE);
+      (flush ? ctx.writeAndFlush(response) : ctx.write(response)).addListener(ChannelFutureListener.CLOSE);
     } else {
       response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
-      ctx.write(response);
+      if (flush) {
+        ctx.writeAndFlush(response);
+      } else {
+        ctx.write(response);
+      }
     }
   }
 
-  private void checkThrowCustomStatus() {
-    Set<String> throwHeaders = InvocationContext.getRequestContext().getRequestHeaders(CauldronHeaderNames.CUSTOM_ERROR_STATUS);
+  /**
+   * The constant headers of this handler's channel, built with the first response since the channel is bound by then.
+   */
+  private ResponseHeaders getResponseHeaders(ChannelHandlerContext ctx) {
+    if (responseHeaders == null) {
+      responseHeaders = new ResponseHeaders(ctx.channel().localAddress());
+    }
+    return responseHeaders;
+  }
+
+  private void checkThrowCustomStatus(NettyHttpRequestContext requestContext) {
+    final String statusValue = requestContext.getRequestHeader(NettyHeaderNames.CUSTOM_ERROR_STATUS);
 
-    if (!throwHeaders.isEmpty()) {
-      final String statusValue = throwHeaders.iterator().next();
+    if (statusValue != null) {
       throw new CauldronHttpException(Status.valueOf(statusValue), "Custom Status Error being thrown (Dev Only)");
     }
   }
 
-  private void checkAdditionalLatency() {
-    Set<String> results = InvocationContext.getRequestContext().getRequestHeaders(CauldronHeaderNames.ADDITIONAL_PROCESSING_LATENCY);
-    if (!results.isEmpty()) {
+  private void checkAdditionalLatency(NettyHttpRequestContext requestContext) {
+    final String latencyValue = requestContext.getRequestHeader(NettyHeaderNames.ADDITIONAL_PROCESSING_LATENCY);
+    if (latencyValue != null) {
       try {
-        final int latency = Integer.parseInt(results.iterator().next());
+        final int latency = Integer.parseInt(latencyValue);
         Thread.sleep(latency);
       } catch (InterruptedException ex) {
         // nada
@@ -175,57 +755,178 @@ public class NettyCauldronHttpHandler extends ChannelInboundHandlerAdapter {
     }
   }
 
-  private FullHttpResponse buildResponseWithVendorResults(Object result, MimeType mimeType) {
-    Object actualResult = result;
-    if (result instanceof CompletionStage) {
-      try {
-        actualResult = ((CompletionStage) result).toCompletableFuture().get();
-      } catch (InterruptedException | ExecutionException ex) {
-        LOG.error("Error or timeout from resource future");
-        return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.INTERNAL_SERVER_ERROR,
-            Unpooled.wrappedBuffer(ex.getMessage().getBytes(Charsets.UTF_8)));
+  private FullHttpResponse buildResponseWithVendorResults(NettyHttpRequestContext requestContext,
+                                                          Object actualResult,
+                                                          MimeType declaredMimeType,
+                                                          Type resultType) {
+    if (isConditionalRequest(requestContext) && requestContext.isNotModified()) {
+      // the client holds the version the endpoint declared, so the result is never encoded
+      FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_MODIFIED);
+      requestContext.setResponse(response);
+      addDeclaredValidators(requestContext);
+      if (codecRegistry.isNegotiable(declaredMimeType)) {
+        response.headers().set(HttpHeaderNames.VARY, HeaderNames.ACCEPT);
       }
+      return response;
     }
 
     if (actualResult == null) {
-      HttpResponseStatus status = HttpResponseStatus.OK;
       // if this method was intended to return an entity
-      if (InvocationContext.getRequestContext().getRequestMethod().equals(HttpMethod.GET)) {
+      HttpMethod requestMethod = requestContext.getRequestMethod();
+      if (requestMethod == HttpMethod.GET || requestMethod == HttpMethod.HEAD) {
         // default to 404?
         LOG.warn("defaulting to 404 for not found content");
-        status = HttpResponseStatus.NOT_FOUND;
+        return ErrorResponses.of(HttpResponseStatus.NOT_FOUND);
       }
 
-      return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status);
+      return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
     }
 
-    ServerCodec<String> codec = codecMap.get(mimeType);
+    MimeType mimeType = codecRegistry.negotiate(requestContext.getRequestHeader(HttpHeaderNames.ACCEPT), declaredMimeType);
+    FullHttpResponse response;
+    if (requestContext.getRequestMethod() == HttpMethod.HEAD && EndpointEntry.isSequence(actualResult)) {
+      // a sequence is never produced for a HEAD response, it is sent without a length or digest just like the chunked GET response
+      response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+      requestContext.setResponse(response);
+      requestContext.addResponseHeader(HeaderNames.CONTENT_TYPE, mimeType.toString());
+      addDeclaredValidators(requestContext);
+    } else {
+      StreamingServerCodec codec = codecRegistry.get(mimeType);
 
-    if (codec == null) {
-      throw new CauldronServerException("Could not find a codec registered to MimeType: " + mimeType.toString());
-    }
+      if (codec == null) {
+        throw new CauldronServerException("Could not find a codec registered to MimeType: " + mimeType.toString());
+      }
 
-    String content = codec.encode(actualResult);
+      response = buildResponse(requestContext, mimeType, encode(requestContext, codec, actualResult, resultType));
+    }
 
-    return buildResponse(mimeType, content);
+    if (codecRegistry.isNegotiable(declaredMimeType)) {
+      // caches must key the response on the Accept header it was negotiated from
+      response.headers().set(HttpHeaderNames.VARY, HeaderNames.ACCEPT);
+    }
+    return response;
   }
 
-  private FullHttpResponse buildResponse(MimeType mimeType, String content) {
-    byte[] contents = content.getBytes(Charsets.UTF_8);
+  /**
+   * Encodes the result straight into a buffer from the channel's (pooled) allocator. The buffer is released by the response once written.
+   */
+  private ByteBuf encode(NettyHttpRequestContext requestContext, StreamingServerCodec codec, Object actualResult, Type resultType) {
+    ByteBuf buffer = requestContext.getCtx().alloc().buffer();
+    try (ByteBufOutputStream output = new ByteBufOutputStream(buffer)) {
+      codec.encode(actualResult, resultType, output);
+      return buffer;
+    } catch (IOException | RuntimeException ex) {
+      buffer.release();
+      throw new CauldronServerException("Could not encode the result as " + codec.getClass().getSimpleName(), ex);
+    }
+  }
 
-    ByteBuf buffer = Unpooled.wrappedBuffer(contents);
+  private FullHttpResponse buildResponse(NettyHttpRequestContext requestContext, MimeType mimeType, ByteBuf buffer) {
     FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, buffer);
-    ((NettyHttpRequestContext) InvocationContext.getRequestContext()).setResponse(response);
-    InvocationContext.getRequestContext()
-        .addResponseHeader(HeaderNames.CONTENT_MD5, InvocationContext.getRequestContext().getResponseContentMD5());
-    InvocationContext.getRequestContext().addResponseHeader(HeaderNames.CONTENT_TYPE, mimeType.toString());
-    InvocationContext.getRequestContext().addResponseHeader(HeaderNames.CONTENT_LENGTH, String.valueOf(contents.length));
+    requestContext.setResponse(response);
+    // an entity tag declared by the endpoint stands in for the ETag digest
+    if (responseDigest != ResponseDigest.NONE && !(responseDigest == ResponseDigest.ETAG && requestContext.getResponseEntityTag() != null)) {
+      // digests the bytes being sent, nioBuffer shares the content rather than copying it
+      requestContext.addResponseHeader(responseDigest.getHeaderName(), responseDigest.compute(buffer.nioBuffer()));
+    }
+    addDeclaredValidators(requestContext);
+    requestContext.addResponseHeader(HeaderNames.CONTENT_TYPE, mimeType.toString());
+    requestContext.addResponseHeader(HeaderNames.CONTENT_LENGTH, String.valueOf(buffer.readableBytes()));
     return response;
   }
 
+  private void addDeclaredValidators(NettyHttpRequestContext requestContext) {
+    if (requestContext.getResponseEntityTag() != null) {
+      requestContext.addResponseHeader(HeaderNames.ETAG, requestContext.getResponseEntityTag());
+    }
+    if (requestContext.getResponseLastModified() >= 0) {
+      requestContext.addResponseHeader(HeaderNames.LAST_MODIFIED, ConditionalRequests.formatHttpDate(requestContext.getResponseLastModified()));
+    }
+  }
+
   @Override
   public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
     LOG.error("exceptionCaught: " + ctx.channel().localAddress().toString() + "<-" + ctx.channel().remoteAddress().toString(), cause);
     ctx.close();
   }
+
+  /**
+   * Completes a request with the value of its {@link Mono} result. Its signals may come from any thread, the request is completed on the
+   * event loop, at most once.
+   */
+  private final class MonoResultSubscriber extends BaseSubscriber<Object> {
+    private final ChannelHandlerContext ctx;
+    private final HttpRequest httpRequest;
+    private final NettyHttpRequestContext requestContext;
+    private final NettyHttpNetworkResource resource;
+    private final EndpointEntry entry;
+    private final EndpointResult endpointResult;
+    private boolean emitted;
+    // confined to the event loop
+    private boolean completed;
+
+    private MonoResultSubscriber(ChannelHandlerContext ctx,
+                                 HttpRequest httpRequest,
+                                 NettyHttpRequestContext requestContext,
+                                 NettyHttpNetworkResource resource,
+                                 EndpointEntry entry,
+                                 EndpointResult endpointResult) {
+      this.ctx = ctx;
+      this.httpRequest = httpRequest;
+      this.requestContext = requestContext;
+      this.resource = resource;
+      this.entry = entry;
+      this.endpointResult = endpointResult;
+    }
+
+    @Override
+    protected void hookOnNext(final Object value) {
+      emitted = true;
+      complete(value, null);
+    }
+
+    @Override
+    protected void hookOnComplete() {
+      if (!emitted) {
+        complete(null, null);
+      }
+    }
+
+    @Override
+    protected void hookOnError(final Throwable error) {
+      complete(null, error);
+    }
+
+    /**
+     * Cancels the subscription and releases the request, when the channel closes before the value is emitted. Must run on the event loop.
+     */
+    void cancelRequest() {
+      if (!completed) {
+        completed = true;
+        monoResult = null;
+        dispose();
+        requestContext.release();
+        ReferenceCountUtil.release(httpRequest);
+      }
+    }
+
+    private void complete(Object result, Throwable error) {
+      Runnable complete = () -> {
+        if (completed) {
+          return;
+        }
+        completed = true;
+        if (monoResult == this) {
+          monoResult = null;
+        }
+        completeWithResult(ctx, httpRequest, requestContext, resource, entry, result, error, endpointResult);
+      };
+
+      if (ctx.executor().inEventLoop()) {
+        complete.run();
+      } else {
+        ctx.executor().execute(complete);
+      }
+    }
+  }
 }
@@ -1,15 +1,24 @@
 package com.decoded.cauldron.netty;
 
-import com.decoded.cauldron.api.network.TcpProtocol;
+import com.decoded.cauldron.api.config.HttpServerConfiguration;
+import com.decoded.cauldron.api.network.codec.CodecRegistry;
+import com.decoded.cauldron.api.network.http.DispatchMode;
+import com.decoded.cauldron.api.network.http.EndpointEntry;
+import com.decoded.cauldron.internal.routing.PathRouter;
+import com.decoded.cauldron.netty.cache.NettyResponseCache;
 import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
 import com.decoded.cauldron.netty.server.module.NettyCauldronServerModule;
 import com.decoded.cauldron.server.BaseCauldronServer;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.handler.codec.http2.Http2SecurityUtil;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
@@ -21,10 +30,17 @@ import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
+import io.netty.util.concurrent.EventExecutor;
 import java.security.cert.CertificateException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLException;
 import org.slf4j.Logger;
@@ -37,12 +53,16 @@ import org.slf4j.LoggerFactory;
 public class NettyCauldronServer extends BaseCauldronServer {
   private static final int DEFAULT_SHUTDOWN_WAIT = 20000;
   private static Logger LOG = LoggerFactory.getLogger(NettyCauldronServer.class);
-  private Map<String, ? super NettyHttpNetworkResource> httpRoutingMap;
+  private PathRouter<NettyHttpNetworkResource> httpRouter;
+  private HttpServerConfiguration httpServerConfiguration;
   private volatile boolean isStarted;
   private volatile boolean isStarting;
   private volatile boolean isShuttingDown;
   private EventLoopGroup bossGroup;
   private EventLoopGroup workerGroup;
+  private ExecutorService endpointExecutor;
+  private ExecutorService virtualThreadExecutor;
+  private Collection<NettyHttpNetworkResource> httpResources;
   static final boolean SSL = false; //System.getProperty("ssl") != null;
 
   /**
@@ -50,10 +70,47 @@ public class NettyCauldronServer extends BaseCauldronServer {
    */
   public NettyCauldronServer() {
     initializeWithModulesOfType(NettyCauldronServerModule.class);
-    this.httpRoutingMap = initializeHttpRoutingMap(NettyHttpNetworkResource.class);
+    Map<String, NettyHttpNetworkResource> httpRoutingMap = initializeHttpRoutingMap(NettyHttpNetworkResource.class);
+    this.httpRouter = PathRouter.compile(httpRoutingMap);
+    this.httpResources = httpRoutingMap.values();
+    installResponseCaches();
+    this.httpServerConfiguration = loadHttpServerConfiguration(ConfigFactory.load());
     LOG.info("Initializing Netty Cauldron Server");
   }
 
+  /**
+   * Loads the server configuration from the <code>cauldron.http</code> block of the application config, if there is one.
+   *
+   * @param config the application {@link Config}
+   *
+   * @return the {@link HttpServerConfiguration}, with defaults for every setting the config does not hold
+   */
+  static HttpServerConfiguration loadHttpServerConfiguration(Config config) {
+    if (!config.hasPath(HttpServerConfiguration.CONFIG_PATH)) {
+      return new HttpServerConfiguration();
+    }
+
+    HttpServerConfiguration httpServerConfiguration = HttpServerConfiguration.fromConfig(config.getConfig(HttpServerConfiguration.CONFIG_PATH));
+    LOG.info("Server configuration loaded: " + httpServerConfiguration);
+    return httpServerConfiguration;
+  }
+
+  public HttpServerConfiguration getHttpServerConfiguration() {
+    return httpServerConfiguration;
+  }
+
+  /**
+   * Sets the server configuration. Takes effect the next time the server starts.
+   *
+   * @param httpServerConfiguration the {@link HttpServerConfiguration}
+   *
+   * @return this server
+   */
+  public NettyCauldronServer setHttpServerConfiguration(final HttpServerConfiguration httpServerConfiguration) {
+    this.httpServerConfiguration = httpServerConfiguration;
+    return this;
+  }
+
   @Override
   public boolean isStarted() {
     return isStarted && !isShuttingDown;
@@ -132,6 +189,12 @@ public class NettyCauldronServer extends BaseCauldronServer {
         LOG.info("Netty Boss group shutdown complete...");
         latch.countDown();
       });
+      endpointExecutor.shutdown();
+      if (virtualThreadExecutor != null) {
+        virtualThreadExecutor.shutdown();
+      }
+      // releases the cached response buffers
+      httpResources.forEach(NettyHttpNetworkResource::invalidateResponseCache);
 
       try {
         if (!latch.await(DEFAULT_SHUTDOWN_WAIT, TimeUnit.MILLISECONDS)) {
@@ -164,26 +227,55 @@ public class NettyCauldronServer extends BaseCauldronServer {
 
   private void doNettySpecificStart(CompletableFuture<Void> future) {
     LOG.info("Netty Cauldron Server Thread Starting");
-    bossGroup = new NioEventLoopGroup(1);
-    workerGroup = new NioEventLoopGroup();
+    NettyTransport transport = NettyTransport.select(httpServerConfiguration.getTransport());
+    boolean reusePort = httpServerConfiguration.isReusePort() && transport.supportsReusePort();
+    if (httpServerConfiguration.isReusePort() && !reusePort) {
+      LOG.warn("SO_REUSEPORT is not supported by the " + transport + " transport, a single acceptor will accept every connection");
+    }
+
+    workerGroup = transport.newEventLoopGroup(httpServerConfiguration.getIoThreads());
+    // with SO_REUSEPORT every event loop accepts on a listening socket of its own, there is no separate boss
+    bossGroup = reusePort ? workerGroup : transport.newEventLoopGroup(httpServerConfiguration.getBossThreads());
+    endpointExecutor = EndpointExecutors.newBoundedExecutor(httpServerConfiguration);
+    virtualThreadExecutor = EndpointExecutors.newVirtualThreadExecutor();
+    if (virtualThreadExecutor == null && httpServerConfiguration.getDispatchMode() == DispatchMode.VIRTUAL_THREAD) {
+      LOG.warn("Virtual thread dispatch is configured but not supported, endpoints will run on the endpoint executor");
+    }
+
+    Map<DispatchMode, Executor> endpointExecutors = new EnumMap<>(DispatchMode.class);
+    endpointExecutors.put(DispatchMode.EXECUTOR, endpointExecutor);
+    endpointExecutors.put(DispatchMode.VIRTUAL_THREAD, virtualThreadExecutor != null ? virtualThreadExecutor : endpointExecutor);
+
+    CodecRegistry codecRegistry = newCodecRegistry();
 
     try {
-      // todo figure out options
       ServerBootstrap bootstrap = new ServerBootstrap();
-      bootstrap.option(ChannelOption.SO_BACKLOG, 1024);
+      configureOptions(bootstrap);
 
-      // TODO - from config
       bootstrap.group(bossGroup, workerGroup)
-          .channel(NioServerSocketChannel.class)
+          .channel(transport.getServerChannelClass())
           .handler(new LoggingHandler(LogLevel.TRACE))
-          .childHandler(new NettyCauldronServerInitializer(getSslContext(), httpRoutingMap, false, TcpProtocol.HTTP_2));
+          .childHandler(new NettyCauldronServerInitializer(getSslContext(), httpRouter, false, httpServerConfiguration.getProtocol(),
+              httpServerConfiguration, endpointExecutors, codecRegistry, streamsRequestBodies()));
+
+      if (reusePort) {
+        transport.enableReusePort(bootstrap);
+      }
 
       isStarting = false;
       isStarted = true;
-      Channel channel = bootstrap.bind(getPort()).sync().channel();
-      LOG.info("Server running, waiting for messages on channel " + channel.localAddress().toString());
+      // each bind registers the listening socket with the next event loop of the boss group
+      int acceptors = reusePort ? countEventLoops(workerGroup) : 1;
+      List<Channel> channels = new ArrayList<>(acceptors);
+      for (int idx = 0; idx < acceptors; idx++) {
+        channels.add(bootstrap.bind(getPort()).sync().channel());
+      }
+      LOG.info("Server running on the " + transport + " transport with " + acceptors + " acceptor(s), waiting for messages on channel "
+          + channels.get(0).localAddress().toString());
       future.complete(null);
-      channel.closeFuture().sync();
+      for (Channel channel : channels) {
+        channel.closeFuture().sync();
+      }
     } catch (InterruptedException ex) {
       LOG.error("Error ", ex);
     } finally {
@@ -191,4 +283,72 @@ public class NettyCauldronServer extends BaseCauldronServer {
       LOG.info("Server loop exiting...");
     }
   }
+
+  /**
+   * Applies the socket options, allocator and write buffer water marks of the configuration to the listening socket and its connections.
+   *
+   * @param bootstrap the {@link ServerBootstrap}
+   */
+  private void configureOptions(ServerBootstrap bootstrap) {
+    ByteBufAllocator allocator = httpServerConfiguration.isPooledAllocator()
+        ? new PooledByteBufAllocator(httpServerConfiguration.isPreferDirectBuffers())
+        : new UnpooledByteBufAllocator(httpServerConfiguration.isPreferDirectBuffers());
+
+    bootstrap.option(ChannelOption.SO_BACKLOG, httpServerConfiguration.getBacklog())
+        .option(ChannelOption.ALLOCATOR, allocator)
+        .childOption(ChannelOption.ALLOCATOR, allocator)
+        .childOption(ChannelOption.TCP_NODELAY, httpServerConfiguration.isTcpNoDelay())
+        .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(httpServerConfiguration.getWriteBufferLowWaterMark(),
+            httpServerConfiguration.getWriteBufferHighWaterMark()));
+
+    // zero keeps the operating system defaults, which are tuned by the kernel
+    if (httpServerConfiguration.getReceiveBufferSize() > 0) {
+      bootstrap.childOption(ChannelOption.SO_RCVBUF, httpServerConfiguration.getReceiveBufferSize());
+    }
+    if (httpServerConfiguration.getSendBufferSize() > 0) {
+      bootstrap.childOption(ChannelOption.SO_SNDBUF, httpServerConfiguration.getSendBufferSize());
+    }
+  }
+
+  private static int countEventLoops(EventLoopGroup eventLoopGroup) {
+    int count = 0;
+    for (EventExecutor eventLoop : eventLoopGroup) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Resolves the response codecs, and prepares them for the result type of every endpoint so that is not done by the first requests. The
+   * endpoints read their JSON body parameters with the same codecs.
+   *
+   * @return the {@link CodecRegistry}
+   */
+  private CodecRegistry newCodecRegistry() {
+    CodecRegistry codecRegistry = httpServerConfiguration.getCodecRegistry() != null ? httpServerConfiguration.getCodecRegistry()
+        : CodecRegistry.withDefaults(httpServerConfiguration.isJacksonAfterburner());
+
+    httpResources.forEach(resource -> resource.getEndpointEntries().forEach(entry -> {
+      entry.resolveCodecs(codecRegistry);
+      codecRegistry.prepare(entry.getResponseMimeType(), entry.getResultType());
+      if (entry.getElementType() != null) {
+        codecRegistry.prepare(entry.getResponseMimeType(), entry.getElementType());
+      }
+    }));
+    return codecRegistry;
+  }
+
+  private boolean streamsRequestBodies() {
+    return httpResources.stream().anyMatch(resource -> resource.getEndpointEntries().stream().anyMatch(EndpointEntry::isBodyStream));
+  }
+
+  /**
+   * Installs a response cache for every {@link com.decoded.cauldron.api.annotation.Cacheable} endpoint.
+   */
+  private void installResponseCaches() {
+    httpResources.forEach(resource -> resource.getEndpointEntries().stream().filter(entry -> entry.getCacheable() != null).forEach(entry -> {
+      LOG.info("Caching responses of " + resource.getClass().getName() + "::" + entry.getMethod().getName());
+      entry.setResponseCache(new NettyResponseCache(entry.getCacheable()));
+    }));
+  }
 }
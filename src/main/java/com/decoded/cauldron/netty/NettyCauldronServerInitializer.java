@@ -2,24 +2,21 @@ package com.decoded.cauldron.netty;
 
 import com.decoded.cauldron.api.config.HttpServerConfiguration;
 import com.decoded.cauldron.api.network.TcpProtocol;
+import com.decoded.cauldron.api.network.codec.CodecRegistry;
+import com.decoded.cauldron.api.network.http.DispatchMode;
 import com.decoded.cauldron.api.network.security.crypto.CryptographyService;
 import com.decoded.cauldron.api.network.security.crypto.google.GoogleTinkConfiguration;
 import com.decoded.cauldron.api.network.security.crypto.google.GoogleTinkCryptographyService;
+import com.decoded.cauldron.internal.routing.PathRouter;
 import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
-import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpContentCompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
-import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.ssl.SslContext;
-import java.io.File;
-import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,28 +27,43 @@ public class NettyCauldronServerInitializer extends ChannelInitializer<SocketCha
 
   private static final Logger LOG = LoggerFactory.getLogger(NettyCauldronServerInitializer.class);
   private SslContext sslContext;
-  private Map<String, ? super NettyHttpNetworkResource> httpRoutingMap;
+  private PathRouter<NettyHttpNetworkResource> httpRouter;
   private CryptographyService cryptographyService;
+  private HttpServerConfiguration httpServerConfiguration;
+  private Map<DispatchMode, Executor> endpointExecutors;
+  private CodecRegistry codecRegistry;
   private TcpProtocol tcpProtocol;
+  private boolean streamsRequestBodies;
 
   private boolean supportH2;
-  private int idleTimeOut;
-  private int maxContentLength = 20000000;
 
   /**
    * Constructor.
    *
    * @param sslContext                 an {@link SslContext}
-   * @param httpRoutingMap             a {@link Map} of routes to {@link NettyHttpNetworkResource}
+   * @param httpRouter                 a {@link PathRouter} of routes to {@link NettyHttpNetworkResource}
    * @param regenerateCryptographyKeys regenerates the cryptography keys upon restarting
+   * @param protocol                   the {@link TcpProtocol}
+   * @param httpServerConfiguration    the {@link HttpServerConfiguration}
+   * @param endpointExecutors          the {@link Executor}s for endpoints which are not run on the event loop, by {@link DispatchMode}
+   * @param codecRegistry              the {@link CodecRegistry} of the codecs which encode responses
+   * @param streamsRequestBodies       true if any endpoint takes a {@link com.decoded.cauldron.api.annotation.BodyStream}
    */
   public NettyCauldronServerInitializer(SslContext sslContext,
-                                        Map<String, ? super NettyHttpNetworkResource> httpRoutingMap,
+                                        PathRouter<NettyHttpNetworkResource> httpRouter,
                                         boolean regenerateCryptographyKeys,
-                                        TcpProtocol protocol) {
+                                        TcpProtocol protocol,
+                                        HttpServerConfiguration httpServerConfiguration,
+                                        Map<DispatchMode, Executor> endpointExecutors,
+                                        CodecRegistry codecRegistry,
+                                        boolean streamsRequestBodies) {
     this.sslContext = sslContext;
-    this.httpRoutingMap = httpRoutingMap;
+    this.httpServerConfiguration = httpServerConfiguration;
+    this.endpointExecutors = endpointExecutors;
+    this.codecRegistry = codecRegistry;
+    this.httpRouter = httpRouter;
     this.tcpProtocol = protocol;
+    this.streamsRequestBodies = streamsRequestBodies;
     initializeCryptographyService(regenerateCryptographyKeys);
   }
 
@@ -61,18 +73,21 @@ public class NettyCauldronServerInitializer extends ChannelInitializer<SocketCha
     ChannelPipeline pipeline = ch.pipeline();
     if (sslContext != null) {
       setupSsl(ch);
-      pipeline.addLast(NettyHelpers.HTTP_1TO2_HANDLER_NAME, new Http2OrHttpHandler(maxContentLength, 20000, true));
+      pipeline.addLast(NettyHelpers.HTTP_1TO2_HANDLER_NAME, new Http2OrHttpHandler(httpServerConfiguration, true));
     } else {
       if (tcpProtocol == TcpProtocol.HTTP_1_1) {
-        pipeline.addLast(new HttpServerCodec());
+        pipeline.addLast(NettyHelpers.getNewHttpServerCodec(httpServerConfiguration));
       } else if (tcpProtocol == TcpProtocol.HTTP_2) {
-        pipeline.addLast(NettyHelpers.HTTP2_HANDLER_NAME, new Http2PrefaceOrHttpHandler(maxContentLength));
+        pipeline.addLast(NettyHelpers.HTTP2_HANDLER_NAME, new Http2PrefaceOrHttpHandler(httpServerConfiguration));
       }
     }
 
     pipeline.addLast(new HttpContentCompressor());
-    pipeline.addLast(new HttpObjectAggregator(maxContentLength));
-    pipeline.addLast(new NettyCauldronHttpHandler(cryptographyService, httpRoutingMap));
+    // only route request heads in the aggregator when some endpoint streams its body
+    int maxContentLength = httpServerConfiguration.getHttp1MaxContentLength();
+    pipeline.addLast(streamsRequestBodies ? new NettyRequestAggregator(maxContentLength, httpRouter) : new HttpObjectAggregator(maxContentLength));
+    pipeline.addLast(new NettyCauldronHttpHandler(cryptographyService, httpRouter, httpServerConfiguration, endpointExecutors,
+        codecRegistry));
   }
 
   private void setupSsl(SocketChannel socketChannel) {
@@ -95,35 +110,4 @@ public class NettyCauldronServerInitializer extends ChannelInitializer<SocketCha
     cryptographyService.generateEncryptionKeys(regenerateKeys);
     cryptographyService.loadEncryptionKeys();
   }
-
-
-  private void loadHttpServerConfiguration(String configurationFileUri) {
-
-    LOG.info("Load Container Configuration: " + configurationFileUri);
-
-    // -----------------
-    // CONFIGS
-    // application and object configuration capability
-    // must be bound before all dependants.
-    File serverConfigurationFile = new File(configurationFileUri);
-
-    if (serverConfigurationFile.exists()) {
-      LOG.info("Loaded module configuration from file: [" + serverConfigurationFile.getAbsolutePath() + "]");
-      ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
-
-      try {
-        HttpServerConfiguration httpServerConfiguration = mapper.readValue(serverConfigurationFile, HttpServerConfiguration.class);
-
-        LOG.info("Server configuration loaded: " + httpServerConfiguration.toString());
-      } catch (JsonParseException | JsonMappingException ex) {
-        LOG.error("Json Parsing Exception during configuration", ex);
-        throw new IllegalArgumentException(ex);
-      } catch (IOException ex) {
-        LOG.error("Exception reading configuration file: " + configurationFileUri, ex);
-        throw new IllegalStateException(ex);
-      }
-    } else {
-      LOG.error("Module configuration at: " + serverConfigurationFile.getAbsolutePath() + " could not be loaded");
-    }
-  }
 }
@@ -0,0 +1,20 @@
+package com.decoded.cauldron.netty;
+
+import com.decoded.cauldron.api.network.http.CauldronHeaderNames;
+import io.netty.util.AsciiString;
+
+/**
+ * {@link AsciiString} forms of the Cauldron header names, for header lookups on the request path. Standard header names are available from
+ * {@link io.netty.handler.codec.http.HttpHeaderNames}.
+ *
+ * @see CauldronHeaderNames
+ */
+public class NettyHeaderNames {
+  public static final AsciiString CAULDRON_HTTP_METHOD = AsciiString.cached(CauldronHeaderNames.CAULDRON_HTTP_METHOD);
+  public static final AsciiString ADDITIONAL_PROCESSING_LATENCY = AsciiString.cached(CauldronHeaderNames.ADDITIONAL_PROCESSING_LATENCY);
+  public static final AsciiString CUSTOM_ERROR_STATUS = AsciiString.cached(CauldronHeaderNames.CUSTOM_ERROR_STATUS);
+
+  private NettyHeaderNames() {
+
+  }
+}
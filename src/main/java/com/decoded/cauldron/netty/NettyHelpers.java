@@ -1,5 +1,6 @@
 package com.decoded.cauldron.netty;
 
+import com.decoded.cauldron.api.config.HttpServerConfiguration;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
@@ -24,6 +25,8 @@ public class NettyHelpers {
   public static final String AGGREGATOR = "aggregator";
   public static final String HTTP_1TO2_HANDLER_NAME = "h1.1/h2";
   public static final String HTTP2_HANDLER_NAME = "h2c";
+  // the http1 codec default, chunks are aggregated into the request anyway
+  private static final int HTTP1_MAX_CHUNK_SIZE = 8192;
 
   /**
    * Builds a Netty HttpToHttp2 Adapter and Handler.
@@ -57,29 +60,39 @@ public class NettyHelpers {
     }
   }
 
+  /**
+   * Builds an http1 codec with the request limits of the configuration.
+   *
+   * @param configuration the {@link HttpServerConfiguration}
+   *
+   * @return an {@link HttpServerCodec}
+   */
+  public static HttpServerCodec getNewHttpServerCodec(HttpServerConfiguration configuration) {
+    return new HttpServerCodec(configuration.getHttp1MaxInitialLineLength(), configuration.getHttp1MaxHeaderSize(),
+        HTTP1_MAX_CHUNK_SIZE);
+  }
+
   /**
    * Configures an Http2 {@link ChannelPipeline}.
    *
-   * @param p                the channel pipeline.
-   * @param maxContentLength the maximum content length (bytes).
-   * @param idleTimeOut      the idle timeout in milliseconds.
+   * @param p             the channel pipeline.
+   * @param configuration the {@link HttpServerConfiguration}
    */
-  public static void configurePipelineForHttp2(final ChannelPipeline p, int maxContentLength, int idleTimeOut) {
-    p.addLast(H2_HANDLER, getNewHttp2ConnectionHandler(maxContentLength));
-    NettyHelpers.addIdleStateHandler(p, idleTimeOut);
+  public static void configurePipelineForHttp2(final ChannelPipeline p, HttpServerConfiguration configuration) {
+    p.addLast(H2_HANDLER, getNewHttp2ConnectionHandler(configuration.getHttp2MaxContentLength()));
+    NettyHelpers.addIdleStateHandler(p, (int) configuration.getIdleTimeout().toMillis());
   }
 
   /**
    * Configure the pipeline for http1.
    *
-   * @param p                the {@link ChannelPipeline}.
-   * @param maxContentLength maximum content length.
-   * @param idleTimeOut      the idle timeout in milliseconds.
+   * @param p             the {@link ChannelPipeline}.
+   * @param configuration the {@link HttpServerConfiguration}
    */
-  public static void configurePipelineForHttp1(final ChannelPipeline p, int maxContentLength, int idleTimeOut) {
-    p.addLast(H1_CODEC, new HttpServerCodec());
-    NettyHelpers.addIdleStateHandler(p, idleTimeOut);
-    aggregator(p, maxContentLength);
+  public static void configurePipelineForHttp1(final ChannelPipeline p, HttpServerConfiguration configuration) {
+    p.addLast(H1_CODEC, getNewHttpServerCodec(configuration));
+    NettyHelpers.addIdleStateHandler(p, (int) configuration.getIdleTimeout().toMillis());
+    aggregator(p, configuration.getHttp1MaxContentLength());
   }
 
   /**
@@ -0,0 +1,59 @@
+package com.decoded.cauldron.netty;
+
+import com.decoded.cauldron.internal.routing.PathRouter;
+import com.decoded.cauldron.netty.context.NettyHttpRequestContext;
+import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
+
+/**
+ * Aggregates http1 requests, except the requests of {@link com.decoded.cauldron.api.annotation.BodyStream} endpoints. Those are passed
+ * through as the request head followed by its chunks, so the handler can stream the body to the endpoint instead of buffering it.
+ *
+ * <p>The heads of requests with a body are routed here, and the route is handed to the handler as a {@link RoutedRequest} channel attribute
+ * so the handler does not route the request again.
+ */
+/*package-private*/ class NettyRequestAggregator extends HttpObjectAggregator {
+  private final PathRouter<? extends NettyHttpNetworkResource> router;
+  private ChannelHandlerContext ctx;
+  private boolean streaming;
+
+  /**
+   * Constructor.
+   *
+   * @param maxContentLength the maximum length of an aggregated request body
+   * @param router           the router of resources, to find the endpoint of a request
+   */
+  NettyRequestAggregator(int maxContentLength, PathRouter<? extends NettyHttpNetworkResource> router) {
+    super(maxContentLength);
+    this.router = router;
+  }
+
+  @Override
+  public void handlerAdded(final ChannelHandlerContext ctx) throws Exception {
+    this.ctx = ctx;
+    super.handlerAdded(ctx);
+  }
+
+  @Override
+  public boolean acceptInboundMessage(final Object msg) throws Exception {
+    if (msg instanceof HttpRequest) {
+      // the chunks of a request follow its head, and are let through or aggregated along with it
+      streaming = !(msg instanceof FullHttpRequest) && streamsBody((HttpRequest) msg);
+    }
+    return !streaming && super.acceptInboundMessage(msg);
+  }
+
+  private boolean streamsBody(HttpRequest request) {
+    if (!HttpUtil.isContentLengthSet(request) && !HttpUtil.isTransferEncodingChunked(request)) {
+      return false;
+    }
+
+    RoutedRequest routedRequest = RoutedRequest.route(router, request, new NettyHttpRequestContext(null).setRequest(request));
+    ctx.channel().attr(RoutedRequest.ATTRIBUTE).set(routedRequest);
+    return routedRequest.getEntry() != null && routedRequest.getEntry().isBodyStream();
+  }
+}
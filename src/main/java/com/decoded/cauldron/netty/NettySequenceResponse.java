@@ -0,0 +1,355 @@
+package com.decoded.cauldron.netty;
+
+import com.decoded.cauldron.api.network.codec.SequenceEncoder;
+import com.decoded.cauldron.api.network.codec.StreamingServerCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Writes a sequence result, a {@link Stream}, {@link Iterator} or {@link Publisher}, as a chunked response, or as a body ended by closing
+ * the connection when the head is not chunked. Elements are encoded one at a
+ * time into buffers from the channel's allocator, and sent in chunks of at least {@link #CHUNK_SIZE} bytes. All of the state is confined to the
+ * channel's event loop.
+ *
+ * <p>Elements are only produced while the channel is writable: iteration stops, and no more elements are requested from a publisher, once
+ * the outbound buffer passes its high water mark, and resumes when the handler sees the channel become writable again. A slow client holds
+ * back the endpoint rather than the whole result being buffered for it.
+ *
+ * <p>The response head is written with the first chunk, so a sequence which fails before its first element is answered with an error response
+ * by the handler. A failure after that truncates the response by closing the connection, since the status has been sent.
+ */
+/*package-private*/ class NettySequenceResponse implements Subscriber<Object> {
+  /**
+   * The size a chunk grows to before it is written.
+   */
+  static final int CHUNK_SIZE = 8192;
+  // the chunks written per run before an iterator yields the event loop to other channels
+  private static final int MAX_CHUNKS_PER_RUN = 16;
+  // the elements requested from a publisher at a time
+  private static final int PUBLISHER_BATCH_SIZE = 64;
+
+  private final ChannelHandlerContext ctx;
+  private final HttpResponse head;
+  private final boolean keepAlive;
+  private final BiConsumer<NettySequenceResponse, Throwable> onDone;
+  private final SequenceEncoder encoder;
+  private ByteBuf chunk;
+  private boolean headWritten;
+  private boolean done;
+  private Iterator<?> iterator;
+  private AutoCloseable closeable;
+  private Subscription subscription;
+  private long requested;
+  private boolean flushScheduled;
+
+  /**
+   * Constructor.
+   *
+   * @param ctx         the {@link ChannelHandlerContext} of the request
+   * @param head        the response head, with every header but the body's set
+   * @param keepAlive   false to close the connection after the response
+   * @param codec       the codec the elements are encoded with
+   * @param elementType the declared type of the elements
+   * @param delimited   true to write newline delimited elements rather than an array
+   * @param onDone      called once the response ends, with null if it was written completely or the failure
+   *
+   * @throws IOException if the codec cannot open the sequence
+   */
+  NettySequenceResponse(ChannelHandlerContext ctx,
+                        HttpResponse head,
+                        boolean keepAlive,
+                        StreamingServerCodec codec,
+                        Type elementType,
+                        boolean delimited,
+                        BiConsumer<NettySequenceResponse, Throwable> onDone) throws IOException {
+    this.ctx = ctx;
+    this.head = head;
+    this.keepAlive = keepAlive;
+    this.onDone = onDone;
+    this.encoder = codec.openSequence(elementType, delimited, new ChunkOutputStream());
+    if (encoder == null) {
+      releaseChunk();
+      throw new IOException(codec.getClass().getSimpleName() + " cannot encode a sequence");
+    }
+  }
+
+  /**
+   * Starts writing the sequence. Must run on the event loop.
+   *
+   * @param sequence the {@link Stream}, {@link Iterator} or {@link Publisher}
+   */
+  @SuppressWarnings("unchecked")
+  void start(Object sequence) {
+    if (sequence instanceof Publisher) {
+      ((Publisher<Object>) sequence).subscribe(this);
+      return;
+    }
+
+    if (sequence instanceof Stream) {
+      closeable = (Stream<?>) sequence;
+      iterator = ((Stream<?>) sequence).iterator();
+    } else {
+      iterator = (Iterator<?>) sequence;
+    }
+    writeElements();
+  }
+
+  /**
+   * Returns true once the response head has been written, after which a failure can no longer be answered with an error response.
+   *
+   * @return true if the head was written
+   */
+  boolean isHeadWritten() {
+    return headWritten;
+  }
+
+  /**
+   * Resumes producing elements once the channel is writable again. Must run on the event loop.
+   */
+  void resume() {
+    if (done || !ctx.channel().isWritable()) {
+      return;
+    }
+
+    if (iterator != null) {
+      writeElements();
+    } else {
+      requestElements();
+    }
+  }
+
+  /**
+   * Stops the sequence without completing the response, e.g. when the connection closes. Must run on the event loop.
+   *
+   * @param cause the reason
+   */
+  void abort(Throwable cause) {
+    if (!done) {
+      end(cause);
+    }
+  }
+
+  @Override
+  public void onSubscribe(final Subscription subscription) {
+    execute(() -> {
+      if (this.subscription != null || done) {
+        subscription.cancel();
+        return;
+      }
+      this.subscription = subscription;
+      requestElements();
+    });
+  }
+
+  @Override
+  public void onNext(final Object element) {
+    // signals are always queued, so they keep their order whichever thread the publisher emits from
+    execute(() -> {
+      if (done) {
+        return;
+      }
+
+      requested--;
+      try {
+        writeElement(element);
+      } catch (Exception ex) {
+        fail(ex);
+        return;
+      }
+
+      scheduleFlush();
+      requestElements();
+    });
+  }
+
+  @Override
+  public void onError(final Throwable error) {
+    execute(() -> {
+      if (!done) {
+        fail(error);
+      }
+    });
+  }
+
+  @Override
+  public void onComplete() {
+    execute(() -> {
+      if (!done) {
+        finish();
+      }
+    });
+  }
+
+  private void writeElements() {
+    try {
+      int chunks = 0;
+      while (!done && ctx.channel().isWritable()) {
+        if (!iterator.hasNext()) {
+          finish();
+          return;
+        }
+
+        if (writeElement(iterator.next()) && ++chunks == MAX_CHUNKS_PER_RUN) {
+          ctx.executor().execute(this::resume);
+          return;
+        }
+      }
+    } catch (Exception ex) {
+      fail(ex);
+    }
+  }
+
+  /**
+   * Encodes an element, and writes the chunk once it is full.
+   *
+   * @return true if a chunk was written
+   */
+  private boolean writeElement(Object element) throws IOException {
+    encoder.write(element);
+    if (chunk == null || chunk.readableBytes() < CHUNK_SIZE) {
+      return false;
+    }
+
+    writeChunk();
+    return true;
+  }
+
+  private void requestElements() {
+    if (!done && subscription != null && requested == 0 && ctx.channel().isWritable()) {
+      requested = PUBLISHER_BATCH_SIZE;
+      subscription.request(PUBLISHER_BATCH_SIZE);
+    }
+  }
+
+  /**
+   * Writes whatever is encoded once the elements which are already queued are handled, so a publisher which emits slowly still has each
+   * element sent promptly while a burst of elements shares a chunk.
+   */
+  private void scheduleFlush() {
+    if (flushScheduled) {
+      return;
+    }
+
+    flushScheduled = true;
+    ctx.executor().execute(() -> {
+      flushScheduled = false;
+      if (done) {
+        return;
+      }
+      try {
+        encoder.flush();
+        if (chunk != null && chunk.isReadable()) {
+          writeChunk();
+        }
+      } catch (Exception ex) {
+        fail(ex);
+      }
+    });
+  }
+
+  private void writeChunk() {
+    ByteBuf content = chunk;
+    chunk = null;
+    writeHead();
+    ctx.writeAndFlush(new DefaultHttpContent(content));
+  }
+
+  private void writeHead() {
+    if (!headWritten) {
+      headWritten = true;
+      ctx.write(head);
+    }
+  }
+
+  private void finish() {
+    try {
+      encoder.close();
+    } catch (Exception ex) {
+      fail(ex);
+      return;
+    }
+
+    writeHead();
+    LastHttpContent last = chunk != null ? new DefaultLastHttpContent(chunk) : LastHttpContent.EMPTY_LAST_CONTENT;
+    chunk = null;
+    ChannelFuture future = ctx.writeAndFlush(last);
+    if (!keepAlive) {
+      future.addListener(ChannelFutureListener.CLOSE);
+    }
+    end(null);
+  }
+
+  private void fail(Throwable error) {
+    if (headWritten) {
+      // the status is sent, only a truncated response tells the client the sequence is incomplete
+      ctx.close();
+    }
+    end(error);
+  }
+
+  private void end(Throwable error) {
+    done = true;
+    releaseChunk();
+    if (subscription != null && error != null) {
+      subscription.cancel();
+    }
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (Exception ex) {
+        if (error != null) {
+          error.addSuppressed(ex);
+        }
+      }
+    }
+    onDone.accept(this, error);
+  }
+
+  private void releaseChunk() {
+    if (chunk != null) {
+      chunk.release();
+      chunk = null;
+    }
+  }
+
+  private void execute(Runnable task) {
+    ctx.executor().execute(task);
+  }
+
+  /**
+   * The output of the encoder, which writes into the current chunk and allocates the next one when the last was written.
+   */
+  private final class ChunkOutputStream extends OutputStream {
+    @Override
+    public void write(final int value) {
+      buffer().writeByte(value);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+      buffer().writeBytes(bytes, offset, length);
+    }
+
+    private ByteBuf buffer() {
+      if (chunk == null) {
+        chunk = ctx.alloc().buffer(CHUNK_SIZE);
+      }
+      return chunk;
+    }
+  }
+}
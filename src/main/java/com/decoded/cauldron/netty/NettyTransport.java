@@ -0,0 +1,128 @@
+package com.decoded.cauldron.netty;
+
+import com.decoded.cauldron.api.network.Transport;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Netty event loops and server channel of a {@link Transport}.
+ */
+public enum NettyTransport {
+  NIO {
+    @Override
+    public boolean isAvailable() {
+      return true;
+    }
+
+    @Override
+    public EventLoopGroup newEventLoopGroup(int threads) {
+      return new NioEventLoopGroup(threads);
+    }
+
+    @Override
+    public Class<? extends ServerSocketChannel> getServerChannelClass() {
+      return NioServerSocketChannel.class;
+    }
+
+    @Override
+    public boolean supportsReusePort() {
+      return false;
+    }
+
+    @Override
+    public void enableReusePort(ServerBootstrap bootstrap) {
+      throw new UnsupportedOperationException("SO_REUSEPORT is not supported by the NIO transport");
+    }
+  },
+  EPOLL {
+    @Override
+    public boolean isAvailable() {
+      return Epoll.isAvailable();
+    }
+
+    @Override
+    public EventLoopGroup newEventLoopGroup(int threads) {
+      return new EpollEventLoopGroup(threads);
+    }
+
+    @Override
+    public Class<? extends ServerSocketChannel> getServerChannelClass() {
+      return EpollServerSocketChannel.class;
+    }
+
+    @Override
+    public boolean supportsReusePort() {
+      return true;
+    }
+
+    @Override
+    public void enableReusePort(ServerBootstrap bootstrap) {
+      bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+    }
+  };
+
+  private static final Logger LOG = LoggerFactory.getLogger(NettyTransport.class);
+
+  /**
+   * Returns true if the transport can be used on this platform.
+   *
+   * @return true if available
+   */
+  public abstract boolean isAvailable();
+
+  /**
+   * Creates an event loop group of the transport.
+   *
+   * @param threads the number of event loops, or 0 for Netty's default of twice the number of cores
+   *
+   * @return an {@link EventLoopGroup}
+   */
+  public abstract EventLoopGroup newEventLoopGroup(int threads);
+
+  public abstract Class<? extends ServerSocketChannel> getServerChannelClass();
+
+  /**
+   * Returns true if several server channels of the transport can bind the same port, with the kernel spreading connections across them.
+   *
+   * @return true if SO_REUSEPORT is supported
+   */
+  public abstract boolean supportsReusePort();
+
+  /**
+   * Sets SO_REUSEPORT on the server channels of the bootstrap.
+   *
+   * @param bootstrap the {@link ServerBootstrap}
+   */
+  public abstract void enableReusePort(ServerBootstrap bootstrap);
+
+  /**
+   * Resolves the configured transport to one available on this platform.
+   *
+   * @param transport the configured {@link Transport}
+   *
+   * @return a {@link NettyTransport}
+   */
+  public static NettyTransport select(Transport transport) {
+    switch (transport) {
+      case NIO:
+        return NIO;
+      case EPOLL:
+        if (!EPOLL.isAvailable()) {
+          LOG.warn("The epoll transport is not available, falling back to NIO", Epoll.unavailabilityCause());
+          return NIO;
+        }
+        return EPOLL;
+      default:
+        return EPOLL.isAvailable() ? EPOLL : NIO;
+    }
+  }
+}
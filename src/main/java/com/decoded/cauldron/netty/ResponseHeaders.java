@@ -0,0 +1,73 @@
+package com.decoded.cauldron.netty;
+
+import com.decoded.cauldron.server.http.ConditionalRequests;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.util.AsciiString;
+import java.net.SocketAddress;
+
+/**
+ * The headers every response of a channel carries, precomputed as {@link AsciiString} so writing them costs no formatting or encoding. The
+ * Date is an RFC 1123 date shared by every channel, and formatted at most once per second.
+ */
+public class ResponseHeaders {
+  public static final AsciiString SERVER = AsciiString.cached("Cauldron Http Server - V 1.0");
+
+  private static volatile CachedDate cachedDate = new CachedDate(-1, null);
+
+  private final AsciiString host;
+
+  /**
+   * Constructor.
+   *
+   * @param localAddress the local address of the channel, sent as the Host header
+   */
+  public ResponseHeaders(SocketAddress localAddress) {
+    this.host = AsciiString.cached(String.valueOf(localAddress));
+  }
+
+  /**
+   * Sets the Date, Server and Host headers.
+   *
+   * @param headers the response headers
+   */
+  public void applyTo(HttpHeaders headers) {
+    headers.set(HttpHeaderNames.DATE, date());
+    headers.set(HttpHeaderNames.SERVER, SERVER);
+    headers.set(HttpHeaderNames.HOST, host);
+  }
+
+  public AsciiString getHost() {
+    return host;
+  }
+
+  /**
+   * Returns the current time as an RFC 1123 date, like <code>Sun, 06 Nov 1994 08:49:37 GMT</code>.
+   *
+   * @return the date
+   */
+  public static AsciiString date() {
+    return date(System.currentTimeMillis());
+  }
+
+  static AsciiString date(long epochMillis) {
+    long second = epochMillis / 1000;
+    CachedDate current = cachedDate;
+    if (current.second != second) {
+      // racing threads format the same second, and either result is fine to keep
+      current = new CachedDate(second, new AsciiString(ConditionalRequests.formatHttpDate(second * 1000)));
+      cachedDate = current;
+    }
+    return current.value;
+  }
+
+  private static final class CachedDate {
+    private final long second;
+    private final AsciiString value;
+
+    private CachedDate(long second, AsciiString value) {
+      this.second = second;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.decoded.cauldron.netty;
+
+import com.decoded.cauldron.api.network.http.EndpointEntry;
+import com.decoded.cauldron.internal.routing.PathRouter;
+import com.decoded.cauldron.netty.context.NettyHttpRequestContext;
+import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
+import com.decoded.cauldron.server.http.PathParameters;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.util.AttributeKey;
+
+/**
+ * The resource and endpoint a request routes to, resolved once per request. The aggregator routes the heads of requests with a body, to
+ * decide whether the body streams, and hands the route on to the handler through {@link #ATTRIBUTE} so it is not resolved again.
+ */
+/*package-private*/ final class RoutedRequest {
+  /**
+   * The channel attribute holding the route of the last request head the aggregator saw.
+   */
+  static final AttributeKey<RoutedRequest> ATTRIBUTE = AttributeKey.valueOf(RoutedRequest.class, "routedRequest");
+
+  private final HttpMethod method;
+  private final String uri;
+  private final PathParameters pathParameters;
+  private final NettyHttpNetworkResource resource;
+  private final EndpointEntry entry;
+  private final boolean unknownEndpointMethod;
+
+  private RoutedRequest(HttpRequest request,
+                        PathParameters pathParameters,
+                        NettyHttpNetworkResource resource,
+                        EndpointEntry entry,
+                        boolean unknownEndpointMethod) {
+    this.method = request.method();
+    this.uri = request.uri();
+    this.pathParameters = pathParameters;
+    this.resource = resource;
+    this.entry = entry;
+    this.unknownEndpointMethod = unknownEndpointMethod;
+  }
+
+  /**
+   * Routes a request, capturing its path parameters into the request context.
+   *
+   * @param router         the router of resources
+   * @param request        the request, or its head
+   * @param requestContext the context of the request
+   *
+   * @return the {@link RoutedRequest}
+   */
+  static RoutedRequest route(PathRouter<? extends NettyHttpNetworkResource> router, HttpRequest request, NettyHttpRequestContext requestContext) {
+    NettyHttpNetworkResource resource = router.route(request.uri(), requestContext.getPathParameters());
+    if (resource == null) {
+      return new RoutedRequest(request, requestContext.getPathParameters(), null, null, false);
+    }
+
+    try {
+      return new RoutedRequest(request, requestContext.getPathParameters(),
+          resource, resource.getEndpointEntry(requestContext.getCauldronRequestMethod()), false);
+    } catch (IllegalArgumentException ex) {
+      // the client named an endpoint method which doesn't exist
+      return new RoutedRequest(request, requestContext.getPathParameters(), resource, null, true);
+    }
+  }
+
+  /**
+   * Returns true if this is the route of the request, which may be the aggregate of the head this was routed from.
+   *
+   * @param request the request
+   *
+   * @return true if the method and uri match
+   */
+  boolean isFor(HttpRequest request) {
+    return method.equals(request.method()) && uri.equals(request.uri());
+  }
+
+  PathParameters getPathParameters() {
+    return pathParameters;
+  }
+
+  /**
+   * The resource of the request.
+   *
+   * @return the {@link NettyHttpNetworkResource}, or null if no resource matches the path
+   */
+  NettyHttpNetworkResource getResource() {
+    return resource;
+  }
+
+  /**
+   * The endpoint of the request.
+   *
+   * @return the {@link EndpointEntry}, or null if the resource has none for the endpoint method
+   */
+  EndpointEntry getEntry() {
+    return entry;
+  }
+
+  /**
+   * Returns true if the client named an endpoint method, in the <code>X-Cauldron-Http-Method</code> header, which doesn't exist.
+   *
+   * @return true if the endpoint method is unknown
+   */
+  boolean isUnknownEndpointMethod() {
+    return unknownEndpointMethod;
+  }
+}
@@ -0,0 +1,322 @@
+package com.decoded.cauldron.netty.cache;
+
+import com.decoded.cauldron.api.annotation.Cacheable;
+import com.decoded.cauldron.api.network.http.HeaderNames;
+import com.decoded.cauldron.api.network.http.MimeType;
+import com.decoded.cauldron.api.network.http.ResponseCache;
+import com.decoded.cauldron.api.network.http.ResponseDigest;
+import com.decoded.cauldron.netty.context.NettyHttpRequestContext;
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.IllegalReferenceCountException;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the encoded responses of a {@link Cacheable} endpoint.
+ *
+ * <p>Every cached response owns an unpooled copy of the encoded body, and a gzip compressed copy made for the first request which accepts
+ * gzip. Both are released when the response is evicted, replaced or invalidated. Responses served from the cache share those bytes through
+ * retained duplicates, and carry a Content-Encoding whenever they are compressed, so neither the codecs nor the pipeline's compressor touch
+ * them again. The compressed variant is a different representation, so it carries its own entity tag, and every cached response varies on
+ * Accept-Encoding.
+ */
+public class NettyResponseCache implements ResponseCache {
+  private static final String VARY_ACCEPT_ENCODING = HeaderNames.ACCEPT_ENCODING;
+  private static final String GZIP_ENTITY_TAG_SUFFIX = "-gzip";
+
+  private final Cache<String, CachedResponse> cache;
+
+  /**
+   * Constructor.
+   *
+   * @param cacheable the cache settings of the endpoint
+   */
+  public NettyResponseCache(Cacheable cacheable) {
+    // evicted responses are released on the thread which evicted them, rather than by a background pool
+    Caffeine<String, CachedResponse> builder = Caffeine.newBuilder()
+        .expireAfterWrite(cacheable.ttl(), cacheable.unit())
+        .executor(Runnable::run)
+        .recordStats()
+        .removalListener((String key, CachedResponse response, RemovalCause cause) -> {
+          if (response != null) {
+            response.release();
+          }
+        });
+
+    if (cacheable.maxBytes() > 0) {
+      builder.maximumWeight(cacheable.maxBytes()).weigher((String key, CachedResponse response) -> response.weight());
+    } else {
+      builder.maximumSize(cacheable.maxEntries());
+    }
+    this.cache = builder.build();
+  }
+
+  /**
+   * Builds the cache key of the request: the path, the query parameters sorted by name, and the negotiated mime type.
+   *
+   * @param requestContext the request context
+   * @param mimeType       the negotiated response mime type
+   *
+   * @return the key
+   */
+  public String key(NettyHttpRequestContext requestContext, MimeType mimeType) {
+    Map<String, List<String>> queryParameters = requestContext.getQueryParameters();
+    StringBuilder key = new StringBuilder(64).append(mimeType.toString()).append(' ').append(requestContext.getRequestPath());
+    if (!queryParameters.isEmpty()) {
+      char separator = '?';
+      for (Map.Entry<String, List<String>> parameter : new TreeMap<>(queryParameters).entrySet()) {
+        for (String value : parameter.getValue()) {
+          key.append(separator).append(parameter.getKey()).append('=').append(value);
+          separator = '&';
+        }
+      }
+    }
+    return key.toString();
+  }
+
+  /**
+   * Returns a new response for the cached response of the key.
+   *
+   * @param key  the cache key
+   * @param gzip whether to send the gzip compressed body
+   *
+   * @return a {@link FullHttpResponse}, or null if nothing is cached
+   */
+  public FullHttpResponse get(String key, boolean gzip) {
+    CachedResponse cached = cache.getIfPresent(key);
+    if (cached == null) {
+      return null;
+    }
+
+    try {
+      if (gzip && cached.compress()) {
+        // computing the same response again weighs it with its compressed copy
+        cache.asMap().computeIfPresent(key, (cachedKey, response) -> response);
+      }
+      return cached.toResponse(gzip);
+    } catch (IllegalReferenceCountException ex) {
+      // evicted and released while we were reading it
+      return null;
+    }
+  }
+
+  /**
+   * Caches a freshly built response. Responses which are not a successful entity are returned untouched, otherwise the response is released
+   * and an equivalent response sharing the cached bytes is returned in its place.
+   *
+   * @param key      the cache key
+   * @param response the response
+   * @param gzip     whether to send the gzip compressed body
+   *
+   * @return the {@link FullHttpResponse} to write
+   */
+  public FullHttpResponse put(String key, FullHttpResponse response, boolean gzip) {
+    if (!HttpResponseStatus.OK.equals(response.status()) || response.content().readableBytes() == 0) {
+      return response;
+    }
+
+    CachedResponse cached = new CachedResponse(response);
+    if (gzip) {
+      cached.compress();
+    }
+    // built before the response is published, once cached it can be replaced and released at any time
+    FullHttpResponse cachedResponse = cached.toResponse(gzip);
+    cache.put(key, cached);
+    response.release();
+    return cachedResponse;
+  }
+
+  /**
+   * Returns the entity tag of the gzip compressed variant of a response, which differs from the tag of its uncompressed bytes. A weak tag
+   * stays weak.
+   *
+   * @param entityTag the entity tag of the uncompressed response
+   *
+   * @return the entity tag of the compressed response
+   */
+  public static String gzipEntityTag(String entityTag) {
+    if (entityTag.length() > 1 && entityTag.endsWith("\"")) {
+      return entityTag.substring(0, entityTag.length() - 1) + GZIP_ENTITY_TAG_SUFFIX + '"';
+    }
+    return entityTag + GZIP_ENTITY_TAG_SUFFIX;
+  }
+
+  /**
+   * Returns true if the Accept-Encoding header of a request accepts gzip.
+   *
+   * @param acceptEncoding the Accept-Encoding header value, or null
+   *
+   * @return true if gzip is acceptable
+   */
+  public static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    for (String coding : acceptEncoding.split(",")) {
+      int parameters = coding.indexOf(';');
+      String name = (parameters < 0 ? coding : coding.substring(0, parameters)).trim();
+      if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+        return parameters < 0 || !isZeroQuality(coding.substring(parameters + 1));
+      }
+    }
+    return false;
+  }
+
+  private static boolean isZeroQuality(String parameters) {
+    for (String parameter : parameters.split(";")) {
+      String[] pair = parameter.trim().split("=", 2);
+      if (pair.length == 2 && pair[0].trim().equalsIgnoreCase("q")) {
+        try {
+          return Float.parseFloat(pair[1].trim()) <= 0f;
+        } catch (NumberFormatException ex) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  @Override
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  @Override
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  @Override
+  public long getSize() {
+    return cache.estimatedSize();
+  }
+
+  /**
+   * An encoded response, with the headers it is replayed with. Hits read it concurrently, a copy released while it is read fails with an
+   * {@link IllegalReferenceCountException}.
+   */
+  private static final class CachedResponse {
+    private final HttpHeaders headers;
+    private final ByteBuf content;
+    private volatile GzipVariant gzipVariant;
+    // guarded by this, so a variant is never compressed after the response is released
+    private boolean released;
+
+    private CachedResponse(FullHttpResponse response) {
+      this.headers = response.headers().copy()
+          .remove(HttpHeaderNames.DATE)
+          .remove(HttpHeaderNames.CONNECTION)
+          .remove(HttpHeaderNames.CONTENT_LENGTH)
+          .remove(HttpHeaderNames.SET_COOKIE);
+      String vary = headers.get(HttpHeaderNames.VARY);
+      if (vary == null) {
+        headers.set(HttpHeaderNames.VARY, VARY_ACCEPT_ENCODING);
+      } else if (!vary.toLowerCase().contains(VARY_ACCEPT_ENCODING.toLowerCase())) {
+        headers.set(HttpHeaderNames.VARY, vary + ", " + VARY_ACCEPT_ENCODING);
+      }
+
+      ByteBuf body = response.content();
+      this.content = Unpooled.directBuffer(body.readableBytes()).writeBytes(body, body.readerIndex(), body.readableBytes());
+    }
+
+    private int weight() {
+      GzipVariant gzip = gzipVariant;
+      return content.readableBytes() + (gzip != null ? gzip.content.readableBytes() : 0);
+    }
+
+    /**
+     * Compresses the content, unless that was already done.
+     *
+     * @return true if the content was compressed by this call
+     */
+    private synchronized boolean compress() {
+      if (gzipVariant != null) {
+        return false;
+      }
+      if (released) {
+        throw new IllegalReferenceCountException(0);
+      }
+
+      ByteBuf gzipContent = gzip(content);
+      HttpHeaders gzipHeaders = headers.copy().set(HttpHeaderNames.CONTENT_ENCODING, HttpHeaderValues.GZIP);
+      String entityTag = headers.get(HttpHeaderNames.ETAG);
+      if (entityTag != null) {
+        gzipHeaders.set(HttpHeaderNames.ETAG, gzipEntityTag(entityTag));
+      }
+      if (headers.contains(HeaderNames.CONTENT_MD5)) {
+        // the digest is of the bytes which are sent
+        gzipHeaders.set(HeaderNames.CONTENT_MD5, ResponseDigest.CONTENT_MD5.compute(gzipContent.nioBuffer()));
+      }
+      gzipVariant = new GzipVariant(gzipHeaders, gzipContent);
+      return true;
+    }
+
+    private FullHttpResponse toResponse(boolean gzip) {
+      GzipVariant variant = gzip ? gzipVariant : null;
+      ByteBuf body = (variant != null ? variant.content : content).retainedDuplicate();
+      FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, body);
+      response.headers().set(variant != null ? variant.headers : headers);
+      response.headers().set(HttpHeaderNames.CONTENT_LENGTH, body.readableBytes());
+      return response;
+    }
+
+    private synchronized void release() {
+      released = true;
+      content.release();
+      if (gzipVariant != null) {
+        gzipVariant.content.release();
+      }
+    }
+
+    private static ByteBuf gzip(ByteBuf content) {
+      ByteBuf compressed = Unpooled.directBuffer(content.readableBytes() / 2 + 32);
+      try (GZIPOutputStream output = new GZIPOutputStream(new ByteBufOutputStream(compressed))) {
+        content.getBytes(content.readerIndex(), output, content.readableBytes());
+        return compressed;
+      } catch (IOException ex) {
+        compressed.release();
+        throw new CauldronServerException("Could not compress the cached response", ex);
+      }
+    }
+  }
+
+  /**
+   * The gzip compressed copy of a cached response, with the headers it is replayed with.
+   */
+  private static final class GzipVariant {
+    private final HttpHeaders headers;
+    private final ByteBuf content;
+
+    private GzipVariant(HttpHeaders headers, ByteBuf content) {
+      this.headers = headers;
+      this.content = content;
+    }
+  }
+}
@@ -6,36 +6,38 @@ import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
 import com.decoded.cauldron.api.network.http.HeaderNames;
 import com.decoded.cauldron.api.network.http.HttpMethod;
 import com.decoded.cauldron.api.network.security.crypto.CryptographyService;
+import com.decoded.cauldron.netty.NettyHeaderNames;
 import com.decoded.cauldron.netty.handler.codec.http.EnhancedCookie;
 import com.decoded.cauldron.netty.handler.codec.http.EnhancedServerCookieEncoder;
-import com.decoded.cauldron.server.exception.CauldronServerException;
 import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+import com.decoded.cauldron.server.http.ConditionalRequests;
+import com.decoded.cauldron.server.http.PathParameters;
+import com.decoded.cauldron.server.http.QueryParameters;
 import com.decoded.cauldron.server.http.cookies.Cookie;
 import com.decoded.cauldron.server.http.cookies.Cookies;
-import com.google.common.collect.ImmutableSet;
-import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.multipart.Attribute;
 import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
 import io.netty.handler.codec.http.multipart.InterfaceHttpData;
-import io.netty.handler.codec.http.multipart.MixedAttribute;
+import io.netty.util.AsciiString;
 import io.netty.util.CharsetUtil;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.StringTokenizer;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -69,6 +71,15 @@ public class NettyHttpRequestContext implements CauldronHttpRequestContext {
   private Object result;
   private ChannelHandlerContext ctx;
   private CryptographyService cryptographyService = null;
+  private PathParameters pathParameters = new PathParameters();
+  private QueryParameters queryParameters;
+  private boolean bodyDecoded;
+  private QueryParameters formBodyParameters;
+  private HttpPostRequestDecoder bodyDecoder;
+  private final Map<String, List<String>> bodyParameters = new HashMap<>();
+  private String responseEntityTag;
+  private long responseLastModified = -1;
+  private NettyRequestBody requestBodyStream;
 
   /**
    * Constructor.
@@ -109,9 +120,36 @@ public class NettyHttpRequestContext implements CauldronHttpRequestContext {
    */
   public NettyHttpRequestContext setRequest(final HttpRequest request) {
     this.request = request;
+    this.queryParameters = null;
+    return this;
+  }
+
+  /**
+   * The path parameters of the request, filled in when the request is routed.
+   *
+   * @return the {@link PathParameters}
+   */
+  public PathParameters getPathParameters() {
+    return pathParameters;
+  }
+
+  /**
+   * Adopts the path parameters captured when the request was routed, before its context was created.
+   *
+   * @param pathParameters the {@link PathParameters}
+   *
+   * @return this context.
+   */
+  public NettyHttpRequestContext setPathParameters(final PathParameters pathParameters) {
+    this.pathParameters = pathParameters;
     return this;
   }
 
+  @Override
+  public String getPathParameter(final String parameterName) {
+    return pathParameters.get(parameterName);
+  }
+
   @Override
   public Object getResult() {
     return result;
@@ -122,6 +160,30 @@ public class NettyHttpRequestContext implements CauldronHttpRequestContext {
     this.result = result;
   }
 
+  @Override
+  public void setResponseEntityTag(final String entityTag) {
+    this.responseEntityTag = entityTag != null ? ConditionalRequests.quoteEntityTag(entityTag) : null;
+  }
+
+  public String getResponseEntityTag() {
+    return responseEntityTag;
+  }
+
+  @Override
+  public void setResponseLastModified(final long lastModified) {
+    this.responseLastModified = lastModified;
+  }
+
+  public long getResponseLastModified() {
+    return responseLastModified;
+  }
+
+  @Override
+  public boolean isNotModified() {
+    return ConditionalRequests.isNotModified(getRequestHeader(HttpHeaderNames.IF_NONE_MATCH), getRequestHeader(HttpHeaderNames.IF_MODIFIED_SINCE),
+        responseEntityTag, responseLastModified);
+  }
+
   /**
    * Constructor.
    *
@@ -161,28 +223,36 @@ public class NettyHttpRequestContext implements CauldronHttpRequestContext {
     if (response == null) {
       addedCookies.add(cookie);
     } else {
-      if (response instanceof FullHttpResponse) {
-        EnhancedCookie enhancedCookie = EnhancedServerCookieEncoder.formatCookie(cookie);
-        response.headers().add(HeaderNames.SET_COOKIE, EnhancedServerCookieEncoder.LAX.encode(enhancedCookie));
-      }
+      // the head of a sequence response is set before it is written, so its headers take the cookie too
+      EnhancedCookie enhancedCookie = EnhancedServerCookieEncoder.formatCookie(cookie);
+      response.headers().add(HeaderNames.SET_COOKIE, EnhancedServerCookieEncoder.LAX.encode(enhancedCookie));
     }
   }
 
+  @Override
+  public String getRequestHeader(final CharSequence headerName) {
+    return request.headers().get(headerName);
+  }
+
+  @Override
+  public Iterator<String> getRequestHeaderValues(final CharSequence headerName) {
+    return request.headers().valueStringIterator(headerName);
+  }
+
+  @Override
+  public boolean hasRequestHeader(final CharSequence headerName) {
+    return request.headers().contains(headerName);
+  }
+
   @Override
   public Set<String> getRequestHeaders(final String headerName) {
-    Set<String> results = new HashSet<String>();
-    request.headers().forEach(e -> {
-      if (e.getKey().equals(headerName)) {
-        results.add(e.getValue());
-      }
-    });
-    return results;
+    return new HashSet<>(request.headers().getAll(headerName));
   }
 
   @Override
   public Map<String, Set<String>> getRequestHeaders() {
     Map<String, Set<String>> results = new HashMap<>();
-    request.headers().forEach((mapEntry) -> results.put(mapEntry.getKey(), getRequestHeaders(mapEntry.getKey())));
+    request.headers().forEach(mapEntry -> results.computeIfAbsent(mapEntry.getKey(), n -> new HashSet<>()).add(mapEntry.getValue()));
     return results;
   }
 
@@ -194,60 +264,101 @@ public class NettyHttpRequestContext implements CauldronHttpRequestContext {
   }
 
   @Override
-  public List<String> getBodyParameters(final String parameterName) {
-    if (request == null) {
-      return Collections.emptyList();
+  public InputStream getRequestBody() {
+    if (!(request instanceof FullHttpRequest) || !((FullHttpRequest) request).content().isReadable()) {
+      return null;
+    }
+
+    // a duplicate shares the content, and leaves the request's reader index alone
+    return new ByteBufInputStream(((FullHttpRequest) request).content().duplicate());
+  }
+
+  @Override
+  public Publisher<ByteBuffer> getRequestBodyStream() {
+    return requestBodyStream;
+  }
+
+  /**
+   * Sets the streamed request body, which is discarded once the response is written if it has not been read to the end by then.
+   *
+   * @param requestBodyStream the {@link NettyRequestBody}
+   *
+   * @return this context.
+   */
+  public NettyHttpRequestContext setRequestBodyStream(final NettyRequestBody requestBodyStream) {
+    this.requestBodyStream = requestBodyStream;
+    return this;
+  }
+
+  /**
+   * Decodes the request body parameters, at most once per request. Url encoded forms are indexed in place like a query string, anything else
+   * goes through a single {@link HttpPostRequestDecoder} pass which is destroyed in {@link #release()}.
+   */
+  private void decodeBodyParameters() {
+    if (bodyDecoded) {
+      return;
+    }
+    bodyDecoded = true;
+
+    if (!(request instanceof FullHttpRequest)) {
+      return;
+    }
+
+    FullHttpRequest fullRequest = (FullHttpRequest) request;
+    String contentType = fullRequest.headers().get(HttpHeaderNames.CONTENT_TYPE);
+    if (contentType != null && AsciiString.regionMatches(contentType, true, 0, HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED, 0,
+        HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED.length())) {
+      String body = fullRequest.content().toString(CharsetUtil.UTF_8);
+      formBodyParameters = new QueryParameters(body, 0, body.length());
+      return;
     }
 
-    HttpPostRequestDecoder decoder = new HttpPostRequestDecoder(request);
     try {
-      List<InterfaceHttpData> postList = decoder.getBodyHttpDatas();
-      List<String> bodyParams = new ArrayList<>();
-      for (InterfaceHttpData data : postList) {
-        if (data.getName().equals(parameterName)) {
-          List<String> values = new ArrayList<>();
-          MixedAttribute value = (MixedAttribute) data;
-          value.setCharset(CharsetUtil.UTF_8);
-          values.add(value.getValue());
-          bodyParams.addAll(values);
+      bodyDecoder = new HttpPostRequestDecoder(fullRequest);
+      for (InterfaceHttpData data : bodyDecoder.getBodyHttpDatas()) {
+        if (data.getHttpDataType() == InterfaceHttpData.HttpDataType.Attribute) {
+          Attribute attribute = (Attribute) data;
+          attribute.setCharset(CharsetUtil.UTF_8);
+          bodyParameters.computeIfAbsent(data.getName(), n -> new ArrayList<>(2)).add(attribute.getValue());
         }
       }
-
-      decoder.destroy();
-      return bodyParams;
-    } catch (Exception e) {
-      LOG.error("Error getting body parameter values for: " + parameterName, e);
+    } catch (Exception ex) {
+      LOG.error("Error decoding body parameters", ex);
     }
+  }
 
-    return Collections.emptyList();
+  /**
+   * Releases the per request resources held by the context, like the body decoder. Called once the response is written.
+   */
+  public void release() {
+    if (bodyDecoder != null) {
+      bodyDecoder.destroy();
+      bodyDecoder = null;
+    }
+    if (requestBodyStream != null) {
+      requestBodyStream.discard();
+      requestBodyStream = null;
+    }
   }
 
   @Override
-  public Map<String, List<String>> getBodyParameters() {
-    if (request == null) {
-      return Collections.emptyMap();
+  public List<String> getBodyParameters(final String parameterName) {
+    decodeBodyParameters();
+    if (formBodyParameters != null) {
+      return formBodyParameters.getAll(parameterName);
     }
 
-    HttpPostRequestDecoder decoder = new HttpPostRequestDecoder(request);
-    try {
-      List<InterfaceHttpData> postList = decoder.getBodyHttpDatas();
-      Map<String, List<String>> bodyParamsMap = new HashMap<>();
-      for (InterfaceHttpData data : postList) {
-
-        List<String> values = new ArrayList<>();
-        MixedAttribute value = (MixedAttribute) data;
-        value.setCharset(CharsetUtil.UTF_8);
-        values.add(value.getValue());
-
-        bodyParamsMap.computeIfAbsent(data.getName(), n -> new ArrayList<>()).addAll(values);
-      }
+    return bodyParameters.getOrDefault(parameterName, Collections.emptyList());
+  }
 
-      return bodyParamsMap;
-    } catch (Exception e) {
-      LOG.error("Error getting body parameter values", e);
+  @Override
+  public Map<String, List<String>> getBodyParameters() {
+    decodeBodyParameters();
+    if (formBodyParameters != null) {
+      return formBodyParameters.toMap();
     }
 
-    return null;
+    return Collections.unmodifiableMap(bodyParameters);
   }
 
   @Override
@@ -260,48 +371,37 @@ public class NettyHttpRequestContext implements CauldronHttpRequestContext {
     return null;
   }
 
+  /**
+   * The query string index of the request, built on first use and shared by every lookup of the request.
+   *
+   * @return the {@link QueryParameters}
+   */
+  public QueryParameters getQueryParameterIndex() {
+    if (queryParameters == null) {
+      queryParameters = QueryParameters.fromUri(request.uri());
+    }
+    return queryParameters;
+  }
+
   @Override
   public String getQueryParameter(String parameterName) {
-    List<String> paramsOfName = getQueryParameters().get(parameterName);
-    if (paramsOfName == null || paramsOfName.isEmpty()) {
+    String value = getQueryParameterIndex().getFirst(parameterName);
+    if (value == null) {
       LOG.warn("No query parameter of name: " + parameterName + " was found in the request");
-      return null;
     }
 
-    return paramsOfName.get(0);
+    return value;
   }
 
   @Override
   public Map<String, List<String>> getQueryParameters() {
-    String qs = getQueryString();
-    StringTokenizer tokenizer = new StringTokenizer(qs, "&");
-    Map<String, List<String>> queryParams = new HashMap<>();
-
-    try {
-      while (tokenizer.hasMoreTokens()) {
-        String pairString = tokenizer.nextToken();
-        StringTokenizer pair = new StringTokenizer(pairString, "=");
-
-        String key = pair.hasMoreTokens() ? pair.nextToken() : null;
-        String value = pair.hasMoreTokens() ? pair.nextToken() : null;
-
-        Objects.requireNonNull(key);
-        Objects.requireNonNull(value);
-
-        queryParams.computeIfAbsent(key, t -> new ArrayList<>());
-        queryParams.get(key).add(value);
-      }
-    } catch (NullPointerException ex) {
-      throw new CauldronServerException("Error with query parameters", ex);
-    }
-    return queryParams;
+    return getQueryParameterIndex().toMap();
   }
 
-
   @Override
   public List<String> getQueryParameters(String parameterName) {
-    List<String> paramsOfName = getQueryParameters().get(parameterName);
-    if (paramsOfName == null || paramsOfName.isEmpty()) {
+    List<String> paramsOfName = getQueryParameterIndex().getAll(parameterName);
+    if (paramsOfName.isEmpty()) {
       LOG.warn("No query parameter values of name: " + parameterName + " was found in the request");
       return null;
     }
@@ -326,7 +426,7 @@ public class NettyHttpRequestContext implements CauldronHttpRequestContext {
     if (value == null) {
       LOG.warn("Can't set header " + headerName + " to NULL");
     } else {
-      response.headers().set(headerName, ImmutableSet.of(value));
+      response.headers().set(headerName, value);
     }
   }
 
@@ -337,24 +437,6 @@ public class NettyHttpRequestContext implements CauldronHttpRequestContext {
 
   @Override
   public CauldronHttpMethod getCauldronRequestMethod() {
-    return CauldronApi.getRequestEndpointMethod();
-  }
-
-  @Override
-  public String getResponseContentMD5() {
-    ByteBuf buffer;
-    try (ByteArrayOutputStream bos = new ByteArrayOutputStream(); ObjectOutputStream out = new ObjectOutputStream(bos)) {
-      out.writeObject(result);
-      out.flush();
-      buffer = Unpooled.wrappedBuffer(bos.toByteArray());
-      ByteBufInputStream is = new ByteBufInputStream(buffer);
-      String md5 = CauldronApi.computeContentMD5Header(is);
-      buffer.release();
-      return md5;
-    } catch (IOException ex) {
-      LOG.error("Error creating bytes", ex);
-    }
-
-    return "";
+    return CauldronApi.getRequestEndpointMethod(getRequestHeader(NettyHeaderNames.CAULDRON_HTTP_METHOD), getRequestMethod());
   }
 }
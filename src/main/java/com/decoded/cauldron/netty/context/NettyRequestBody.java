@@ -0,0 +1,236 @@
+package com.decoded.cauldron.netty.context;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.LastHttpContent;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Publishes the chunks of a request body as the channel reads them. All of the state is confined to the channel's event loop, subscribers
+ * may request and cancel from any thread.
+ *
+ * <p>A streamed body applies backpressure through the channel's auto read: whenever a chunk arrives which the subscriber has not asked for
+ * yet, reading from the connection stops until the waiting chunks are delivered. At most the chunks of a single read are held in memory,
+ * however large the body. A body published from an aggregated request never touches auto read, since the connection may be shared by other
+ * streams.
+ */
+public class NettyRequestBody implements Publisher<ByteBuffer> {
+  private static final Subscription REJECTED = new Subscription() {
+    @Override
+    public void request(long count) {
+    }
+
+    @Override
+    public void cancel() {
+    }
+  };
+
+  private final ChannelHandlerContext ctx;
+  private final boolean pausesReads;
+  private final ArrayDeque<ByteBuf> chunks = new ArrayDeque<>();
+  private Subscriber<? super ByteBuffer> subscriber;
+  private long demand;
+  private boolean received;
+  private Throwable error;
+  private boolean terminated;
+  private boolean draining;
+  private boolean readsPaused;
+
+  /**
+   * Constructor.
+   *
+   * @param ctx         the {@link ChannelHandlerContext} of the request
+   * @param pausesReads true to pause reading from the channel while chunks are waiting for demand
+   */
+  public NettyRequestBody(ChannelHandlerContext ctx, boolean pausesReads) {
+    this.ctx = ctx;
+    this.pausesReads = pausesReads;
+  }
+
+  /**
+   * Queues a chunk of the body, and delivers it if it is requested. The content is retained, the caller still releases its message. Must run
+   * on the event loop.
+   *
+   * @param content the {@link HttpContent}, a {@link LastHttpContent} ends the body
+   */
+  public void onContent(HttpContent content) {
+    if (!terminated && content.content().isReadable()) {
+      chunks.add(content.content().retain());
+    }
+    if (content instanceof LastHttpContent) {
+      received = true;
+    }
+    drain();
+  }
+
+  /**
+   * Fails the body, e.g. when the connection closes before it is received. Must run on the event loop.
+   *
+   * @param cause the failure
+   */
+  public void onError(Throwable cause) {
+    if (!received && error == null) {
+      error = cause;
+      drain();
+    }
+  }
+
+  /**
+   * Returns true once the last chunk of the body has been received.
+   *
+   * @return true if received
+   */
+  public boolean isReceived() {
+    return received;
+  }
+
+  /**
+   * Returns true while reads from the channel are paused until the subscriber catches up with the chunks already received.
+   *
+   * @return true if reads are paused
+   */
+  public boolean isPausingReads() {
+    return readsPaused;
+  }
+
+  /**
+   * Drops whatever is left of the body once the response is written, and lets the channel read the rest of it so the connection can be
+   * reused. A subscriber which is still reading is failed. Must run on the event loop.
+   */
+  public void discard() {
+    if (!terminated && subscriber != null && !(received && chunks.isEmpty())) {
+      terminate().onError(new IllegalStateException("The response was sent before the request body was read"));
+    }
+    terminated = true;
+    releaseChunks();
+    updateReads();
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber");
+    execute(() -> {
+      if (this.subscriber != null || terminated) {
+        subscriber.onSubscribe(REJECTED);
+        subscriber.onError(new IllegalStateException("The request body can only be subscribed to once"));
+        return;
+      }
+
+      this.subscriber = subscriber;
+      subscriber.onSubscribe(new BodySubscription());
+      drain();
+    });
+  }
+
+  private void request(long count) {
+    if (terminated) {
+      return;
+    }
+    if (count <= 0) {
+      releaseChunks();
+      terminate().onError(new IllegalArgumentException("Subscribers must request a positive number of chunks, not " + count));
+      updateReads();
+      return;
+    }
+
+    demand = demand + count < 0 ? Long.MAX_VALUE : demand + count;
+    drain();
+  }
+
+  private void cancel() {
+    terminated = true;
+    releaseChunks();
+    updateReads();
+  }
+
+  private void drain() {
+    if (draining) {
+      // a subscriber requesting more from onNext, the loop below picks it up
+      return;
+    }
+
+    draining = true;
+    try {
+      while (subscriber != null && !terminated) {
+        if (error != null) {
+          releaseChunks();
+          terminate().onError(error);
+        } else if (demand > 0 && !chunks.isEmpty()) {
+          demand--;
+          subscriber.onNext(copy(chunks.poll()));
+        } else if (received && chunks.isEmpty()) {
+          terminate().onComplete();
+        } else {
+          break;
+        }
+      }
+    } finally {
+      draining = false;
+    }
+    updateReads();
+  }
+
+  private Subscriber<? super ByteBuffer> terminate() {
+    terminated = true;
+    return subscriber;
+  }
+
+  /**
+   * Copies a chunk to the heap and releases it, so the subscriber may keep the bytes for as long as it likes.
+   */
+  private static ByteBuffer copy(ByteBuf chunk) {
+    try {
+      ByteBuffer copy = ByteBuffer.allocate(chunk.readableBytes());
+      chunk.getBytes(chunk.readerIndex(), copy);
+      copy.flip();
+      return copy;
+    } finally {
+      chunk.release();
+    }
+  }
+
+  private void releaseChunks() {
+    ByteBuf chunk;
+    while ((chunk = chunks.poll()) != null) {
+      chunk.release();
+    }
+  }
+
+  private void updateReads() {
+    if (!pausesReads) {
+      return;
+    }
+
+    boolean pause = !terminated && !received && !chunks.isEmpty();
+    if (pause != readsPaused) {
+      readsPaused = pause;
+      ctx.channel().config().setAutoRead(!pause);
+    }
+  }
+
+  private void execute(Runnable task) {
+    if (ctx.executor().inEventLoop()) {
+      task.run();
+    } else {
+      ctx.executor().execute(task);
+    }
+  }
+
+  private final class BodySubscription implements Subscription {
+    @Override
+    public void request(long count) {
+      execute(() -> NettyRequestBody.this.request(count));
+    }
+
+    @Override
+    public void cancel() {
+      execute(NettyRequestBody.this::cancel);
+    }
+  }
+}
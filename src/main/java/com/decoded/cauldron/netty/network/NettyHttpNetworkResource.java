@@ -1,7 +1,14 @@
 package com.decoded.cauldron.netty.network;
 
 import com.decoded.cauldron.api.network.http.HttpResource;
+import io.netty.util.AsciiString;
 
 
 public abstract class NettyHttpNetworkResource extends HttpResource {
+  // encoded once, responses copy the bytes straight into the header block
+  private final AsciiString allowHeader = AsciiString.cached(getAllowHeaderValue());
+
+  public AsciiString getAllowHeader() {
+    return allowHeader;
+  }
 }
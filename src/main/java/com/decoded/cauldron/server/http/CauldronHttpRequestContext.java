@@ -5,13 +5,37 @@ import com.decoded.cauldron.api.network.http.HttpMethod;
 import com.decoded.cauldron.api.network.security.crypto.CryptographyService;
 import com.decoded.cauldron.server.http.cookies.Cookie;
 import com.decoded.cauldron.server.http.cookies.Cookies;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.reactivestreams.Publisher;
 
 
 public interface CauldronHttpRequestContext {
 
+  /**
+   * Returns the first value of a request header. Header names are case-insensitive.
+   *
+   * @param headerName the header name, prefer constant {@link CharSequence} implementations the server can hash once
+   *
+   * @return the value, or null if the header is not present
+   */
+  String getRequestHeader(CharSequence headerName);
+
+  /**
+   * Iterates the values of a request header, without copying them. Header names are case-insensitive.
+   *
+   * @param headerName the header name
+   *
+   * @return an {@link Iterator} over the values, empty if the header is not present
+   */
+  Iterator<String> getRequestHeaderValues(CharSequence headerName);
+
+  boolean hasRequestHeader(CharSequence headerName);
+
   Set<String> getRequestHeaders(String headerName);
 
   Map<String, Set<String>> getRequestHeaders();
@@ -30,6 +54,8 @@ public interface CauldronHttpRequestContext {
 
   String getQueryString();
 
+  String getPathParameter(String parameterName);
+
   String getQueryParameter(String parameterName);
 
   Map<String, List<String>> getQueryParameters();
@@ -38,11 +64,48 @@ public interface CauldronHttpRequestContext {
 
   String getBodyParameter(String parameterName);
 
+  /**
+   * A stream over the request body entity, read in place without copying it.
+   *
+   * @return an {@link InputStream}, or null if the request has no body
+   */
+  InputStream getRequestBody();
+
+  /**
+   * The request body of an endpoint taking a {@link com.decoded.cauldron.api.annotation.BodyStream}, published chunk by chunk as it is
+   * received. The publisher accepts a single subscriber, and each chunk belongs to the subscriber once delivered.
+   *
+   * @return a {@link Publisher} of the body chunks, or null if the body is not streamed
+   */
+  Publisher<ByteBuffer> getRequestBodyStream();
+
   List<String> getBodyParameters(String parameterName);
 
   Map<String, List<String>> getBodyParameters();
 
-  String getResponseContentMD5();
+  /**
+   * Declares the entity tag of the response, for endpoints which know the version of what they return. GET requests with a matching
+   * If-None-Match are answered with a 304, without encoding the result.
+   *
+   * @param entityTag the entity tag, quoted unless it already is a quoted strong or weak tag
+   */
+  void setResponseEntityTag(String entityTag);
+
+  /**
+   * Declares when the response entity last changed. GET requests with an If-Modified-Since at or after it are answered with a 304, without
+   * encoding the result.
+   *
+   * @param lastModified the time in epoch milliseconds
+   */
+  void setResponseLastModified(long lastModified);
+
+  /**
+   * Returns true if the conditional headers of the request match the validators declared by the endpoint. Endpoints can check this after
+   * declaring a version, and skip loading the entity since the response will be a 304 anyway.
+   *
+   * @return true if the response is not modified
+   */
+  boolean isNotModified();
 
   Object getResult();
 
@@ -0,0 +1,112 @@
+package com.decoded.cauldron.server.http;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Evaluates the If-None-Match and If-Modified-Since preconditions of GET and HEAD requests against the validators of a response.
+ *
+ * @see <a href=https://tools.ietf.org/html/rfc7232>RFC 7232</a>
+ */
+public class ConditionalRequests {
+  private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+      .withZone(ZoneOffset.UTC);
+  private static final String WEAK_PREFIX = "W/";
+
+  private ConditionalRequests() {
+
+  }
+
+  /**
+   * Returns true if the request already holds the current representation, and can be answered with a 304. If-None-Match takes precedence, and
+   * If-Modified-Since is only evaluated when the request has no If-None-Match.
+   *
+   * @param ifNoneMatch     the If-None-Match request header, or null
+   * @param ifModifiedSince the If-Modified-Since request header, or null
+   * @param entityTag       the entity tag of the response, or null
+   * @param lastModified    the last modification of the response in epoch milliseconds, or a negative value if unknown
+   *
+   * @return true if the response is not modified
+   */
+  public static boolean isNotModified(String ifNoneMatch, String ifModifiedSince, String entityTag, long lastModified) {
+    if (ifNoneMatch != null) {
+      return entityTag != null && matchesEntityTag(ifNoneMatch, entityTag);
+    }
+
+    if (ifModifiedSince != null && lastModified >= 0) {
+      long since = parseHttpDate(ifModifiedSince);
+      // http dates have a one second resolution
+      return since >= 0 && lastModified / 1000 <= since / 1000;
+    }
+    return false;
+  }
+
+  /**
+   * Weak comparison of an If-None-Match header with an entity tag, weak and strong tags match if their opaque tags are equal.
+   *
+   * @param ifNoneMatch the If-None-Match request header
+   * @param entityTag   the entity tag of the response
+   *
+   * @return true if any of the listed tags, or <code>*</code>, matches
+   */
+  public static boolean matchesEntityTag(String ifNoneMatch, String entityTag) {
+    String opaqueTag = opaqueTag(entityTag);
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*") || opaqueTag(tag).equals(opaqueTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Quotes an entity tag supplied by an endpoint, unless it already is a quoted strong or weak tag.
+   *
+   * @param entityTag the entity tag, like <code>v12</code> or <code>W/"v12"</code>
+   *
+   * @return the quoted entity tag
+   */
+  public static String quoteEntityTag(String entityTag) {
+    String opaqueTag = opaqueTag(entityTag);
+    if (opaqueTag.length() > 1 && opaqueTag.charAt(0) == '"' && opaqueTag.charAt(opaqueTag.length() - 1) == '"') {
+      return entityTag;
+    }
+    return '"' + entityTag + '"';
+  }
+
+  /**
+   * Formats epoch milliseconds as an http date, like <code>Sun, 06 Nov 1994 08:49:37 GMT</code>.
+   *
+   * @param epochMillis the time in epoch milliseconds
+   *
+   * @return the http date
+   */
+  public static String formatHttpDate(long epochMillis) {
+    return HTTP_DATE.format(Instant.ofEpochMilli(epochMillis));
+  }
+
+  /**
+   * Parses an http date.
+   *
+   * @param httpDate the http date
+   *
+   * @return the time in epoch milliseconds, or -1 if the date is not valid
+   */
+  public static long parseHttpDate(String httpDate) {
+    try {
+      return ZonedDateTime.parse(httpDate.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+    } catch (DateTimeParseException ex) {
+      // an invalid date is ignored, as if the header was not sent
+      return -1;
+    }
+  }
+
+  private static String opaqueTag(String entityTag) {
+    return entityTag.startsWith(WEAK_PREFIX) ? entityTag.substring(WEAK_PREFIX.length()) : entityTag;
+  }
+}
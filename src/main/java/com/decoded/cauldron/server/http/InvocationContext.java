@@ -1,8 +1,18 @@
 package com.decoded.cauldron.server.http;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
+/**
+ * Holds the request context of the request being handled by the current thread.
+ *
+ * <p>The context is not inherited by threads the request starts, and does not follow work handed to other executors on its own. Code which
+ * hops threads captures it with {@link #wrap(Runnable)}, {@link #wrap(Callable)} or {@link #propagating(Executor)}, and the server binds it
+ * with {@link #bind(CauldronHttpRequestContext)} so it is always restored, even when the request fails. Endpoints which only need the context
+ * can declare a {@link CauldronHttpRequestContext} parameter instead of looking it up.
+ */
 public class InvocationContext {
-  static final InheritableThreadLocal<CauldronHttpRequestContext> requestContextThreadLocal = new InheritableThreadLocal<>();
+  static final ThreadLocal<CauldronHttpRequestContext> requestContextThreadLocal = new ThreadLocal<>();
 
   public static <X extends CauldronHttpRequestContext> X setRequestContext(X context) {
     requestContextThreadLocal.set(context);
@@ -16,4 +26,88 @@ public class InvocationContext {
   public static void clearRequestContext() {
     requestContextThreadLocal.remove();
   }
+
+  /**
+   * Binds the request context to the current thread until the returned scope is closed, which restores whatever was bound before.
+   *
+   * <pre>
+   * try (InvocationContext.Scope scope = InvocationContext.bind(context)) {
+   *   ...
+   * }
+   * </pre>
+   *
+   * @param context the request context, or null to run without one
+   *
+   * @return a {@link Scope}
+   */
+  public static Scope bind(CauldronHttpRequestContext context) {
+    CauldronHttpRequestContext previous = requestContextThreadLocal.get();
+    requestContextThreadLocal.set(context);
+    return new Scope(previous);
+  }
+
+  /**
+   * Captures the current request context, and binds it around the task wherever the task later runs.
+   *
+   * @param task the task
+   *
+   * @return a {@link Runnable} running the task with the captured context
+   */
+  public static Runnable wrap(Runnable task) {
+    CauldronHttpRequestContext captured = requestContextThreadLocal.get();
+    return () -> {
+      try (Scope scope = bind(captured)) {
+        task.run();
+      }
+    };
+  }
+
+  /**
+   * Captures the current request context, and binds it around the task wherever the task later runs.
+   *
+   * @param task the task
+   * @param <T>  the result type
+   *
+   * @return a {@link Callable} running the task with the captured context
+   */
+  public static <T> Callable<T> wrap(Callable<T> task) {
+    CauldronHttpRequestContext captured = requestContextThreadLocal.get();
+    return () -> {
+      try (Scope scope = bind(captured)) {
+        return task.call();
+      }
+    };
+  }
+
+  /**
+   * Wraps an executor so tasks run with the request context of the thread which submitted them. Useful as the executor of
+   * <code>CompletableFuture.supplyAsync</code> and friends inside endpoints.
+   *
+   * @param executor the executor
+   *
+   * @return an {@link Executor}
+   */
+  public static Executor propagating(Executor executor) {
+    return task -> executor.execute(wrap(task));
+  }
+
+  /**
+   * A request context binding, closing it restores the previous binding of the thread.
+   */
+  public static final class Scope implements AutoCloseable {
+    private final CauldronHttpRequestContext previous;
+
+    private Scope(CauldronHttpRequestContext previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      if (previous == null) {
+        requestContextThreadLocal.remove();
+      } else {
+        requestContextThreadLocal.set(previous);
+      }
+    }
+  }
 }
@@ -0,0 +1,73 @@
+package com.decoded.cauldron.server.http;
+
+import java.util.Arrays;
+
+/**
+ * Path variables captured while routing a request, e.g. <code>id</code> for the route <code>/candy/{id}</code>. Values are kept as offsets
+ * into the request URI and are only decoded when read.
+ */
+public class PathParameters {
+  private static final String[] NO_NAMES = new String[0];
+
+  private String uri;
+  private String[] names = NO_NAMES;
+  private int[] bounds = new int[8];
+  private int count;
+
+  /**
+   * Resets the captures for a new lookup against the URI.
+   *
+   * @param uri the request URI
+   */
+  public void reset(String uri) {
+    this.uri = uri;
+    this.names = NO_NAMES;
+    this.count = 0;
+  }
+
+  /**
+   * Records the bounds of the path variable at a position. Used by the router while matching.
+   *
+   * @param position the position of the variable in the route
+   * @param start    start offset in the URI (inclusive)
+   * @param end      end offset in the URI (exclusive)
+   */
+  public void capture(int position, int start, int end) {
+    if (position * 2 + 1 >= bounds.length) {
+      bounds = Arrays.copyOf(bounds, bounds.length * 2);
+    }
+    bounds[position * 2] = start;
+    bounds[position * 2 + 1] = end;
+  }
+
+  /**
+   * Completes a match, naming the captured variables.
+   *
+   * @param routeParameterNames the variable names of the matched route, in order
+   */
+  public void complete(String[] routeParameterNames) {
+    this.names = routeParameterNames;
+    this.count = routeParameterNames.length;
+  }
+
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Returns the decoded value of the named path variable.
+   *
+   * @param name the variable name
+   *
+   * @return the value, or null if the route has no such variable
+   */
+  public String get(String name) {
+    for (int idx = 0; idx < count; idx++) {
+      if (names[idx].equals(name)) {
+        return UriDecoder.decode(uri, bounds[idx * 2], bounds[idx * 2 + 1], false);
+      }
+    }
+
+    return null;
+  }
+}
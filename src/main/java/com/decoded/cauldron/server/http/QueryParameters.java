@@ -0,0 +1,178 @@
+package com.decoded.cauldron.server.http;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index over the query string of a request URI. The query string is scanned once, pairs are recorded as offsets into the URI, and names and
+ * values are only percent-decoded when they are read.
+ *
+ * <p>Pairs without a value (<code>?flag</code> or <code>?flag=</code>) have the empty string as their value.
+ */
+public class QueryParameters {
+  private static final int SLOTS_PER_PAIR = 4;
+
+  private final String source;
+  private int[] bounds;
+  private boolean[] encodedNames;
+  private int count;
+
+  /**
+   * Constructor.
+   *
+   * @param source the source, usually the request URI
+   * @param start  offset of the first character of the query string, after the <code>?</code>
+   * @param end    end offset of the query string (exclusive)
+   */
+  public QueryParameters(String source, int start, int end) {
+    this.source = source;
+    this.bounds = new int[SLOTS_PER_PAIR * 4];
+    this.encodedNames = new boolean[4];
+    index(start, end);
+  }
+
+  /**
+   * Builds the index over the query string of a request URI.
+   *
+   * @param uri the request URI
+   *
+   * @return {@link QueryParameters}, empty if the URI has no query string
+   */
+  public static QueryParameters fromUri(String uri) {
+    int queryStart = uri.indexOf('?');
+    if (queryStart < 0) {
+      return new QueryParameters(uri, uri.length(), uri.length());
+    }
+
+    int fragment = uri.indexOf('#', queryStart);
+    return new QueryParameters(uri, queryStart + 1, fragment < 0 ? uri.length() : fragment);
+  }
+
+  public int size() {
+    return count;
+  }
+
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * Returns true if the named parameter is present, with or without a value.
+   *
+   * @param name the parameter name
+   *
+   * @return true if present
+   */
+  public boolean contains(String name) {
+    return indexOf(name, 0) > -1;
+  }
+
+  /**
+   * Returns the first decoded value of the named parameter.
+   *
+   * @param name the parameter name
+   *
+   * @return the value, or null if the parameter is not present
+   */
+  public String getFirst(String name) {
+    int pair = indexOf(name, 0);
+    return pair < 0 ? null : value(pair);
+  }
+
+  /**
+   * Returns every decoded value of the named parameter, in request order.
+   *
+   * @param name the parameter name
+   *
+   * @return the values, empty if the parameter is not present
+   */
+  public List<String> getAll(String name) {
+    int pair = indexOf(name, 0);
+    if (pair < 0) {
+      return Collections.emptyList();
+    }
+
+    List<String> values = new ArrayList<>(2);
+    while (pair > -1) {
+      values.add(value(pair));
+      pair = indexOf(name, pair + 1);
+    }
+    return values;
+  }
+
+  /**
+   * Decodes every parameter into a map of name to values, in request order.
+   *
+   * @return a {@link Map} of parameter names to values
+   */
+  public Map<String, List<String>> toMap() {
+    Map<String, List<String>> map = new LinkedHashMap<>();
+    for (int pair = 0; pair < count; pair++) {
+      map.computeIfAbsent(name(pair), n -> new ArrayList<>(2)).add(value(pair));
+    }
+    return map;
+  }
+
+  private int indexOf(String name, int fromPair) {
+    for (int pair = fromPair; pair < count; pair++) {
+      int base = pair * SLOTS_PER_PAIR;
+      if (encodedNames[pair] ? name(pair).equals(name) : UriDecoder.rawEquals(source, bounds[base], bounds[base + 1], name)) {
+        return pair;
+      }
+    }
+    return -1;
+  }
+
+  private String name(int pair) {
+    int base = pair * SLOTS_PER_PAIR;
+    return UriDecoder.decode(source, bounds[base], bounds[base + 1], true);
+  }
+
+  private String value(int pair) {
+    int base = pair * SLOTS_PER_PAIR;
+    return UriDecoder.decode(source, bounds[base + 2], bounds[base + 3], true);
+  }
+
+  private void index(int start, int end) {
+    int pairStart = start;
+    while (pairStart < end) {
+      int pairEnd = source.indexOf('&', pairStart);
+      if (pairEnd < 0 || pairEnd > end) {
+        pairEnd = end;
+      }
+
+      int separator = pairStart;
+      boolean encodedName = false;
+      while (separator < pairEnd && source.charAt(separator) != '=') {
+        char c = source.charAt(separator);
+        encodedName |= c == '%' || c == '+';
+        separator++;
+      }
+
+      // skips empty pairs like "a=1&&b=2" and pairs without a name like "=x"
+      if (separator > pairStart) {
+        add(pairStart, separator, separator < pairEnd ? separator + 1 : pairEnd, pairEnd, encodedName);
+      }
+
+      pairStart = pairEnd + 1;
+    }
+  }
+
+  private void add(int nameStart, int nameEnd, int valueStart, int valueEnd, boolean encodedName) {
+    if ((count + 1) * SLOTS_PER_PAIR > bounds.length) {
+      bounds = Arrays.copyOf(bounds, bounds.length * 2);
+      encodedNames = Arrays.copyOf(encodedNames, encodedNames.length * 2);
+    }
+
+    int base = count * SLOTS_PER_PAIR;
+    bounds[base] = nameStart;
+    bounds[base + 1] = nameEnd;
+    bounds[base + 2] = valueStart;
+    bounds[base + 3] = valueEnd;
+    encodedNames[count++] = encodedName;
+  }
+}
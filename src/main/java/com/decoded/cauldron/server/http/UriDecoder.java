@@ -0,0 +1,84 @@
+package com.decoded.cauldron.server.http;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Percent-decoding for components of a request URI. Components are addressed by offsets into the original URI so that nothing is copied
+ * until a value is actually read.
+ */
+public class UriDecoder {
+
+  private UriDecoder() {
+
+  }
+
+  /**
+   * Decodes a component of the source string. Returns a plain substring when the component contains nothing to decode.
+   *
+   * @param source      the source, usually the request URI
+   * @param start       start offset (inclusive)
+   * @param end         end offset (exclusive)
+   * @param plusIsSpace true to decode <code>+</code> as a space, as form and query encodings do
+   *
+   * @return the decoded component
+   */
+  public static String decode(String source, int start, int end, boolean plusIsSpace) {
+    int firstEscape = -1;
+    for (int idx = start; idx < end; idx++) {
+      char c = source.charAt(idx);
+      if (c == '%' || (plusIsSpace && c == '+')) {
+        firstEscape = idx;
+        break;
+      }
+    }
+
+    if (firstEscape < 0) {
+      return source.substring(start, end);
+    }
+
+    byte[] bytes = new byte[end - start];
+    int length = 0;
+    StringBuilder builder = new StringBuilder(end - start);
+    builder.append(source, start, firstEscape);
+
+    for (int idx = firstEscape; idx < end; idx++) {
+      char c = source.charAt(idx);
+      if (c == '%' && idx + 2 < end && isHex(source.charAt(idx + 1)) && isHex(source.charAt(idx + 2))) {
+        // collect consecutive escapes so multi-byte utf-8 sequences decode together
+        bytes[length++] = (byte) ((Character.digit(source.charAt(idx + 1), 16) << 4) + Character.digit(source.charAt(idx + 2), 16));
+        idx += 2;
+        continue;
+      }
+
+      if (length > 0) {
+        builder.append(new String(bytes, 0, length, StandardCharsets.UTF_8));
+        length = 0;
+      }
+      builder.append(plusIsSpace && c == '+' ? ' ' : c);
+    }
+
+    if (length > 0) {
+      builder.append(new String(bytes, 0, length, StandardCharsets.UTF_8));
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * Compares a component of the source string with a name, without decoding or copying it.
+   *
+   * @param source the source
+   * @param start  start offset (inclusive)
+   * @param end    end offset (exclusive)
+   * @param name   the name to compare with
+   *
+   * @return true if the component equals the name
+   */
+  public static boolean rawEquals(String source, int start, int end, String name) {
+    return end - start == name.length() && source.regionMatches(start, name, 0, name.length());
+  }
+
+  private static boolean isHex(char c) {
+    return Character.digit(c, 16) >= 0;
+  }
+}
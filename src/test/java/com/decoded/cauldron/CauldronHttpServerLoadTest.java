@@ -8,8 +8,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.decoded.cauldron.api.config.HttpServerConfiguration;
+import com.decoded.cauldron.api.network.Transport;
 import com.decoded.cauldron.api.network.http.CauldronHeaderNames;
 import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
+import com.decoded.cauldron.api.network.http.DispatchMode;
 import com.decoded.cauldron.api.network.http.HeaderNames;
 import com.decoded.cauldron.api.network.http.MimeType;
 import com.decoded.cauldron.netty.NettyCauldronServer;
@@ -45,8 +48,13 @@ class CauldronHttpServerLoadTest extends CauldronServerBaseTest {
 
   @BeforeAll
   static void beforeAll() {
-    // load test on a new port
-    cauldronServer = new NettyCauldronServer().setPort(LOAD_TEST_PORT);
+    // load test on a new port, -Dcauldron.dispatchMode=EXECUTOR|VIRTUAL_THREAD compares the dispatch modes, -Dcauldron.transport=NIO|EPOLL
+    // and -Dcauldron.reusePort=true the transports
+    DispatchMode dispatchMode = DispatchMode.valueOf(System.getProperty("cauldron.dispatchMode", DispatchMode.EVENT_LOOP.name()));
+    Transport transport = Transport.valueOf(System.getProperty("cauldron.transport", Transport.AUTO.name()));
+    cauldronServer = new NettyCauldronServer().setHttpServerConfiguration(new HttpServerConfiguration().setDispatchMode(dispatchMode)
+        .setTransport(transport).setReusePort(Boolean.getBoolean("cauldron.reusePort")))
+        .setPort(LOAD_TEST_PORT);
 
     CompletableFuture<Void> startFuture = cauldronServer.start();
     System.out.println("-----------------------------START--------------------------------");
@@ -8,22 +8,43 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.decoded.cauldron.api.config.HttpServerConfiguration;
 import com.decoded.cauldron.api.network.http.CauldronHeaderNames;
 import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
 import com.decoded.cauldron.api.network.http.HeaderNames;
 import com.decoded.cauldron.api.network.http.MimeType;
+import com.decoded.cauldron.api.network.http.ResponseDigest;
+import com.decoded.cauldron.models.Candy;
 import com.decoded.cauldron.netty.NettyCauldronServer;
+import com.decoded.cauldron.netty.server.network.NettyCauldronHttpTestPathResource;
+import com.decoded.cauldron.netty.server.network.NettyCauldronHttpTestReactorResource;
+import com.decoded.cauldron.netty.server.network.NettyCauldronHttpTestSequenceResource;
 import com.decoded.cauldron.server.CauldronServer;
+import com.decoded.cauldron.server.http.ConditionalRequests;
 import com.decoded.cauldron.server.http.Status;
 import com.decoded.cauldron.test.util.AsyncUtils;
 import com.decoded.cauldron.test.util.CauldronServerBaseTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import kong.unirest.Headers;
 import kong.unirest.HttpResponse;
 import kong.unirest.JsonNode;
@@ -37,11 +58,15 @@ class CauldronHttpServerTest extends CauldronServerBaseTest {
   static final int SERVER_PORT = 8081;
   static final String SERVER_URI = String.format("http://localhost:%d/testNetty", SERVER_PORT);
 
+  static final int STREAMED_BODY_SIZE = 4 * 1024 * 1024;
+  static final Pattern STATUS_LINE = Pattern.compile("HTTP/1\\.[01] (\\d{3}) ");
+
   static CauldronServer cauldronServer;
 
   @BeforeAll
   static void beforeAll() {
-    cauldronServer = new NettyCauldronServer();
+    cauldronServer = new NettyCauldronServer().setHttpServerConfiguration(
+        new HttpServerConfiguration().setResponseDigest(ResponseDigest.ETAG).setHttp1MaxContentLength(STREAMED_BODY_SIZE / 4));
     CompletableFuture<Void> startFuture = cauldronServer.start();
     System.out.println("-----------------------------START--------------------------------");
     AsyncUtils.wait(startFuture.thenAccept((v) -> {
@@ -71,6 +96,8 @@ class CauldronHttpServerTest extends CauldronServerBaseTest {
         .queryString("id", "123")
         .asJson();
     assertContentType(getResponse.getHeaders(), MimeType.APPLICATION_JSON);
+    assertTrue(getResponse.getHeaders().getFirst(HeaderNames.ETAG).matches("\"[0-9a-f]{32}\""));
+    assertTrue(ConditionalRequests.parseHttpDate(getResponse.getHeaders().getFirst(HeaderNames.DATE)) > 0);
   }
 
   @Test
@@ -82,9 +109,100 @@ class CauldronHttpServerTest extends CauldronServerBaseTest {
         .asJson();
 
     assertEquals(404, getResponse.getStatus());
+    assertTrue(ConditionalRequests.parseHttpDate(getResponse.getHeaders().getFirst(HeaderNames.DATE)) > 0);
   }
 
 
+  @Test
+  void testUnknownEndpointMethod() {
+    HttpResponse<String> getResponse = Unirest.get(SERVER_URI)
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, "FETCH")
+        .queryString("id", "123")
+        .asString();
+    assertEquals(400, getResponse.getStatus());
+
+    // a request with a body is routed by the aggregator before it reaches the handler
+    HttpResponse<String> postResponse = Unirest.post(SERVER_URI)
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, "FETCH")
+        .header(HeaderNames.CONTENT_TYPE, MimeType.APPLICATION_JSON.toString())
+        .body("{}")
+        .asString();
+    assertEquals(400, postResponse.getStatus());
+
+    // the connection survives the bad request
+    HttpResponse<JsonNode> nextResponse = Unirest.get(SERVER_URI)
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .queryString("id", "123")
+        .asJson();
+    assertEquals(200, nextResponse.getStatus());
+  }
+
+  @Test
+  void testGetPathParameter() {
+    HttpResponse<JsonNode> getResponse = Unirest.get(SERVER_URI + "/candy/gummy%20bear")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .asJson();
+
+    assertEquals(200, getResponse.getStatus());
+    assertContentType(getResponse.getHeaders(), MimeType.APPLICATION_JSON);
+    assertEquals("gummy bear", getResponse.getBody().getObject().getString("id"));
+  }
+
+  @Test
+  void testGetOnEndpointExecutor() {
+    HttpResponse<JsonNode> getResponse = Unirest.get("http://localhost:8081/testNettyDispatch")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .queryString("id", "123")
+        .asJson();
+
+    assertEquals(200, getResponse.getStatus());
+    assertEquals("123", getResponse.getBody().getObject().getString("id"));
+    assertTrue(getResponse.getBody().getObject().getString("name").startsWith("cauldron-endpoint"));
+    assertEquals("/testNettyDispatch", getResponse.getBody().getObject().getJSONArray("ingredients").getString(0));
+  }
+
+  @Test
+  void testUnknownPath() {
+    HttpResponse<JsonNode> getResponse = Unirest.get(SERVER_URI + "/unknown")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .asJson();
+
+    assertEquals(404, getResponse.getStatus());
+  }
+
+  @Test
+  void testOptions() {
+    HttpResponse<String> optionsResponse = Unirest.options(SERVER_URI).asString();
+
+    assertEquals(200, optionsResponse.getStatus());
+    assertEquals("GET, HEAD, POST, PUT, DELETE, OPTIONS", optionsResponse.getHeaders().getFirst(HeaderNames.ALLOW));
+    assertTrue(optionsResponse.getBody() == null || optionsResponse.getBody().isEmpty());
+  }
+
+  @Test
+  void testHead() {
+    HttpResponse<String> headResponse = Unirest.head(SERVER_URI)
+        .queryString("id", "123")
+        .asString();
+
+    assertEquals(200, headResponse.getStatus());
+    assertContentType(headResponse.getHeaders(), MimeType.APPLICATION_JSON);
+    assertFalse(headResponse.getHeaders().get(HeaderNames.ALLOW).isEmpty());
+    assertTrue(headResponse.getBody() == null || headResponse.getBody().isEmpty());
+
+    // the same validators as the GET response it stands for
+    HttpResponse<String> getResponse = Unirest.get(SERVER_URI)
+        .queryString("id", "123")
+        .asString();
+    String entityTag = headResponse.getHeaders().getFirst(HeaderNames.ETAG);
+    assertTrue(entityTag.matches("\"[0-9a-f]{32}\""));
+    assertEquals(getResponse.getHeaders().getFirst(HeaderNames.ETAG), entityTag);
+    assertTrue(Integer.parseInt(headResponse.getHeaders().getFirst(HeaderNames.CONTENT_LENGTH)) > 0);
+  }
+
   @Test
   void testCustomErrorStatus() {
     HttpResponse<JsonNode> getResponse = Unirest.get(SERVER_URI)
@@ -109,6 +227,38 @@ class CauldronHttpServerTest extends CauldronServerBaseTest {
     assertContentType(getAsyncResponse.getHeaders(), MimeType.APPLICATION_JSON);
   }
 
+  @Test
+  void testGetAsyncFailure() {
+    HttpResponse<JsonNode> getAllAsyncResponse = Unirest.get("http://localhost:8081/testNettyAsync")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET_ALL.name())
+        .asJson();
+
+    assertEquals(Status.statusOf(Status.CONFLICT_409), getAllAsyncResponse.getStatus());
+  }
+
+  @Test
+  void testPipelinedResponsesInRequestOrder() throws IOException {
+    // the slow candy completes long after the second request is answered, its response must still come first
+    List<Integer> statuses = pipeline(
+        "GET /testNettyAsync?id=slow HTTP/1.1\r\nHost: localhost\r\n" + CauldronHeaderNames.CAULDRON_HTTP_METHOD + ": "
+            + CauldronHttpMethod.GET.name() + "\r\n\r\n",
+        "GET /testNettyMissing HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+
+    assertEquals(ImmutableList.of(200, Status.statusOf(Status.NOT_FOUND_404)), statuses);
+  }
+
+  @Test
+  void testErrorFromEndpointIsAnswered() throws IOException {
+    // the connection stays usable, the request queued behind the failed one is answered too
+    List<Integer> statuses = pipeline(
+        "GET /testNettyAsync?id=broken HTTP/1.1\r\nHost: localhost\r\n" + CauldronHeaderNames.CAULDRON_HTTP_METHOD + ": "
+            + CauldronHttpMethod.GET.name() + "\r\n\r\n",
+        "GET /testNettyMissing HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+
+    assertEquals(ImmutableList.of(Status.statusOf(Status.INTERNAL_SERVER_ERROR_500), Status.statusOf(Status.NOT_FOUND_404)), statuses);
+  }
+
   @Test
   void testDelete() {
     HttpResponse<JsonNode> deleteResponse = Unirest.delete(SERVER_URI)
@@ -139,6 +289,17 @@ class CauldronHttpServerTest extends CauldronServerBaseTest {
     assertContentType(getAllResponse.getHeaders(), MimeType.APPLICATION_JSON);
   }
 
+  @Test
+  void testHeaderNamesAreCaseInsensitive() {
+    HttpResponse<JsonNode> getAllResponse = Unirest.get(SERVER_URI)
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD.toLowerCase(), CauldronHttpMethod.GET_ALL.name())
+        .asJson();
+
+    assertEquals(200, getAllResponse.getStatus());
+    assertTrue(getAllResponse.getBody().isArray());
+  }
+
   @Test
   void testBatchGet() {
     HttpResponse<JsonNode> batchGetResponse = Unirest.get(SERVER_URI)
@@ -189,6 +350,427 @@ class CauldronHttpServerTest extends CauldronServerBaseTest {
     assertEmptyContentType(actionResponse.getHeaders());
   }
 
+  @Test
+  void testActionMultipart() {
+    Map<String, Object> fields = new HashMap<>();
+    fields.put("a", 1);
+    fields.put("b", 2L);
+    fields.put("c", 3.3F);
+    fields.put("d", 4.4D);
+    fields.put("e", "multi part");
+    fields.put("f", false);
+    fields.put("g", new BigInteger("5"));
+    fields.put("h", new BigDecimal("6.6"));
+
+    HttpResponse actionResponse = Unirest.post(SERVER_URI)
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.ACTION.name())
+        .fields(fields)
+        // a file part forces a multipart body
+        .field("note", "note".getBytes(StandardCharsets.UTF_8), "note.txt")
+        .asEmpty();
+
+    assertEquals(200, actionResponse.getStatus());
+    assertEquals(8, actionResponse.getHeaders().get(HeaderNames.SET_COOKIE).size());
+  }
+
+  @Test
+  void testGetSmile() throws IOException {
+    HttpResponse<byte[]> getResponse = Unirest.get(SERVER_URI)
+        .header(HeaderNames.ACCEPT, "application/json;q=0.5, " + MimeType.APPLICATION_SMILE)
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .queryString("id", "123")
+        .asBytes();
+
+    assertEquals(200, getResponse.getStatus());
+    assertContentType(getResponse.getHeaders(), MimeType.APPLICATION_SMILE);
+    assertEquals(HeaderNames.ACCEPT, getResponse.getHeaders().getFirst(HeaderNames.VARY));
+    assertEquals("Candy", new ObjectMapper(new SmileFactory()).readValue(getResponse.getBody(), Candy.class).name);
+  }
+
+  @Test
+  void testGetAllCbor() throws IOException {
+    HttpResponse<byte[]> getResponse = Unirest.get(SERVER_URI)
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_CBOR.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET_ALL.name())
+        .asBytes();
+
+    assertEquals(200, getResponse.getStatus());
+    assertContentType(getResponse.getHeaders(), MimeType.APPLICATION_CBOR);
+    assertFalse(new ObjectMapper(new CBORFactory()).readValue(getResponse.getBody(), Candy[].class)[0].id.isEmpty());
+  }
+
+  @Test
+  void testCreateFromJsonBody() {
+    HttpResponse<JsonNode> createResponse = Unirest.post(SERVER_URI)
+        .header(HeaderNames.CONTENT_TYPE, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.CREATE.name())
+        .body("{\"id\":\"123\",\"name\":\"Taffy\",\"ingredients\":[\"sugar\"]}")
+        .asJson();
+
+    assertEquals(200, createResponse.getStatus());
+    assertEquals("created-123", createResponse.getBody().getObject().getString("id"));
+    assertEquals("Taffy", createResponse.getBody().getObject().getString("name"));
+    assertEquals("sugar", createResponse.getBody().getObject().getJSONArray("ingredients").getString(0));
+  }
+
+  @Test
+  void testBatchCreateFromJsonBody() {
+    HttpResponse<JsonNode> createResponse = Unirest.post(SERVER_URI)
+        .header(HeaderNames.CONTENT_TYPE, MimeType.APPLICATION_JSON.toString() + "; charset=utf-8")
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.BATCH_CREATE.name())
+        .body("[{\"id\":\"1\",\"name\":\"Taffy\"},{\"id\":\"2\",\"name\":\"Fudge\"}]")
+        .asJson();
+
+    assertEquals(200, createResponse.getStatus());
+    assertEquals("Taffy", createResponse.getBody().getObject().getJSONObject("1").getString("name"));
+    assertEquals("Fudge", createResponse.getBody().getObject().getJSONObject("2").getString("name"));
+  }
+
+  @Test
+  void testUpdateWithoutOptionalJsonBody() {
+    // no body, and so no content type to reject
+    HttpResponse<JsonNode> withoutBody = Unirest.put(SERVER_URI)
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.UPDATE.name())
+        .asJson();
+    assertEquals(200, withoutBody.getStatus());
+    assertEquals("unchanged", withoutBody.getBody().getObject().getString("name"));
+
+    HttpResponse<JsonNode> withBody = Unirest.put(SERVER_URI)
+        .header(HeaderNames.CONTENT_TYPE, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.UPDATE.name())
+        .body("{\"id\":\"123\"}")
+        .asJson();
+    assertEquals(200, withBody.getStatus());
+    assertEquals("updated", withBody.getBody().getObject().getString("name"));
+  }
+
+  @Test
+  void testCreateFromInvalidJsonBody() {
+    HttpResponse<String> malformed = Unirest.post(SERVER_URI)
+        .header(HeaderNames.CONTENT_TYPE, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.CREATE.name())
+        .body("{\"id\":")
+        .asString();
+    assertEquals(400, malformed.getStatus());
+
+    HttpResponse<String> notJson = Unirest.post(SERVER_URI)
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.CREATE.name())
+        .field("id", "123")
+        .asString();
+    assertEquals(415, notJson.getStatus());
+  }
+
+  @Test
+  void testGetCached() {
+    String first = getCachedCandyName(ImmutableMap.of("id", "cached", "flavor", "mint"));
+    // the same query in another order is answered from the cache
+    assertEquals(first, getCachedCandyName(ImmutableMap.of("flavor", "mint", "id", "cached")));
+    assertFalse(first.equals(getCachedCandyName(ImmutableMap.of("id", "cached", "flavor", "lime"))));
+
+    HttpResponse<String> deleteResponse = Unirest.delete("http://localhost:8081/testNettyCache")
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.DELETE.name())
+        .queryString("id", "cached")
+        .asString();
+    assertEquals(200, deleteResponse.getStatus());
+
+    assertFalse(first.equals(getCachedCandyName(ImmutableMap.of("id", "cached", "flavor", "mint"))));
+  }
+
+  @Test
+  void testGetNotModified() {
+    HttpResponse<String> getResponse = Unirest.get(SERVER_URI)
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .queryString("id", "123")
+        .asString();
+    assertEquals(200, getResponse.getStatus());
+    String entityTag = getResponse.getHeaders().getFirst(HeaderNames.ETAG);
+
+    HttpResponse<String> conditionalResponse = Unirest.get(SERVER_URI)
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(HeaderNames.IF_NONE_MATCH, "\"other\", " + entityTag)
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .queryString("id", "123")
+        .asString();
+    assertEquals(304, conditionalResponse.getStatus());
+    assertEquals(entityTag, conditionalResponse.getHeaders().getFirst(HeaderNames.ETAG));
+    assertTrue(conditionalResponse.getBody() == null || conditionalResponse.getBody().isEmpty());
+
+    HttpResponse<String> changedResponse = Unirest.get(SERVER_URI)
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(HeaderNames.IF_NONE_MATCH, "\"other\"")
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .queryString("id", "123")
+        .asString();
+    assertEquals(200, changedResponse.getStatus());
+  }
+
+  @Test
+  void testGetNotModifiedByDeclaredVersion() {
+    HttpResponse<String> getResponse = Unirest.get(SERVER_URI + "/candy/gummy")
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .asString();
+    assertEquals(200, getResponse.getStatus());
+    assertEquals("\"v-gummy\"", getResponse.getHeaders().getFirst(HeaderNames.ETAG));
+    assertEquals(ConditionalRequests.formatHttpDate(NettyCauldronHttpTestPathResource.LAST_MODIFIED),
+        getResponse.getHeaders().getFirst(HeaderNames.LAST_MODIFIED));
+
+    HttpResponse<String> byEntityTag = Unirest.get(SERVER_URI + "/candy/gummy")
+        .header(HeaderNames.IF_NONE_MATCH, "W/\"v-gummy\"")
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .asString();
+    assertEquals(304, byEntityTag.getStatus());
+
+    HttpResponse<String> byDate = Unirest.get(SERVER_URI + "/candy/gummy")
+        .header(HeaderNames.IF_MODIFIED_SINCE, ConditionalRequests.formatHttpDate(NettyCauldronHttpTestPathResource.LAST_MODIFIED + 1000))
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .asString();
+    assertEquals(304, byDate.getStatus());
+
+    HttpResponse<String> modified = Unirest.get(SERVER_URI + "/candy/gummy")
+        .header(HeaderNames.IF_MODIFIED_SINCE, ConditionalRequests.formatHttpDate(NettyCauldronHttpTestPathResource.LAST_MODIFIED - 1000))
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .asString();
+    assertEquals(200, modified.getStatus());
+  }
+
+  @Test
+  void testCreateFromBodyStream() {
+    // larger than the aggregated body limit, since it is never aggregated
+    HttpResponse<String> createResponse = Unirest.post("http://localhost:8081/testNettyStream")
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.CREATE.name())
+        .body(new byte[STREAMED_BODY_SIZE])
+        .asString();
+
+    assertEquals(200, createResponse.getStatus());
+    assertEquals(String.valueOf(STREAMED_BODY_SIZE), createResponse.getBody());
+  }
+
+  @Test
+  void testUpdateFromBodyInputStream() {
+    HttpResponse<String> updateResponse = Unirest.put("http://localhost:8081/testNettyStream")
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.UPDATE.name())
+        .body(new byte[STREAMED_BODY_SIZE])
+        .asString();
+
+    assertEquals(200, updateResponse.getStatus());
+    assertEquals(String.valueOf(STREAMED_BODY_SIZE), updateResponse.getBody());
+  }
+
+  @Test
+  void testAggregatedBodyTooLarge() {
+    HttpResponse<String> createResponse = Unirest.post(SERVER_URI)
+        .header(HeaderNames.CONTENT_TYPE, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.CREATE.name())
+        .body(new byte[STREAMED_BODY_SIZE])
+        .asString();
+
+    assertEquals(413, createResponse.getStatus());
+  }
+
+  @Test
+  void testGetAllFromStream() throws IOException {
+    HttpResponse<String> getAllResponse = Unirest.get("http://localhost:8081/testNettySequence")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET_ALL.name())
+        .asString();
+
+    assertEquals(200, getAllResponse.getStatus());
+    assertContentType(getAllResponse.getHeaders(), MimeType.APPLICATION_JSON);
+    Candy[] candies = new ObjectMapper().readValue(getAllResponse.getBody(), Candy[].class);
+    assertEquals(NettyCauldronHttpTestSequenceResource.SEQUENCE_SIZE, candies.length);
+    assertEquals(String.valueOf(candies.length - 1), candies[candies.length - 1].id);
+  }
+
+  @Test
+  void testSequenceResponseSetsCookie() {
+    HttpResponse<String> getAllResponse = Unirest.get("http://localhost:8081/testNettySequence")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_NDJSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET_ALL.name())
+        .asString();
+
+    assertEquals(200, getAllResponse.getStatus());
+    List<String> cookieHeaders = getAllResponse.getHeaders().get(HeaderNames.SET_COOKIE);
+    assertEquals(1, cookieHeaders.size());
+    assertTrue(cookieHeaders.get(0).startsWith("last=" + (NettyCauldronHttpTestSequenceResource.SEQUENCE_SIZE - 1)));
+  }
+
+  @Test
+  void testGetAllFromStreamOverHttp10() throws IOException {
+    String response = exchange("GET /testNettySequence HTTP/1.0\r\nAccept: " + MimeType.APPLICATION_JSON + "\r\nAccept-Encoding: gzip\r\n"
+        + CauldronHeaderNames.CAULDRON_HTTP_METHOD + ": " + CauldronHttpMethod.GET_ALL.name() + "\r\n\r\n");
+    int bodyStart = response.indexOf("\r\n\r\n") + 4;
+
+    assertTrue(response.startsWith("HTTP/1.1 200 "));
+    // the client cannot read chunks, the body is ended by closing the connection
+    assertFalse(response.substring(0, bodyStart).toLowerCase().contains("transfer-encoding"));
+    Candy[] candies = new ObjectMapper().readValue(response.substring(bodyStart), Candy[].class);
+    assertEquals(NettyCauldronHttpTestSequenceResource.SEQUENCE_SIZE, candies.length);
+  }
+
+  @Test
+  void testPipelinedSequenceResponses() throws IOException {
+    String getAll = "GET /testNettySequence HTTP/1.1\r\nHost: localhost\r\nAccept: " + MimeType.APPLICATION_NDJSON + "\r\n"
+        + CauldronHeaderNames.CAULDRON_HTTP_METHOD + ": " + CauldronHttpMethod.GET_ALL.name() + "\r\n\r\n";
+    String response = exchange(getAll, getAll, "GET /testNettyMissing HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+
+    // each response starts after the last chunk of the one before
+    String[] responses = response.split("0\r\n\r\n(?=HTTP/1\\.1 )");
+    assertEquals(3, responses.length);
+    assertTrue(responses[0].startsWith("HTTP/1.1 200 "));
+    assertTrue(responses[1].startsWith("HTTP/1.1 200 "));
+    assertTrue(responses[2].startsWith("HTTP/1.1 404 "));
+  }
+
+  @Test
+  void testGetAllFromStreamAsNdjson() throws IOException {
+    HttpResponse<String> getAllResponse = Unirest.get("http://localhost:8081/testNettySequence")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_NDJSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET_ALL.name())
+        .asString();
+
+    assertEquals(200, getAllResponse.getStatus());
+    assertContentType(getAllResponse.getHeaders(), MimeType.APPLICATION_NDJSON);
+    String[] lines = getAllResponse.getBody().split("\n");
+    assertEquals(NettyCauldronHttpTestSequenceResource.SEQUENCE_SIZE, lines.length);
+    assertEquals("0", new ObjectMapper().readValue(lines[0], Candy.class).id);
+  }
+
+  @Test
+  void testGetFromPublisher() throws IOException {
+    HttpResponse<String> getResponse = Unirest.get("http://localhost:8081/testNettySequence")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .asString();
+
+    assertEquals(200, getResponse.getStatus());
+    assertEquals(NettyCauldronHttpTestSequenceResource.SEQUENCE_SIZE, new ObjectMapper().readValue(getResponse.getBody(), Candy[].class).length);
+  }
+
+  @Test
+  void testGetFromFailedPublisher() {
+    HttpResponse<String> getResponse = Unirest.get("http://localhost:8081/testNettySequence")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .queryString("id", "fail")
+        .asString();
+
+    assertEquals(409, getResponse.getStatus());
+  }
+
+  @Test
+  void testGetFromMono() {
+    HttpResponse<JsonNode> getResponse = Unirest.get("http://localhost:8081/testNettyReactor")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .queryString("id", "gummy")
+        .asJson();
+
+    assertEquals(200, getResponse.getStatus());
+    assertContentType(getResponse.getHeaders(), MimeType.APPLICATION_JSON);
+    // a Mono is a single value, not a sequence of one
+    assertEquals("gummy", getResponse.getBody().getObject().getString("id"));
+  }
+
+  @Test
+  void testGetFromEmptyAndFailedMono() {
+    HttpResponse<String> emptyResponse = Unirest.get("http://localhost:8081/testNettyReactor")
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .queryString("id", "none")
+        .asString();
+    assertEquals(404, emptyResponse.getStatus());
+
+    HttpResponse<String> failedResponse = Unirest.get("http://localhost:8081/testNettyReactor")
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .queryString("id", "fail")
+        .asString();
+    assertEquals(409, failedResponse.getStatus());
+  }
+
+  @Test
+  void testMonoCancelledWhenChannelCloses() throws Exception {
+    try (Socket socket = new Socket("localhost", SERVER_PORT)) {
+      OutputStream output = socket.getOutputStream();
+      output.write(("GET /testNettyReactor?id=never HTTP/1.1\r\nHost: localhost\r\n" + CauldronHeaderNames.CAULDRON_HTTP_METHOD + ": "
+          + CauldronHttpMethod.GET.name() + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+      output.flush();
+    }
+
+    assertTrue(NettyCauldronHttpTestReactorResource.CANCELLED.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testPipelinedMonoResponses() throws IOException {
+    String get = "GET /testNettyReactor?id=%s HTTP/1.1\r\nHost: localhost\r\n" + CauldronHeaderNames.CAULDRON_HTTP_METHOD + ": "
+        + CauldronHttpMethod.GET.name() + "\r\n%s\r\n";
+
+    // the failure is emitted at once, but waits for the candy emitted after a delay
+    List<Integer> statuses = pipeline(String.format(get, "gummy", ""), String.format(get, "fail", "Connection: close\r\n"));
+    assertEquals(ImmutableList.of(200, Status.statusOf(Status.CONFLICT_409)), statuses);
+  }
+
+  @Test
+  void testGetAllFromFlux() throws IOException {
+    HttpResponse<String> getAllResponse = Unirest.get("http://localhost:8081/testNettyReactor")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET_ALL.name())
+        .asString();
+
+    assertEquals(200, getAllResponse.getStatus());
+    Candy[] candies = new ObjectMapper().readValue(getAllResponse.getBody(), Candy[].class);
+    assertEquals(NettyCauldronHttpTestReactorResource.FLUX_SIZE, candies.length);
+    assertEquals("0", candies[0].id);
+  }
+
+  private String getCachedCandyName(Map<String, Object> queryParameters) {
+    HttpResponse<JsonNode> getResponse = Unirest.get("http://localhost:8081/testNettyCache")
+        .header(HeaderNames.ACCEPT, MimeType.APPLICATION_JSON.toString())
+        .header(HeaderNames.ACCEPT_ENCODING, "gzip")
+        .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+        .queryString(queryParameters)
+        .asJson();
+
+    assertEquals(200, getResponse.getStatus());
+    assertContentType(getResponse.getHeaders(), MimeType.APPLICATION_JSON);
+    assertTrue(getResponse.getHeaders().getFirst(HeaderNames.VARY).contains(HeaderNames.ACCEPT_ENCODING));
+    assertEquals("cached", getResponse.getBody().getObject().getString("id"));
+    return getResponse.getBody().getObject().getString("name");
+  }
+
+  /**
+   * Writes the requests at once, and returns the status of each response in the order they were read. The last request must close the
+   * connection.
+   */
+  private List<Integer> pipeline(String... requests) throws IOException {
+    List<Integer> statuses = new ArrayList<>();
+    Matcher matcher = STATUS_LINE.matcher(exchange(requests));
+    while (matcher.find()) {
+      statuses.add(Integer.parseInt(matcher.group(1)));
+    }
+    return statuses;
+  }
+
+  /**
+   * Writes the requests at once, and returns everything read until the server closes the connection.
+   */
+  private String exchange(String... requests) throws IOException {
+    try (Socket socket = new Socket("localhost", SERVER_PORT)) {
+      socket.setSoTimeout(10000);
+      OutputStream output = socket.getOutputStream();
+      output.write(String.join("", requests).getBytes(StandardCharsets.US_ASCII));
+      output.flush();
+
+      ByteArrayOutputStream received = new ByteArrayOutputStream();
+      InputStream input = socket.getInputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        received.write(buffer, 0, read);
+      }
+      return new String(received.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+  }
+
   private void assertContentType(Headers httpHeaders, MimeType mimeType) {
     assertFalse(httpHeaders.get(HeaderNames.CONTENT_TYPE).isEmpty());
     assertEquals(httpHeaders.get(HeaderNames.CONTENT_TYPE).get(0), mimeType.getMediaType());
@@ -0,0 +1,71 @@
+package com.decoded.cauldron.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.decoded.cauldron.api.network.TcpProtocol;
+import com.decoded.cauldron.api.network.Transport;
+import com.decoded.cauldron.api.network.http.DispatchMode;
+import com.decoded.cauldron.api.network.http.ResponseDigest;
+import com.typesafe.config.ConfigFactory;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class HttpServerConfigurationTest {
+
+  @Test
+  public void testFromConfig() {
+    HttpServerConfiguration configuration = HttpServerConfiguration.fromConfig(ConfigFactory.parseString(
+        "responseDigest = ETAG\n"
+            + "dispatchMode = EXECUTOR\n"
+            + "endpointExecutorThreads = 16\n"
+            + "protocol = HTTP_1_1\n"
+            + "idleTimeout = 45s\n"
+            + "transport { type = NIO, bossThreads = 2, ioThreads = 8, reusePort = true }\n"
+            + "socket { backlog = 4096, tcpNoDelay = false, receiveBufferSize = 128KiB, sendBufferSize = 262144 }\n"
+            + "allocator { pooled = false, preferDirect = false }\n"
+            + "writeBufferWaterMark { low = 64KiB, high = 256KiB }\n"
+            + "http1 { maxInitialLineLength = 8KiB, maxHeaderSize = 16KiB, maxContentLength = 1MiB }\n"
+            + "http2.maxContentLength = 2MiB\n"));
+
+    assertEquals(ResponseDigest.ETAG, configuration.getResponseDigest());
+    assertEquals(DispatchMode.EXECUTOR, configuration.getDispatchMode());
+    assertEquals(16, configuration.getEndpointExecutorThreads());
+    assertEquals(TcpProtocol.HTTP_1_1, configuration.getProtocol());
+    assertEquals(Duration.ofSeconds(45), configuration.getIdleTimeout());
+    assertEquals(Transport.NIO, configuration.getTransport());
+    assertEquals(2, configuration.getBossThreads());
+    assertEquals(8, configuration.getIoThreads());
+    assertTrue(configuration.isReusePort());
+    assertEquals(4096, configuration.getBacklog());
+    assertFalse(configuration.isTcpNoDelay());
+    assertEquals(128 * 1024, configuration.getReceiveBufferSize());
+    assertEquals(262144, configuration.getSendBufferSize());
+    assertFalse(configuration.isPooledAllocator());
+    assertFalse(configuration.isPreferDirectBuffers());
+    assertEquals(64 * 1024, configuration.getWriteBufferLowWaterMark());
+    assertEquals(256 * 1024, configuration.getWriteBufferHighWaterMark());
+    assertEquals(8 * 1024, configuration.getHttp1MaxInitialLineLength());
+    assertEquals(16 * 1024, configuration.getHttp1MaxHeaderSize());
+    assertEquals(1024 * 1024, configuration.getHttp1MaxContentLength());
+    assertEquals(2 * 1024 * 1024, configuration.getHttp2MaxContentLength());
+  }
+
+  @Test
+  public void testFromConfigKeepsDefaults() {
+    HttpServerConfiguration defaults = new HttpServerConfiguration();
+    HttpServerConfiguration configuration = HttpServerConfiguration.fromConfig(ConfigFactory.parseString("dispatchMode = DEFAULT\n"
+        + "socket.backlog = 512"));
+
+    assertEquals(512, configuration.getBacklog());
+    assertEquals(DispatchMode.EVENT_LOOP, configuration.getDispatchMode());
+    assertEquals(defaults.isTcpNoDelay(), configuration.isTcpNoDelay());
+    assertEquals(defaults.getProtocol(), configuration.getProtocol());
+    assertEquals(defaults.getIdleTimeout(), configuration.getIdleTimeout());
+    assertEquals(defaults.getWriteBufferHighWaterMark(), configuration.getWriteBufferHighWaterMark());
+    assertEquals(defaults.getHttp1MaxContentLength(), configuration.getHttp1MaxContentLength());
+    assertNull(configuration.getCodecRegistry());
+  }
+}
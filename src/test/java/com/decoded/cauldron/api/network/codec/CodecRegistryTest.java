@@ -0,0 +1,51 @@
+package com.decoded.cauldron.api.network.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.decoded.cauldron.api.network.http.MimeType;
+import org.junit.jupiter.api.Test;
+
+
+public class CodecRegistryTest {
+  private final CodecRegistry codecRegistry = CodecRegistry.withDefaults(false);
+
+  @Test
+  public void testDeclaredTypeWithoutPreference() {
+    assertEquals(MimeType.APPLICATION_JSON, codecRegistry.negotiate(null, MimeType.APPLICATION_JSON));
+    assertEquals(MimeType.APPLICATION_JSON, codecRegistry.negotiate("*/*", MimeType.APPLICATION_JSON));
+    assertEquals(MimeType.APPLICATION_JSON, codecRegistry.negotiate("application/*", MimeType.APPLICATION_JSON));
+    assertEquals(MimeType.APPLICATION_JSON, codecRegistry.negotiate("application/json, application/cbor", MimeType.APPLICATION_JSON));
+  }
+
+  @Test
+  public void testClientPreference() {
+    assertEquals(MimeType.APPLICATION_SMILE, codecRegistry.negotiate("application/x-jackson-smile", MimeType.APPLICATION_JSON));
+    assertEquals(MimeType.APPLICATION_CBOR, codecRegistry.negotiate("application/json;q=0.5, application/CBOR", MimeType.APPLICATION_JSON));
+    // ties go to the declared type
+    assertEquals(MimeType.APPLICATION_SMILE, codecRegistry.negotiate("application/cbor;q=0.4, */*;q=0.5", MimeType.APPLICATION_SMILE));
+    // the specific range wins over the wildcard
+    assertEquals(MimeType.APPLICATION_SMILE, codecRegistry.negotiate("application/json;q=0, */*", MimeType.APPLICATION_JSON));
+  }
+
+  @Test
+  public void testNothingAcceptableKeepsDeclaredType() {
+    assertEquals(MimeType.APPLICATION_JSON, codecRegistry.negotiate("image/png", MimeType.APPLICATION_JSON));
+  }
+
+  @Test
+  public void testOnlyObjectCodecsAreNegotiated() {
+    assertFalse(codecRegistry.isNegotiable(MimeType.TEXT_PLAIN));
+    assertTrue(codecRegistry.isNegotiable(MimeType.APPLICATION_JSON));
+    assertEquals(MimeType.TEXT_PLAIN, codecRegistry.negotiate("application/json", MimeType.TEXT_PLAIN));
+    assertEquals(MimeType.APPLICATION_JSON, codecRegistry.negotiate("text/plain", MimeType.APPLICATION_JSON));
+  }
+
+  @Test
+  public void testQuality() {
+    assertEquals(0.8f, CodecRegistry.quality("text/html, application/json; charset=utf-8 ;q=0.8", MimeType.APPLICATION_JSON));
+    assertEquals(1f, CodecRegistry.quality("application/json;q=bogus", MimeType.APPLICATION_JSON));
+    assertEquals(0f, CodecRegistry.quality("text/*", MimeType.APPLICATION_JSON));
+  }
+}
@@ -0,0 +1,112 @@
+package com.decoded.cauldron.api.network.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.decoded.cauldron.api.network.JacksonCodec;
+import com.decoded.cauldron.models.Candy;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.google.common.reflect.TypeToken;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+
+public class StreamingServerCodecTest {
+
+  @Test
+  public void testJacksonStreamsSameJson() throws IOException {
+    Candy candy = new Candy();
+    candy.id = "123";
+    candy.name = "Crème brûlée";
+    JacksonCodec codec = new JacksonCodec();
+
+    assertEquals(codec.encode(candy), streamed(codec, candy));
+  }
+
+  @Test
+  public void testJacksonEncodesWithItsObjectMapper() throws IOException {
+    Candy candy = new Candy();
+    candy.id = "123";
+    candy.name = null;
+    candy.ingredients = null;
+    JacksonCodec codec = new JacksonCodec(JacksonCodec.newObjectMapper(false).setSerializationInclusion(JsonInclude.Include.NON_NULL));
+
+    assertEquals("{\"id\":\"123\"}", codec.encode(candy));
+    assertEquals(codec.encode(candy), streamed(codec, candy));
+  }
+
+  @Test
+  public void testTextStreamsUtf8() throws IOException {
+    assertEquals("Crème brûlée", streamed(new TextCodec(), "Crème brûlée"));
+  }
+
+  @Test
+  public void testOutputIsNotClosed() throws IOException {
+    AtomicBoolean closed = new AtomicBoolean();
+    FilterOutputStream output = new FilterOutputStream(new ByteArrayOutputStream()) {
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+
+    new JacksonCodec().encode(new Candy(), output);
+    new TextCodec().encode("candy", output);
+    assertFalse(closed.get());
+  }
+
+  @Test
+  public void testDeclaredTypeKeepsSubclassProperties() throws IOException {
+    JacksonCodec codec = new JacksonCodec();
+    SpecialCandy candy = new SpecialCandy();
+    codec.prepare(Candy.class);
+
+    assertTrue(streamed(codec, candy, Candy.class).contains("\"wrapper\":\"gold\""));
+    assertTrue(streamed(codec, Collections.singletonList(candy), new TypeToken<List<Candy>>() { }.getType()).contains("\"wrapper\":\"gold\""));
+  }
+
+  @Test
+  public void testStaticDeclaredType() throws IOException {
+    Type type = new TypeToken<Map<String, List<String>>>() { }.getType();
+    JacksonCodec codec = new JacksonCodec();
+    codec.prepare(type);
+
+    assertEquals("{\"candy\":[\"sugar\"]}", streamed(codec, Collections.singletonMap("candy", Collections.singletonList("sugar")), type));
+  }
+
+  @Test
+  public void testAfterburnerStreamsSameJson() throws IOException {
+    Candy candy = new Candy();
+    candy.id = "123";
+    Type listType = new TypeToken<List<Candy>>() { }.getType();
+
+    assertEquals(streamed(new JacksonCodec(), Arrays.asList(candy, candy), listType),
+        streamed(new JacksonCodec(JacksonCodec.newObjectMapper(true)), Arrays.asList(candy, candy), listType));
+  }
+
+  private static String streamed(StreamingServerCodec codec, Object source, Type resultType) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    codec.encode(source, resultType, output);
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static String streamed(StreamingServerCodec codec, Object source) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    codec.encode(source, output);
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  public static class SpecialCandy extends Candy {
+    public String wrapper = "gold";
+  }
+}
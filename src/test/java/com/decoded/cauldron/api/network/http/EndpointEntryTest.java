@@ -0,0 +1,129 @@
+package com.decoded.cauldron.api.network.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.decoded.cauldron.api.annotation.BodyParam;
+import com.decoded.cauldron.api.annotation.BodyStream;
+import com.decoded.cauldron.api.annotation.HttpEndpoint;
+import com.decoded.cauldron.api.network.codec.CodecRegistry;
+import com.decoded.cauldron.api.network.codec.TextCodec;
+import com.decoded.cauldron.models.Candy;
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.google.common.reflect.TypeToken;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+public class EndpointEntryTest {
+
+  @Test
+  public void testResultType() throws Exception {
+    assertEquals(Candy.class, entry("candy").getResultType());
+    assertEquals(new TypeToken<List<Candy>>() { }.getType(), entry("candies").getResultType());
+  }
+
+  @Test
+  public void testCompletionStageResultType() throws Exception {
+    assertEquals(Candy.class, entry("futureCandy").getResultType());
+    assertEquals(new TypeToken<List<Candy>>() { }.getType(), entry("futureCandies").getResultType());
+  }
+
+  @Test
+  public void testReactorResultType() throws Exception {
+    assertEquals(Candy.class, entry("monoCandy").getResultType());
+    assertNull(entry("monoCandy").getElementType());
+    assertEquals(Candy.class, entry("fluxCandies").getElementType());
+    assertEquals(Candy.class, entry("streamCandies").getElementType());
+    assertNull(entry("candies").getElementType());
+
+    assertTrue(EndpointEntry.isSequence(Flux.just(new Candy())));
+    assertTrue(EndpointEntry.isSequence(Stream.empty()));
+    assertFalse(EndpointEntry.isSequence(Mono.just(new Candy())));
+  }
+
+  @Test
+  public void testBodyStream() throws Exception {
+    assertTrue(entry("publishedBody", Publisher.class).isBodyStream());
+    assertFalse(entry("publishedBody", Publisher.class).isBlockingBodyStream());
+    assertTrue(entry("blockingBody", InputStream.class).isBlockingBodyStream());
+    assertFalse(entry("candy").isBodyStream());
+    // the event loop which would deliver the body cannot block on reading it
+    assertThrows(CauldronServerException.class, () -> entry("blockingBodyOnEventLoop", InputStream.class));
+    assertThrows(CauldronServerException.class, () -> entry("bodyStreamAndParam", Publisher.class, String.class));
+  }
+
+  @Test
+  public void testResolveCodecs() throws Exception {
+    entry("candyBody", Candy.class).resolveCodecs(CodecRegistry.withDefaults(false));
+    // json body parameters are read with the jackson codec registered for json
+    assertThrows(CauldronServerException.class, () -> entry("candyBody", Candy.class)
+        .resolveCodecs(new CodecRegistry().register(MimeType.APPLICATION_JSON, new TextCodec())));
+  }
+
+  private static EndpointEntry entry(String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
+    return new EndpointEntry(Endpoints.class.getMethod(methodName, parameterTypes), MimeType.APPLICATION_JSON);
+  }
+
+  public static class Endpoints {
+    public Candy candy() {
+      return null;
+    }
+
+    public List<Candy> candies() {
+      return null;
+    }
+
+    public CompletionStage<Candy> futureCandy() {
+      return null;
+    }
+
+    public CompletableFuture<List<Candy>> futureCandies() {
+      return null;
+    }
+
+    public Mono<Candy> monoCandy() {
+      return null;
+    }
+
+    public Flux<Candy> fluxCandies() {
+      return null;
+    }
+
+    public Stream<Candy> streamCandies() {
+      return null;
+    }
+
+    public CompletableFuture<Long> publishedBody(@BodyStream Publisher<ByteBuffer> body) {
+      return null;
+    }
+
+    public Long blockingBody(@BodyStream InputStream body) {
+      return null;
+    }
+
+    @HttpEndpoint(method = CauldronHttpMethod.UPDATE, dispatch = DispatchMode.EVENT_LOOP)
+    public Long blockingBodyOnEventLoop(@BodyStream InputStream body) {
+      return null;
+    }
+
+    public Candy candyBody(@BodyParam(name = "candy") Candy candy) {
+      return null;
+    }
+
+    public Long bodyStreamAndParam(@BodyStream Publisher<ByteBuffer> body, @BodyParam(name = "name") String name) {
+      return null;
+    }
+  }
+}
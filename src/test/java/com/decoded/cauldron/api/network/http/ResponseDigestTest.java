@@ -0,0 +1,46 @@
+package com.decoded.cauldron.api.network.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+
+public class ResponseDigestTest {
+
+  @Test
+  public void testNone() {
+    assertNull(ResponseDigest.NONE.getHeaderName());
+    assertNull(ResponseDigest.NONE.compute(content("hello")));
+  }
+
+  @Test
+  public void testContentMD5() {
+    assertEquals(HeaderNames.CONTENT_MD5, ResponseDigest.CONTENT_MD5.getHeaderName());
+    assertEquals("XUFAKrxLKna5cZ2REBfFkg==", ResponseDigest.CONTENT_MD5.compute(content("hello")));
+  }
+
+  @Test
+  public void testETag() {
+    String etag = ResponseDigest.ETAG.compute(content("hello"));
+    assertEquals(HeaderNames.ETAG, ResponseDigest.ETAG.getHeaderName());
+    assertTrue(etag.matches("\"[0-9a-f]{32}\""));
+    assertEquals(etag, ResponseDigest.ETAG.compute(content("hello")));
+    assertNotEquals(etag, ResponseDigest.ETAG.compute(content("hellp")));
+  }
+
+  @Test
+  public void testDirectBuffer() {
+    ByteBuffer direct = ByteBuffer.allocateDirect(5);
+    direct.put("hello".getBytes(StandardCharsets.UTF_8)).flip();
+    assertEquals("XUFAKrxLKna5cZ2REBfFkg==", ResponseDigest.CONTENT_MD5.compute(direct));
+  }
+
+  private static ByteBuffer content(String value) {
+    return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
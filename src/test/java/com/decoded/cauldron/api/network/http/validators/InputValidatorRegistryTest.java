@@ -0,0 +1,84 @@
+package com.decoded.cauldron.api.network.http.validators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class InputValidatorRegistryTest {
+
+  @Test
+  public void testValidatorIsCreatedOnce() {
+    InputValidatorRegistry registry = new InputValidatorRegistry();
+    InputValidator<Object> validator = registry.getValidator(TestStringInputValidator.class);
+
+    assertSame(validator, registry.getValidator(TestStringInputValidator.class));
+    assertTrue(validator.validate("x"));
+    assertFalse(validator.validate(""));
+  }
+
+  @Test
+  public void testValidatorIsInjected() {
+    Injector injector = Guice.createInjector();
+    InputValidatorRegistry registry = injector.getInstance(InputValidatorRegistry.class);
+
+    assertSame(registry, injector.getInstance(InputValidatorRegistry.class));
+    assertTrue(registry.getValidator(MinLengthValidator.class).validate("abc"));
+    assertFalse(registry.getValidator(MinLengthValidator.class).validate("ab"));
+  }
+
+  @Test
+  public void testStatefulValidatorIsCreatedPerValidation() {
+    InputValidatorRegistry registry = new InputValidatorRegistry();
+    InputValidator<Object> validator = registry.getValidator(CountingValidator.class);
+    final int before = CountingValidator.CREATED.get();
+
+    validator.validate("a");
+    validator.validate("b");
+
+    assertSame(validator, registry.getValidator(CountingValidator.class));
+    assertEquals(2, CountingValidator.CREATED.get() - before);
+    assertNotSame(validator, registry.getValidator(TestStringInputValidator.class));
+  }
+
+  static class MinLength {
+    int get() {
+      return 3;
+    }
+  }
+
+  public static class MinLengthValidator implements InputValidator<String> {
+    private final MinLength minLength;
+
+    @Inject
+    public MinLengthValidator(MinLength minLength) {
+      this.minLength = minLength;
+    }
+
+    @Override
+    public boolean validate(final String value) {
+      return value.length() >= minLength.get();
+    }
+  }
+
+  @StatefulValidator
+  public static class CountingValidator implements InputValidator<String> {
+    static final AtomicInteger CREATED = new AtomicInteger();
+
+    public CountingValidator() {
+      CREATED.incrementAndGet();
+    }
+
+    @Override
+    public boolean validate(final String value) {
+      return true;
+    }
+  }
+}
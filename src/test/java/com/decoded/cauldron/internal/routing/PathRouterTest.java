@@ -0,0 +1,68 @@
+package com.decoded.cauldron.internal.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.decoded.cauldron.server.exception.CauldronServerException;
+import com.decoded.cauldron.server.http.PathParameters;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+
+public class PathRouterTest {
+  private final PathRouter<String> router = PathRouter.compile(ImmutableMap.<String, String>builder()
+      .put("/candy", "candy")
+      .put("/candy/all", "all")
+      .put("/candy/{id}", "byId")
+      .put("/candy/{id}/wrappers/{wrapper}", "wrapper")
+      .put("/candies", "candies")
+      .put("/", "root")
+      .build());
+
+  @Test
+  public void testStaticRoutes() {
+    PathParameters pathParameters = new PathParameters();
+    assertEquals("candy", router.route("/candy", pathParameters));
+    assertEquals("candy", router.route("/candy/?x=1", pathParameters));
+    assertEquals("candies", router.route("/candies?x=/candy", pathParameters));
+    assertEquals("root", router.route("/", pathParameters));
+    assertEquals(0, pathParameters.size());
+  }
+
+  @Test
+  public void testStaticWinsOverVariable() {
+    PathParameters pathParameters = new PathParameters();
+    assertEquals("all", router.route("/candy/all", pathParameters));
+    assertEquals(0, pathParameters.size());
+  }
+
+  @Test
+  public void testPathParameters() {
+    PathParameters pathParameters = new PathParameters();
+    assertEquals("byId", router.route("/candy/al?x=1", pathParameters));
+    assertEquals("al", pathParameters.get("id"));
+
+    assertEquals("wrapper", router.route("/candy/gummy%20bear/wrappers/foil", pathParameters));
+    assertEquals("gummy bear", pathParameters.get("id"));
+    assertEquals("foil", pathParameters.get("wrapper"));
+    assertNull(pathParameters.get("other"));
+  }
+
+  @Test
+  public void testNoMatch() {
+    PathParameters pathParameters = new PathParameters();
+    assertNull(router.route("/cand", pathParameters));
+    assertNull(router.route("/candy/a/b", pathParameters));
+    assertNull(router.route("/candy/a/wrappers", pathParameters));
+    assertNull(router.route("/candy//wrappers/foil", pathParameters));
+    assertEquals(0, pathParameters.size());
+  }
+
+  @Test
+  public void testInvalidRoutes() {
+    assertThrows(CauldronServerException.class, () -> PathRouter.compile(ImmutableMap.of("/a/{id}", "x", "/a/{other}/", "y")));
+    assertThrows(CauldronServerException.class, () -> PathRouter.compile(ImmutableMap.of("/a/x{id}", "x")));
+    assertThrows(CauldronServerException.class, () -> PathRouter.compile(ImmutableMap.of("/a/{}", "x")));
+  }
+}
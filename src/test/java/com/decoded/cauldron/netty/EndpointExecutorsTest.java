@@ -0,0 +1,66 @@
+package com.decoded.cauldron.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.decoded.cauldron.api.config.HttpServerConfiguration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+
+public class EndpointExecutorsTest {
+
+  @Test
+  public void testBoundedExecutorRejectsWhenFull() throws Exception {
+    ExecutorService executor = EndpointExecutors.newBoundedExecutor(
+        new HttpServerConfiguration().setEndpointExecutorThreads(1).setEndpointExecutorQueueSize(1));
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> {
+        await(release);
+        return Thread.currentThread().getName();
+      }, executor);
+      executor.execute(() -> await(release));
+
+      assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+
+      release.countDown();
+      assertTrue(running.get(5, TimeUnit.SECONDS).startsWith("cauldron-endpoint"));
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testVirtualThreadExecutor() throws Exception {
+    ExecutorService executor = EndpointExecutors.newVirtualThreadExecutor();
+    if (System.getProperty("java.specification.version").matches("1\\..*|[0-9]|1[0-9]|20")) {
+      assertNull(executor);
+      return;
+    }
+
+    assertNotNull(executor);
+    try {
+      Object virtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread())).get(5, TimeUnit.SECONDS);
+      assertEquals(Boolean.TRUE, virtual);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
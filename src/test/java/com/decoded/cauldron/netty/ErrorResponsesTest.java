@@ -0,0 +1,34 @@
+package com.decoded.cauldron.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.Test;
+
+public class ErrorResponsesTest {
+
+  @Test
+  public void testResponsesDoNotShareHeaders() {
+    FullHttpResponse first = ErrorResponses.of(HttpResponseStatus.NOT_FOUND);
+    first.headers().set(HttpHeaderNames.CONNECTION, "close");
+    first.release();
+
+    FullHttpResponse second = ErrorResponses.of(HttpResponseStatus.NOT_FOUND);
+    assertNotSame(first, second);
+    assertEquals(HttpResponseStatus.NOT_FOUND, second.status());
+    assertEquals("0", second.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+    assertFalse(second.headers().contains(HttpHeaderNames.CONNECTION));
+    assertEquals(0, second.content().readableBytes());
+  }
+
+  @Test
+  public void testUnmappedStatus() {
+    FullHttpResponse response = ErrorResponses.of(HttpResponseStatus.valueOf(599));
+    assertEquals(599, response.status().code());
+    assertEquals("0", response.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+  }
+}
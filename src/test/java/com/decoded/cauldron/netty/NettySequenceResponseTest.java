@@ -0,0 +1,193 @@
+package com.decoded.cauldron.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.decoded.cauldron.api.network.JacksonCodec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class NettySequenceResponseTest {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @Test
+  public void testWritesStreamAsArray() throws IOException {
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+    Outcome outcome = new Outcome();
+    AtomicBoolean closed = new AtomicBoolean();
+    List<String> elements = IntStream.range(0, 5000).mapToObj(i -> "element-" + i).collect(Collectors.toList());
+
+    newResponse(channel, false, outcome).start(elements.stream().onClose(() -> closed.set(true)));
+    channel.runPendingTasks();
+
+    assertTrue(outcome.done);
+    assertNull(outcome.error);
+    assertTrue(closed.get());
+    assertTrue(channel.readOutbound() instanceof HttpResponse);
+    Body body = readBody(channel);
+    assertTrue(body.chunks > 1);
+    assertEquals(elements, OBJECT_MAPPER.readValue(body.bytes, new TypeReference<List<String>>() { }));
+  }
+
+  @Test
+  public void testWritesDelimitedValues() throws IOException {
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+    Outcome outcome = new Outcome();
+
+    newResponse(channel, true, outcome).start(Arrays.asList("a", "b", "c").iterator());
+
+    assertTrue(outcome.done);
+    assertTrue(channel.readOutbound() instanceof HttpResponse);
+    assertEquals("\"a\"\n\"b\"\n\"c\"\n", new String(readBody(channel).bytes, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testPausesWhileNotWritable() throws IOException {
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+    Outcome outcome = new Outcome();
+    channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+
+    NettySequenceResponse response = newResponse(channel, false, outcome);
+    response.start(Arrays.asList(1, 2, 3).iterator());
+    assertFalse(outcome.done);
+    assertNull(channel.readOutbound());
+
+    channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+    response.resume();
+    assertTrue(outcome.done);
+    assertTrue(channel.readOutbound() instanceof HttpResponse);
+    assertEquals("[1,2,3]", new String(readBody(channel).bytes, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testRequestsFromPublisherInBatches() throws IOException {
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+    Outcome outcome = new Outcome();
+    List<Long> requests = new ArrayList<>();
+    AtomicReference<Subscriber<? super Object>> subscriber = new AtomicReference<>();
+    Publisher<Object> publisher = s -> {
+      subscriber.set(s);
+      s.onSubscribe(new Subscription() {
+        @Override
+        public void request(long count) {
+          requests.add(count);
+        }
+
+        @Override
+        public void cancel() {
+        }
+      });
+    };
+
+    newResponse(channel, false, outcome).start(publisher);
+    channel.runPendingTasks();
+    // the channel runs its pending tasks whenever it is written to, so each signal is handled before the next is emitted
+    for (int i = 0; i < 100; i++) {
+      subscriber.get().onNext(i);
+      channel.runPendingTasks();
+    }
+    subscriber.get().onComplete();
+    channel.runPendingTasks();
+
+    assertTrue(outcome.done);
+    assertNull(outcome.error);
+    assertEquals(Arrays.asList(64L, 64L), requests);
+    assertTrue(channel.readOutbound() instanceof HttpResponse);
+    assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()),
+        OBJECT_MAPPER.readValue(readBody(channel).bytes, new TypeReference<List<Integer>>() { }));
+  }
+
+  @Test
+  public void testFailureBeforeFirstElement() throws IOException {
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+    Outcome outcome = new Outcome();
+    IllegalStateException failure = new IllegalStateException("no candy");
+
+    NettySequenceResponse response = newResponse(channel, false, outcome);
+    response.start(Stream.generate(() -> {
+      throw failure;
+    }).iterator());
+
+    assertTrue(outcome.done);
+    assertEquals(failure, outcome.error);
+    assertFalse(response.isHeadWritten());
+    assertTrue(channel.isOpen());
+    assertNull(channel.readOutbound());
+  }
+
+  @Test
+  public void testAbortClosesStream() throws IOException {
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+    Outcome outcome = new Outcome();
+    AtomicBoolean closed = new AtomicBoolean();
+    channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+
+    NettySequenceResponse response = newResponse(channel, false, outcome);
+    response.start(Stream.of("a").onClose(() -> closed.set(true)));
+    IllegalStateException cause = new IllegalStateException("closed");
+    response.abort(cause);
+
+    assertTrue(closed.get());
+    assertEquals(cause, outcome.error);
+  }
+
+  private static NettySequenceResponse newResponse(EmbeddedChannel channel, boolean delimited, Outcome outcome) throws IOException {
+    return new NettySequenceResponse(channel.pipeline().firstContext(), new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK),
+        true, new JacksonCodec(), Object.class, delimited, (response, error) -> {
+          outcome.done = true;
+          outcome.error = error;
+        });
+  }
+
+  private static Body readBody(EmbeddedChannel channel) {
+    Body body = new Body();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    HttpContent content;
+    do {
+      content = channel.readOutbound();
+      byte[] chunk = new byte[content.content().readableBytes()];
+      content.content().readBytes(chunk);
+      bytes.write(chunk, 0, chunk.length);
+      content.release();
+      body.chunks++;
+    } while (!(content instanceof LastHttpContent));
+
+    body.bytes = bytes.toByteArray();
+    return body;
+  }
+
+  private static final class Outcome {
+    private boolean done;
+    private Throwable error;
+  }
+
+  private static final class Body {
+    private byte[] bytes;
+    private int chunks;
+  }
+}
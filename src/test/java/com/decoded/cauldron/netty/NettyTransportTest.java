@@ -0,0 +1,50 @@
+package com.decoded.cauldron.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.decoded.cauldron.api.config.HttpServerConfiguration;
+import com.decoded.cauldron.api.network.Transport;
+import com.decoded.cauldron.api.network.http.CauldronHeaderNames;
+import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
+import com.decoded.cauldron.server.CauldronServer;
+import com.decoded.cauldron.test.util.AsyncUtils;
+import io.netty.channel.epoll.Epoll;
+import kong.unirest.HttpResponse;
+import kong.unirest.JsonNode;
+import kong.unirest.Unirest;
+import org.junit.jupiter.api.Test;
+
+public class NettyTransportTest {
+  private static final int REUSE_PORT_TEST_PORT = 8083;
+
+  @Test
+  public void testSelect() {
+    assertEquals(NettyTransport.NIO, NettyTransport.select(Transport.NIO));
+    NettyTransport nativeOrNio = Epoll.isAvailable() ? NettyTransport.EPOLL : NettyTransport.NIO;
+    assertEquals(nativeOrNio, NettyTransport.select(Transport.AUTO));
+    assertEquals(nativeOrNio, NettyTransport.select(Transport.EPOLL));
+  }
+
+  @Test
+  public void testReusePortServesRequests() {
+    // binds one listening socket per event loop with epoll, and falls back to a single acceptor with NIO
+    CauldronServer cauldronServer = new NettyCauldronServer().setHttpServerConfiguration(new HttpServerConfiguration()
+        .setTransport(Transport.AUTO).setReusePort(true).setIoThreads(4))
+        .setPort(REUSE_PORT_TEST_PORT);
+    AsyncUtils.wait(cauldronServer.start(), 30000);
+
+    try {
+      for (int idx = 0; idx < 8; idx++) {
+        HttpResponse<JsonNode> getResponse = Unirest.get("http://localhost:" + REUSE_PORT_TEST_PORT + "/testNetty/candy/" + idx)
+            .header(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET.name())
+            .asJson();
+        assertEquals(200, getResponse.getStatus());
+        assertEquals(String.valueOf(idx), getResponse.getBody().getObject().getString("id"));
+      }
+    } finally {
+      AsyncUtils.wait(cauldronServer.stop(), 30000);
+    }
+    assertTrue(!cauldronServer.isStarted());
+  }
+}
@@ -0,0 +1,38 @@
+package com.decoded.cauldron.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.util.AsciiString;
+import java.net.InetSocketAddress;
+import org.junit.jupiter.api.Test;
+
+public class ResponseHeadersTest {
+  private static final long SECOND = 784111777000L;
+
+  @Test
+  public void testDateIsFormattedOncePerSecond() {
+    AsciiString date = ResponseHeaders.date(SECOND);
+    assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", date.toString());
+    assertSame(date, ResponseHeaders.date(SECOND + 999));
+
+    AsciiString nextDate = ResponseHeaders.date(SECOND + 1000);
+    assertNotSame(date, nextDate);
+    assertEquals("Sun, 06 Nov 1994 08:49:38 GMT", nextDate.toString());
+  }
+
+  @Test
+  public void testApplyTo() {
+    ResponseHeaders responseHeaders = new ResponseHeaders(new InetSocketAddress("127.0.0.1", 8081));
+    HttpHeaders headers = new DefaultHttpHeaders();
+    responseHeaders.applyTo(headers);
+
+    assertEquals(ResponseHeaders.SERVER.toString(), headers.get(HttpHeaderNames.SERVER));
+    assertEquals("/127.0.0.1:8081", headers.get(HttpHeaderNames.HOST));
+    assertEquals(ResponseHeaders.date().toString(), headers.get(HttpHeaderNames.DATE));
+  }
+}
@@ -0,0 +1,177 @@
+package com.decoded.cauldron.netty.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.decoded.cauldron.api.annotation.Cacheable;
+import com.decoded.cauldron.api.network.http.MimeType;
+import com.decoded.cauldron.netty.context.NettyHttpRequestContext;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+public class NettyResponseCacheTest {
+  private static final String BODY = "{\"id\":\"123\",\"name\":\"Candy\"}";
+
+  @Test
+  public void testKeyIgnoresQueryParameterOrder() throws NoSuchMethodException {
+    NettyResponseCache cache = new NettyResponseCache(cacheable("cached"));
+
+    String key = cache.key(requestContext("/candy?id=1&flavor=mint"), MimeType.APPLICATION_JSON);
+    assertEquals(key, cache.key(requestContext("/candy?flavor=mint&id=1"), MimeType.APPLICATION_JSON));
+    assertNotEquals(key, cache.key(requestContext("/candy?flavor=lime&id=1"), MimeType.APPLICATION_JSON));
+    assertNotEquals(key, cache.key(requestContext("/candy?id=1&flavor=mint"), MimeType.APPLICATION_SMILE));
+    assertNotEquals(key, cache.key(requestContext("/gummy?id=1&flavor=mint"), MimeType.APPLICATION_JSON));
+  }
+
+  @Test
+  public void testPutAndGet() throws NoSuchMethodException, IOException {
+    NettyResponseCache cache = new NettyResponseCache(cacheable("cached"));
+    assertNull(cache.get("key", false));
+
+    FullHttpResponse response = response(HttpResponseStatus.OK, BODY);
+    FullHttpResponse written = cache.put("key", response, false);
+    assertEquals(0, response.refCnt());
+    assertEquals(BODY, written.content().toString(StandardCharsets.UTF_8));
+    assertEquals(String.valueOf(BODY.length()), written.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+    assertEquals(MimeType.APPLICATION_JSON.toString(), written.headers().get(HttpHeaderNames.CONTENT_TYPE));
+    written.release();
+
+    FullHttpResponse hit = cache.get("key", true);
+    assertEquals("gzip", hit.headers().get(HttpHeaderNames.CONTENT_ENCODING));
+    assertEquals(String.valueOf(hit.content().readableBytes()), hit.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+    assertEquals(BODY, gunzip(hit));
+    hit.release();
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getSize());
+  }
+
+  @Test
+  public void testGzipVariantIsADifferentRepresentation() throws NoSuchMethodException, IOException {
+    NettyResponseCache cache = new NettyResponseCache(cacheable("cached"));
+    FullHttpResponse response = response(HttpResponseStatus.OK, BODY);
+    response.headers().set(HttpHeaderNames.ETAG, "\"candy\"");
+
+    FullHttpResponse written = cache.put("key", response, false);
+    assertNull(written.headers().get(HttpHeaderNames.CONTENT_ENCODING));
+    assertEquals("\"candy\"", written.headers().get(HttpHeaderNames.ETAG));
+    assertEquals(HttpHeaderNames.ACCEPT_ENCODING.toString(), written.headers().get(HttpHeaderNames.VARY).toLowerCase());
+    written.release();
+
+    // compressed for the first request which accepts gzip
+    FullHttpResponse hit = cache.get("key", true);
+    assertEquals("gzip", hit.headers().get(HttpHeaderNames.CONTENT_ENCODING));
+    assertEquals("\"candy-gzip\"", hit.headers().get(HttpHeaderNames.ETAG));
+    assertEquals(BODY, gunzip(hit));
+    hit.release();
+
+    FullHttpResponse identityHit = cache.get("key", false);
+    assertEquals("\"candy\"", identityHit.headers().get(HttpHeaderNames.ETAG));
+    assertEquals(BODY, identityHit.content().toString(StandardCharsets.UTF_8));
+    identityHit.release();
+  }
+
+  @Test
+  public void testGzipEntityTag() {
+    assertEquals("\"candy-gzip\"", NettyResponseCache.gzipEntityTag("\"candy\""));
+    assertEquals("W/\"candy-gzip\"", NettyResponseCache.gzipEntityTag("W/\"candy\""));
+  }
+
+  @Test
+  public void testFailuresAreNotCached() throws NoSuchMethodException {
+    NettyResponseCache cache = new NettyResponseCache(cacheable("cached"));
+
+    FullHttpResponse response = response(HttpResponseStatus.NOT_FOUND, "");
+    assertSame(response, cache.put("key", response, false));
+    assertNull(cache.get("key", false));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testInvalidateAll() throws NoSuchMethodException {
+    NettyResponseCache cache = new NettyResponseCache(cacheable("cached"));
+    FullHttpResponse written = cache.put("key", response(HttpResponseStatus.OK, BODY), false);
+
+    cache.invalidateAll();
+    assertNull(cache.get("key", false));
+    // responses already handed out keep their bytes until they are written
+    assertEquals(BODY, written.content().toString(StandardCharsets.UTF_8));
+    assertTrue(written.release());
+  }
+
+  @Test
+  public void testMaxBytesEvicts() throws NoSuchMethodException {
+    NettyResponseCache cache = new NettyResponseCache(cacheable("small"));
+    for (int idx = 0; idx < 20; idx++) {
+      cache.put("key" + idx, response(HttpResponseStatus.OK, BODY), false).release();
+    }
+
+    assertTrue(cache.getSize() < 20);
+    assertTrue(cache.getEvictionCount() > 0);
+  }
+
+  @Test
+  public void testAcceptsGzip() {
+    assertTrue(NettyResponseCache.acceptsGzip("gzip"));
+    assertTrue(NettyResponseCache.acceptsGzip("deflate, GZIP;q=0.5"));
+    assertTrue(NettyResponseCache.acceptsGzip("*"));
+    assertFalse(NettyResponseCache.acceptsGzip(null));
+    assertFalse(NettyResponseCache.acceptsGzip("deflate, br"));
+    assertFalse(NettyResponseCache.acceptsGzip("gzip;q=0"));
+  }
+
+  @Cacheable(maxEntries = 10)
+  public void cached() {
+
+  }
+
+  @Cacheable(maxBytes = 200)
+  public void small() {
+
+  }
+
+  private static Cacheable cacheable(String methodName) throws NoSuchMethodException {
+    return NettyResponseCacheTest.class.getMethod(methodName).getAnnotation(Cacheable.class);
+  }
+
+  private static NettyHttpRequestContext requestContext(String uri) {
+    return new NettyHttpRequestContext(null).setRequest(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri));
+  }
+
+  private static FullHttpResponse response(HttpResponseStatus status, String body) {
+    FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status,
+        Unpooled.copiedBuffer(body, StandardCharsets.UTF_8));
+    response.headers().set(HttpHeaderNames.CONTENT_TYPE, MimeType.APPLICATION_JSON.toString());
+    return response;
+  }
+
+  private static String gunzip(FullHttpResponse response) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (InputStream input = new GZIPInputStream(new ByteBufInputStream(response.content().duplicate()))) {
+      byte[] chunk = new byte[256];
+      int read;
+      while ((read = input.read(chunk)) > 0) {
+        output.write(chunk, 0, read);
+      }
+    }
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
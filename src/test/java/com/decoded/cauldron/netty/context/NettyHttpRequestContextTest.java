@@ -0,0 +1,32 @@
+package com.decoded.cauldron.netty.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.decoded.cauldron.api.network.http.CauldronHeaderNames;
+import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
+import com.decoded.cauldron.server.http.InvocationContext;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import org.junit.jupiter.api.Test;
+
+public class NettyHttpRequestContextTest {
+
+  @Test
+  public void testCauldronRequestMethodOfItsOwnRequest() {
+    FullHttpRequest getAll = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/candy");
+    getAll.headers().set(CauldronHeaderNames.CAULDRON_HTTP_METHOD, CauldronHttpMethod.GET_ALL.name());
+    NettyHttpRequestContext getAllContext = new NettyHttpRequestContext(null).setRequest(getAll);
+    NettyHttpRequestContext createContext = new NettyHttpRequestContext(null)
+        .setRequest(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/candy"));
+
+    // outside of any request scope
+    assertEquals(CauldronHttpMethod.GET_ALL, getAllContext.getCauldronRequestMethod());
+    // while another request is bound to the thread
+    try (InvocationContext.Scope scope = InvocationContext.bind(getAllContext)) {
+      assertEquals(CauldronHttpMethod.CREATE, createContext.getCauldronRequestMethod());
+    }
+    getAll.release();
+  }
+}
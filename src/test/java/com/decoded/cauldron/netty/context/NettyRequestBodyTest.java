@@ -0,0 +1,133 @@
+package com.decoded.cauldron.netty.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class NettyRequestBodyTest {
+
+  @Test
+  public void testPausesReadsUntilRequested() {
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+    NettyRequestBody body = new NettyRequestBody(context(channel), true);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    body.subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+    HttpContent first = content("first");
+    body.onContent(first);
+    assertEquals(1, subscriber.chunks.size());
+    assertTrue(channel.config().isAutoRead());
+    // the body keeps its own copy, the caller releases the message
+    assertTrue(first.release());
+
+    HttpContent second = content("second");
+    body.onContent(second);
+    second.release();
+    assertEquals(1, subscriber.chunks.size());
+    assertFalse(channel.config().isAutoRead());
+
+    subscriber.subscription.request(2);
+    assertEquals(2, subscriber.chunks.size());
+    assertEquals("second", subscriber.chunks.get(1));
+    assertTrue(channel.config().isAutoRead());
+
+    body.onContent(new DefaultLastHttpContent(Unpooled.copiedBuffer("last", StandardCharsets.UTF_8)));
+    assertEquals(3, subscriber.chunks.size());
+    assertTrue(subscriber.completed);
+    assertTrue(body.isReceived());
+  }
+
+  @Test
+  public void testDiscardReleasesChunks() {
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+    NettyRequestBody body = new NettyRequestBody(context(channel), true);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    body.subscribe(subscriber);
+
+    HttpContent chunk = content("unread");
+    body.onContent(chunk);
+    assertFalse(channel.config().isAutoRead());
+
+    body.discard();
+    assertTrue(chunk.release());
+    assertTrue(subscriber.error instanceof IllegalStateException);
+    // the rest of the body is read and dropped, so the connection can take the next request
+    assertTrue(channel.config().isAutoRead());
+  }
+
+  @Test
+  public void testSingleSubscriber() {
+    NettyRequestBody body = new NettyRequestBody(context(new EmbeddedChannel(new ChannelInboundHandlerAdapter())), false);
+    RecordingSubscriber first = new RecordingSubscriber();
+    RecordingSubscriber second = new RecordingSubscriber();
+    body.subscribe(first);
+    body.subscribe(second);
+
+    assertNull(first.error);
+    assertTrue(second.error instanceof IllegalStateException);
+  }
+
+  @Test
+  public void testChannelClosed() {
+    NettyRequestBody body = new NettyRequestBody(context(new EmbeddedChannel(new ChannelInboundHandlerAdapter())), true);
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    body.subscribe(subscriber);
+
+    IllegalStateException closed = new IllegalStateException("closed");
+    body.onError(closed);
+    assertEquals(closed, subscriber.error);
+    assertFalse(subscriber.completed);
+  }
+
+  private static ChannelHandlerContext context(EmbeddedChannel channel) {
+    return channel.pipeline().firstContext();
+  }
+
+  private static HttpContent content(String value) {
+    return new DefaultHttpContent(Unpooled.copiedBuffer(value, StandardCharsets.UTF_8));
+  }
+
+  private static final class RecordingSubscriber implements Subscriber<ByteBuffer> {
+    private final List<String> chunks = new ArrayList<>();
+    private Subscription subscription;
+    private Throwable error;
+    private boolean completed;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(ByteBuffer chunk) {
+      chunks.add(StandardCharsets.UTF_8.decode(chunk).toString());
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      this.error = error;
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+  }
+}
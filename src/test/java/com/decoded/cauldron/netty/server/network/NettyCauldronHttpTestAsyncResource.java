@@ -8,6 +8,9 @@ import com.decoded.cauldron.api.network.http.MimeType;
 import com.decoded.cauldron.api.network.http.validators.TestStringInputValidator;
 import com.decoded.cauldron.models.Candy;
 import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
+import com.decoded.cauldron.server.exception.CauldronHttpException;
+import com.decoded.cauldron.server.http.Status;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -27,7 +30,7 @@ public class NettyCauldronHttpTestAsyncResource extends NettyHttpNetworkResource
   }
 
   /**
-   * Returns a Candy.
+   * Returns a Candy. The id <code>slow</code> completes after a delay, and <code>broken</code> throws an {@link Error} before returning.
    *
    * @param id the id of the candy
    *
@@ -35,8 +38,18 @@ public class NettyCauldronHttpTestAsyncResource extends NettyHttpNetworkResource
    */
   @HttpEndpoint(method = CauldronHttpMethod.GET, responseMimeType = MimeType.APPLICATION_JSON)
   public CompletableFuture<Candy> get(@QueryParam(name = "id", validator = TestStringInputValidator.class) final String id) {
+    if ("broken".equals(id)) {
+      throw new AssertionError("The candy machine is broken");
+    }
     CompletableFuture<Candy> future = new CompletableFuture<>();
     executorService.submit(() -> {
+      if ("slow".equals(id)) {
+        try {
+          Thread.sleep(200);
+        } catch (InterruptedException ex) {
+          LOG.error("Interrupted slow candy", ex);
+        }
+      }
       Candy t = new Candy();
       t.ingredients = new String[] {"x", "y"};
       t.name = "WTF";
@@ -47,4 +60,16 @@ public class NettyCauldronHttpTestAsyncResource extends NettyHttpNetworkResource
 
     return future;
   }
+
+  /**
+   * Fails asynchronously with a conflict.
+   *
+   * @return a future which completes exceptionally
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.GET_ALL, responseMimeType = MimeType.APPLICATION_JSON)
+  public CompletableFuture<List<Candy>> getAll() {
+    return CompletableFuture.supplyAsync(() -> {
+      throw new CauldronHttpException(Status.CONFLICT_409, "Candy is being restocked");
+    }, executorService);
+  }
 }
@@ -0,0 +1,49 @@
+package com.decoded.cauldron.netty.server.network;
+
+import com.decoded.cauldron.api.annotation.Cacheable;
+import com.decoded.cauldron.api.annotation.HttpEndpoint;
+import com.decoded.cauldron.api.annotation.NetResource;
+import com.decoded.cauldron.api.annotation.QueryParam;
+import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
+import com.decoded.cauldron.api.network.http.MimeType;
+import com.decoded.cauldron.models.Candy;
+import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test for Netty Resources with cached responses.
+ */
+@NetResource(route = "/testNettyCache")
+public class NettyCauldronHttpTestCacheResource extends NettyHttpNetworkResource {
+  private final AtomicInteger invocations = new AtomicInteger();
+
+  public NettyCauldronHttpTestCacheResource() {
+  }
+
+  /**
+   * Returns a Candy named after the number of times the endpoint ran.
+   *
+   * @param id     the id
+   * @param flavor the flavor
+   *
+   * @return a {@link Candy}
+   */
+  @Cacheable(ttl = 60, maxEntries = 100)
+  @HttpEndpoint(method = CauldronHttpMethod.GET, responseMimeType = MimeType.APPLICATION_JSON)
+  public Candy get(@QueryParam(name = "id") final String id, @QueryParam(optional = true, name = "flavor") final String flavor) {
+    Candy candy = new Candy();
+    candy.id = id;
+    candy.name = String.valueOf(invocations.incrementAndGet());
+    return candy;
+  }
+
+  /**
+   * Deletes a Candy, which invalidates the cached responses.
+   *
+   * @param id the id
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.DELETE)
+  public void delete(@QueryParam(name = "id") final String id) {
+    invalidateResponseCache();
+  }
+}
@@ -0,0 +1,38 @@
+package com.decoded.cauldron.netty.server.network;
+
+import com.decoded.cauldron.api.annotation.HttpEndpoint;
+import com.decoded.cauldron.api.annotation.NetResource;
+import com.decoded.cauldron.api.annotation.QueryParam;
+import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
+import com.decoded.cauldron.api.network.http.DispatchMode;
+import com.decoded.cauldron.api.network.http.MimeType;
+import com.decoded.cauldron.models.Candy;
+import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+
+/**
+ * Test for Netty Resources dispatched off the event loop.
+ */
+@NetResource(route = "/testNettyDispatch")
+public class NettyCauldronHttpTestDispatchResource extends NettyHttpNetworkResource {
+
+  public NettyCauldronHttpTestDispatchResource() {
+  }
+
+  /**
+   * Returns a Candy named after the thread which ran the endpoint.
+   *
+   * @param id             the id of the candy
+   * @param requestContext the request context, injected
+   *
+   * @return a {@link Candy}
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.GET, responseMimeType = MimeType.APPLICATION_JSON, dispatch = DispatchMode.EXECUTOR)
+  public Candy get(@QueryParam(name = "id") final String id, final CauldronHttpRequestContext requestContext) {
+    Candy candy = new Candy();
+    candy.id = id;
+    candy.name = Thread.currentThread().getName();
+    candy.ingredients = new String[] {requestContext.getRequestPath()};
+    return candy;
+  }
+}
@@ -0,0 +1,44 @@
+package com.decoded.cauldron.netty.server.network;
+
+import com.decoded.cauldron.api.annotation.HttpEndpoint;
+import com.decoded.cauldron.api.annotation.NetResource;
+import com.decoded.cauldron.api.annotation.PathParam;
+import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
+import com.decoded.cauldron.api.network.http.MimeType;
+import com.decoded.cauldron.api.network.http.validators.TestStringInputValidator;
+import com.decoded.cauldron.models.Candy;
+import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
+import com.decoded.cauldron.server.http.CauldronHttpRequestContext;
+
+/**
+ * Test for Netty Resources routed by a path template.
+ */
+@NetResource(route = "/testNetty/candy/{id}")
+public class NettyCauldronHttpTestPathResource extends NettyHttpNetworkResource {
+  public static final long LAST_MODIFIED = 1500000000000L;
+
+  public NettyCauldronHttpTestPathResource() {
+  }
+
+  /**
+   * Returns a Candy.
+   *
+   * @param id      the id of the candy, from the path
+   * @param context the request context
+   *
+   * @return a {@link Candy}
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.GET, responseMimeType = MimeType.APPLICATION_JSON)
+  public Candy get(@PathParam(name = "id", validator = TestStringInputValidator.class) final String id, final CauldronHttpRequestContext context) {
+    context.setResponseEntityTag("v-" + id);
+    context.setResponseLastModified(LAST_MODIFIED);
+    if (context.isNotModified()) {
+      // the response is a 304, no need to build the candy
+      return null;
+    }
+
+    Candy candy = new Candy();
+    candy.id = id;
+    return candy;
+  }
+}
@@ -0,0 +1,62 @@
+package com.decoded.cauldron.netty.server.network;
+
+import com.decoded.cauldron.api.annotation.HttpEndpoint;
+import com.decoded.cauldron.api.annotation.NetResource;
+import com.decoded.cauldron.api.annotation.QueryParam;
+import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
+import com.decoded.cauldron.api.network.http.MimeType;
+import com.decoded.cauldron.models.Candy;
+import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
+import com.decoded.cauldron.server.exception.CauldronHttpException;
+import com.decoded.cauldron.server.http.Status;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test for Reactor results.
+ */
+@NetResource(route = "/testNettyReactor")
+public class NettyCauldronHttpTestReactorResource extends NettyHttpNetworkResource {
+  public static final int FLUX_SIZE = 5000;
+  public static final CountDownLatch CANCELLED = new CountDownLatch(1);
+
+  /**
+   * Emits a candy after a delay. The id <code>none</code> emits nothing, <code>never</code> never completes, and <code>fail</code>
+   * fails.
+   *
+   * @param id the id of the candy
+   *
+   * @return a {@link Mono} of {@link Candy}
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.GET, responseMimeType = MimeType.APPLICATION_JSON)
+  public Mono<Candy> get(@QueryParam(name = "id") final String id) {
+    switch (id) {
+      case "none":
+        return Mono.empty();
+      case "never":
+        return Mono.<Candy>never().doOnCancel(CANCELLED::countDown);
+      case "fail":
+        return Mono.error(new CauldronHttpException(Status.CONFLICT_409, "Candy is being restocked"));
+      default:
+        return Mono.delay(Duration.ofMillis(10)).map(tick -> candy(id));
+    }
+  }
+
+  /**
+   * Emits every candy.
+   *
+   * @return a {@link Flux} of {@link Candy}
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.GET_ALL, responseMimeType = MimeType.APPLICATION_JSON)
+  public Flux<Candy> getAll() {
+    return Flux.range(0, FLUX_SIZE).map(index -> candy(String.valueOf(index)));
+  }
+
+  private static Candy candy(String id) {
+    Candy candy = new Candy();
+    candy.id = id;
+    return candy;
+  }
+}
@@ -162,4 +162,43 @@ public class NettyCauldronHttpTestResource extends NettyHttpNetworkResource {
         .addClientCookie(Cookie.create("h", String.valueOf(h), "/", "localhost", false, false, SameSite.NONE, -1, -1));
 
   }
+
+  /**
+   * Test Create from a json body.
+   *
+   * @param candy the candy, from the request body
+   *
+   * @return the created {@link Candy}
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.CREATE, responseMimeType = MimeType.APPLICATION_JSON)
+  public Candy create(@BodyParam(name = "candy") final Candy candy) {
+    candy.id = "created-" + candy.id;
+    return candy;
+  }
+
+  /**
+   * Test Update from an optional json body.
+   *
+   * @param candy the candy, from the request body, or null if there is none
+   *
+   * @return the updated {@link Candy}, or a new one when there is no body
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.UPDATE, responseMimeType = MimeType.APPLICATION_JSON)
+  public Candy update(@BodyParam(name = "candy", optional = true) final Candy candy) {
+    Candy updated = candy != null ? candy : new Candy();
+    updated.name = candy != null ? "updated" : "unchanged";
+    return updated;
+  }
+
+  /**
+   * Test Batch Create from a json body.
+   *
+   * @param candies the candies, from the request body
+   *
+   * @return the created candies by id
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.BATCH_CREATE, responseMimeType = MimeType.APPLICATION_JSON)
+  public Map<String, Candy> batchCreate(@BodyParam(name = "candies") final List<Candy> candies) {
+    return candies.stream().collect(Collectors.toMap(candy -> candy.id, Function.identity()));
+  }
 }
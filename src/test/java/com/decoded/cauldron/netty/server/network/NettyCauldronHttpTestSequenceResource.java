@@ -0,0 +1,86 @@
+package com.decoded.cauldron.netty.server.network;
+
+import com.decoded.cauldron.api.annotation.HttpEndpoint;
+import com.decoded.cauldron.api.annotation.NetResource;
+import com.decoded.cauldron.api.annotation.QueryParam;
+import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
+import com.decoded.cauldron.api.network.http.MimeType;
+import com.decoded.cauldron.models.Candy;
+import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
+import com.decoded.cauldron.server.exception.CauldronHttpException;
+import com.decoded.cauldron.server.http.InvocationContext;
+import com.decoded.cauldron.server.http.Status;
+import com.decoded.cauldron.server.http.cookies.Cookie;
+import com.decoded.cauldron.server.http.cookies.SameSite;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+/**
+ * Test for sequence results, which are written one candy at a time.
+ */
+@NetResource(route = "/testNettySequence")
+public class NettyCauldronHttpTestSequenceResource extends NettyHttpNetworkResource {
+  public static final int SEQUENCE_SIZE = 20000;
+
+  private ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+  /**
+   * Returns every candy as a stream, remembering the last one in a cookie.
+   *
+   * @return a {@link Stream} of {@link Candy}
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.GET_ALL, responseMimeType = MimeType.APPLICATION_JSON)
+  public Stream<Candy> getAll() {
+    InvocationContext.getRequestContext()
+        .addClientCookie(Cookie.create("last", String.valueOf(SEQUENCE_SIZE - 1), "/", "localhost", false, true, SameSite.LAX, -1, -1));
+    return IntStream.range(0, SEQUENCE_SIZE).mapToObj(NettyCauldronHttpTestSequenceResource::candy);
+  }
+
+  /**
+   * Publishes every candy from another thread, as they are requested. A publisher with the id <code>fail</code> fails before publishing
+   * anything.
+   *
+   * @param id the id of the publisher
+   *
+   * @return a {@link Publisher} of {@link Candy}
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.GET, responseMimeType = MimeType.APPLICATION_JSON)
+  public Publisher<Candy> get(@QueryParam(name = "id", optional = true) final String id) {
+    return subscriber -> subscriber.onSubscribe(new Subscription() {
+      private int published;
+      private boolean cancelled;
+
+      @Override
+      public void request(long count) {
+        executorService.execute(() -> {
+          if ("fail".equals(id)) {
+            subscriber.onError(new CauldronHttpException(Status.CONFLICT_409, "Candy is being restocked"));
+            return;
+          }
+          for (long i = 0; i < count && published < SEQUENCE_SIZE && !cancelled; i++) {
+            subscriber.onNext(candy(published++));
+          }
+          if (published == SEQUENCE_SIZE && !cancelled) {
+            cancelled = true;
+            subscriber.onComplete();
+          }
+        });
+      }
+
+      @Override
+      public void cancel() {
+        executorService.execute(() -> cancelled = true);
+      }
+    });
+  }
+
+  private static Candy candy(int index) {
+    Candy candy = new Candy();
+    candy.id = String.valueOf(index);
+    return candy;
+  }
+}
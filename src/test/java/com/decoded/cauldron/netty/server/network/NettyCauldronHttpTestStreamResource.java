@@ -0,0 +1,81 @@
+package com.decoded.cauldron.netty.server.network;
+
+import com.decoded.cauldron.api.annotation.BodyStream;
+import com.decoded.cauldron.api.annotation.HttpEndpoint;
+import com.decoded.cauldron.api.annotation.NetResource;
+import com.decoded.cauldron.api.network.http.CauldronHttpMethod;
+import com.decoded.cauldron.api.network.http.MimeType;
+import com.decoded.cauldron.netty.network.NettyHttpNetworkResource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Test for streamed request bodies, which count the bytes they receive.
+ */
+@NetResource(route = "/testNettyStream")
+public class NettyCauldronHttpTestStreamResource extends NettyHttpNetworkResource {
+
+  /**
+   * Counts the bytes of the body, requesting one chunk at a time.
+   *
+   * @param body the streamed body
+   *
+   * @return the number of bytes received
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.CREATE, responseMimeType = MimeType.APPLICATION_JSON)
+  public CompletableFuture<Long> create(@BodyStream final Publisher<ByteBuffer> body) {
+    CompletableFuture<Long> count = new CompletableFuture<>();
+    body.subscribe(new Subscriber<ByteBuffer>() {
+      private Subscription subscription;
+      private long bytes;
+
+      @Override
+      public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+      }
+
+      @Override
+      public void onNext(ByteBuffer chunk) {
+        bytes += chunk.remaining();
+        subscription.request(1);
+      }
+
+      @Override
+      public void onError(Throwable error) {
+        count.completeExceptionally(error);
+      }
+
+      @Override
+      public void onComplete() {
+        count.complete(bytes);
+      }
+    });
+    return count;
+  }
+
+  /**
+   * Counts the bytes of the body, reading it from a blocking stream.
+   *
+   * @param body the streamed body
+   *
+   * @return the number of bytes received
+   *
+   * @throws IOException if the body could not be read
+   */
+  @HttpEndpoint(method = CauldronHttpMethod.UPDATE, responseMimeType = MimeType.APPLICATION_JSON)
+  public Long update(@BodyStream final InputStream body) throws IOException {
+    byte[] chunk = new byte[4096];
+    long bytes = 0;
+    int read;
+    while ((read = body.read(chunk)) >= 0) {
+      bytes += read;
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,50 @@
+package com.decoded.cauldron.server.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ConditionalRequestsTest {
+  private static final long LAST_MODIFIED = 784111777000L;
+  private static final String LAST_MODIFIED_DATE = "Sun, 06 Nov 1994 08:49:37 GMT";
+
+  @Test
+  public void testMatchesEntityTag() {
+    assertTrue(ConditionalRequests.matchesEntityTag("\"v1\"", "\"v1\""));
+    assertTrue(ConditionalRequests.matchesEntityTag("\"v0\", \"v1\"", "\"v1\""));
+    assertTrue(ConditionalRequests.matchesEntityTag("W/\"v1\"", "\"v1\""));
+    assertTrue(ConditionalRequests.matchesEntityTag("\"v1\"", "W/\"v1\""));
+    assertTrue(ConditionalRequests.matchesEntityTag("*", "\"v1\""));
+    assertFalse(ConditionalRequests.matchesEntityTag("\"v2\"", "\"v1\""));
+  }
+
+  @Test
+  public void testIsNotModified() {
+    assertTrue(ConditionalRequests.isNotModified("\"v1\"", null, "\"v1\"", -1));
+    assertTrue(ConditionalRequests.isNotModified(null, LAST_MODIFIED_DATE, null, LAST_MODIFIED));
+    // http dates drop the milliseconds
+    assertTrue(ConditionalRequests.isNotModified(null, LAST_MODIFIED_DATE, null, LAST_MODIFIED + 999));
+    assertFalse(ConditionalRequests.isNotModified(null, LAST_MODIFIED_DATE, null, LAST_MODIFIED + 1000));
+    assertFalse(ConditionalRequests.isNotModified(null, "not a date", null, LAST_MODIFIED));
+    assertFalse(ConditionalRequests.isNotModified(null, LAST_MODIFIED_DATE, "\"v1\"", -1));
+    assertFalse(ConditionalRequests.isNotModified(null, null, "\"v1\"", LAST_MODIFIED));
+    // If-None-Match wins over If-Modified-Since
+    assertFalse(ConditionalRequests.isNotModified("\"v2\"", LAST_MODIFIED_DATE, "\"v1\"", LAST_MODIFIED));
+  }
+
+  @Test
+  public void testHttpDate() {
+    assertEquals(LAST_MODIFIED_DATE, ConditionalRequests.formatHttpDate(LAST_MODIFIED));
+    assertEquals(LAST_MODIFIED, ConditionalRequests.parseHttpDate(LAST_MODIFIED_DATE));
+    assertEquals(-1, ConditionalRequests.parseHttpDate("yesterday"));
+  }
+
+  @Test
+  public void testQuoteEntityTag() {
+    assertEquals("\"v1\"", ConditionalRequests.quoteEntityTag("v1"));
+    assertEquals("\"v1\"", ConditionalRequests.quoteEntityTag("\"v1\""));
+    assertEquals("W/\"v1\"", ConditionalRequests.quoteEntityTag("W/\"v1\""));
+  }
+}
@@ -0,0 +1,80 @@
+package com.decoded.cauldron.server.http;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+
+public class InvocationContextTest {
+
+  @Test
+  public void testBindRestoresPreviousContext() {
+    CauldronHttpRequestContext outer = newContext();
+    CauldronHttpRequestContext inner = newContext();
+
+    try (InvocationContext.Scope outerScope = InvocationContext.bind(outer)) {
+      try (InvocationContext.Scope innerScope = InvocationContext.bind(inner)) {
+        assertSame(inner, InvocationContext.getRequestContext());
+      }
+      assertSame(outer, InvocationContext.getRequestContext());
+    }
+    assertNull(InvocationContext.getRequestContext());
+  }
+
+  @Test
+  public void testBindRestoresOnException() {
+    try (InvocationContext.Scope scope = InvocationContext.bind(newContext())) {
+      throw new IllegalStateException("endpoint failed");
+    } catch (IllegalStateException ex) {
+      assertNull(InvocationContext.getRequestContext());
+    }
+  }
+
+  @Test
+  public void testContextIsNotInherited() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (InvocationContext.Scope scope = InvocationContext.bind(newContext())) {
+      // the pool thread is started while the context is bound
+      assertNull(executor.submit(InvocationContext::getRequestContext).get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testPropagatingExecutor() throws Exception {
+    CauldronHttpRequestContext context = newContext();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      CompletableFuture<CauldronHttpRequestContext> propagated;
+      try (InvocationContext.Scope scope = InvocationContext.bind(context)) {
+        propagated = CompletableFuture.supplyAsync(InvocationContext::getRequestContext, InvocationContext.propagating(executor));
+      }
+
+      assertSame(context, propagated.get(5, TimeUnit.SECONDS));
+      // and is not left behind on the pool thread
+      assertNull(executor.submit(InvocationContext::getRequestContext).get(5, TimeUnit.SECONDS));
+      assertSame(context, executor.submit(withContext(context)).get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static Callable<CauldronHttpRequestContext> withContext(CauldronHttpRequestContext context) {
+    try (InvocationContext.Scope scope = InvocationContext.bind(context)) {
+      return InvocationContext.wrap(InvocationContext::getRequestContext);
+    }
+  }
+
+  private static CauldronHttpRequestContext newContext() {
+    return (CauldronHttpRequestContext) Proxy.newProxyInstance(CauldronHttpRequestContext.class.getClassLoader(),
+        new Class<?>[] {CauldronHttpRequestContext.class}, (proxy, method, args) -> null);
+  }
+}
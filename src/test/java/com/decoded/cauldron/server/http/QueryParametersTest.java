@@ -0,0 +1,63 @@
+package com.decoded.cauldron.server.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+
+public class QueryParametersTest {
+
+  @Test
+  public void testValues() {
+    QueryParameters queryParameters = QueryParameters.fromUri("/candy?id=123&ids=a&ids=b&name=gummy+bear%21#top");
+    assertEquals(4, queryParameters.size());
+    assertEquals("123", queryParameters.getFirst("id"));
+    assertEquals(ImmutableList.of("a", "b"), queryParameters.getAll("ids"));
+    assertEquals("gummy bear!", queryParameters.getFirst("name"));
+    assertNull(queryParameters.getFirst("missing"));
+    assertTrue(queryParameters.getAll("missing").isEmpty());
+  }
+
+  @Test
+  public void testMultiByteValues() {
+    QueryParameters queryParameters = QueryParameters.fromUri("/candy?name=cr%C3%A8me%20br%C3%BBl%C3%A9e&bad=100%");
+    assertEquals("crème brûlée", queryParameters.getFirst("name"));
+    assertEquals("100%", queryParameters.getFirst("bad"));
+  }
+
+  @Test
+  public void testValuelessAndEmptyPairs() {
+    QueryParameters queryParameters = QueryParameters.fromUri("/candy?flag&&empty=&=orphan&id=1");
+    assertEquals(3, queryParameters.size());
+    assertTrue(queryParameters.contains("flag"));
+    assertEquals("", queryParameters.getFirst("flag"));
+    assertEquals("", queryParameters.getFirst("empty"));
+    assertEquals("1", queryParameters.getFirst("id"));
+  }
+
+  @Test
+  public void testEncodedNames() {
+    QueryParameters queryParameters = QueryParameters.fromUri("/candy?ids%5B%5D=a&ids%5B%5D=b");
+    assertEquals(ImmutableList.of("a", "b"), queryParameters.getAll("ids[]"));
+  }
+
+  @Test
+  public void testToMap() {
+    Map<String, List<String>> map = QueryParameters.fromUri("/candy?b=2&a=1&b=3").toMap();
+    assertEquals(ImmutableList.of("b", "a"), ImmutableList.copyOf(map.keySet()));
+    assertEquals(ImmutableList.of("2", "3"), map.get("b"));
+  }
+
+  @Test
+  public void testNoQueryString() {
+    assertTrue(QueryParameters.fromUri("/candy").isEmpty());
+    assertTrue(QueryParameters.fromUri("/candy?").isEmpty());
+    assertFalse(QueryParameters.fromUri("/candy?x").isEmpty());
+  }
+}